@@ -0,0 +1,22 @@
+package com.lifeboard.armazenamento;
+
+import com.lifeboard.model.ChaveFotoPerfil;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+
+/**
+ * Onde fica o conteúdo das fotos de perfil, original e variantes reduzidas. A implementação é escolhida pela
+ * propriedade {@code api.fotos.armazenamento} ({@code banco}, padrão, ou {@code disco}).
+ * O {@link Resource} devolvido só lê o conteúdo quando a resposta é de fato escrita,
+ * então uma resposta 304 não toca no armazenamento.
+ */
+public interface ArmazenamentoFotoPerfil {
+
+    void gravar(ChaveFotoPerfil chave, byte[] conteudo) throws IOException;
+
+    // O tamanho vem dos metadados, para não precisar ler o conteúdo só para o Content-Length
+    Resource abrir(ChaveFotoPerfil chave, long tamanho);
+
+    void remover(ChaveFotoPerfil chave) throws IOException;
+}
@@ -0,0 +1,127 @@
+package com.lifeboard.armazenamento;
+
+import com.lifeboard.model.ChaveFotoPerfil;
+import com.lifeboard.model.FotoPerfilConteudo;
+import com.lifeboard.repository.FotoPerfilConteudoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Conteúdo em tabela própria (lb_fotos_perfil_conteudo): a linha do usuário nunca carrega a imagem
+@Component
+@ConditionalOnProperty(name = "api.fotos.armazenamento", havingValue = "banco", matchIfMissing = true)
+public class ArmazenamentoFotoPerfilBanco implements ArmazenamentoFotoPerfil {
+
+    private static final String CONSULTA_CONTEUDO =
+            "select conteudo from lb_fotos_perfil_conteudo where id_usuario = ? and dimensao = ?";
+
+    @Autowired
+    private FotoPerfilConteudoRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Override
+    public void gravar(ChaveFotoPerfil chave, byte[] conteudo) {
+        repository.save(new FotoPerfilConteudo(chave, conteudo));
+    }
+
+    @Override
+    public Resource abrir(ChaveFotoPerfil chave, long tamanho) {
+        return new ConteudoNoBanco(chave, tamanho);
+    }
+
+    @Override
+    public void remover(ChaveFotoPerfil chave) {
+        if (repository.existsById(chave)) {
+            repository.deleteById(chave);
+        }
+    }
+
+    // Tamanho vem dos metadados; o LOB só é lido quando o corpo da resposta é escrito, e aos poucos: a entidade
+    // carregaria o byte[] inteiro no heap, então a leitura usa o stream do BLOB em uma transação somente leitura
+    // que fica aberta até o fim da resposta
+    private class ConteudoNoBanco extends AbstractResource {
+
+        private final ChaveFotoPerfil chave;
+        private final long tamanho;
+
+        private ConteudoNoBanco(ChaveFotoPerfil chave, long tamanho) {
+            this.chave = chave;
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Foto de perfil do usuário " + chave.getIdUsuario() + " (dimensão " + chave.getDimensao() + ")";
+        }
+
+        @Override
+        public long contentLength() {
+            return tamanho;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            Connection conexao = null;
+            try {
+                conexao = dataSource.getConnection();
+                conexao.setReadOnly(true);
+                conexao.setAutoCommit(false);
+
+                var comando = conexao.prepareStatement(CONSULTA_CONTEUDO);
+                comando.setLong(1, chave.getIdUsuario());
+                comando.setInt(2, chave.getDimensao());
+                var resultado = comando.executeQuery();
+                if (!resultado.next()) {
+                    throw new FileNotFoundException(getDescription() + " não encontrada no banco");
+                }
+                return new ConteudoDoBlob(resultado.getBinaryStream(1), conexao);
+            } catch (SQLException | IOException e) {
+                fechar(conexao);
+                throw e instanceof IOException io ? io : new IOException("Falha ao ler " + getDescription(), e);
+            }
+        }
+    }
+
+    // Fechar o stream encerra a transação e devolve a conexão ao pool (o que também fecha comando e resultado)
+    private static class ConteudoDoBlob extends FilterInputStream {
+
+        private final Connection conexao;
+
+        private ConteudoDoBlob(InputStream blob, Connection conexao) {
+            super(blob);
+            this.conexao = conexao;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                fechar(conexao);
+            }
+        }
+    }
+
+    private static void fechar(Connection conexao) {
+        if (conexao == null) {
+            return;
+        }
+        try (conexao) {
+            conexao.rollback();
+        } catch (SQLException e) {
+            // Só leitura: não há o que desfazer, e a conexão é descartada pelo pool se estiver quebrada
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.lifeboard.armazenamento;
+
+import com.lifeboard.model.ChaveFotoPerfil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Conteúdo em arquivos locais, um por usuário. A resposta é servida direto do arquivo, sem passar pelo heap.
+// Dentro de uma transação os arquivos acompanham o resultado dela: a imagem nova só substitui a anterior e a remoção
+// só acontece depois do commit; com rollback o arquivo temporário é apagado e o disco fica como estava.
+@Component
+@ConditionalOnProperty(name = "api.fotos.armazenamento", havingValue = "disco")
+public class ArmazenamentoFotoPerfilDisco implements ArmazenamentoFotoPerfil {
+
+    private static final Logger log = LoggerFactory.getLogger(ArmazenamentoFotoPerfilDisco.class);
+
+    private final Path diretorio;
+
+    public ArmazenamentoFotoPerfilDisco(@Value("${api.fotos.diretorio:fotos-perfil}") Path diretorio) throws IOException {
+        this.diretorio = Files.createDirectories(diretorio.toAbsolutePath().normalize());
+    }
+
+    // Grava em arquivo temporário e move, para uma leitura concorrente nunca ver a imagem pela metade.
+    // A escrita acontece já, para que uma falha de disco desfaça a transação; só o move espera o commit.
+    @Override
+    public void gravar(ChaveFotoPerfil chave, byte[] conteudo) throws IOException {
+        Path temporario = Files.createTempFile(diretorio, "foto-" + chave.getIdUsuario(), ".tmp");
+        try {
+            Files.write(temporario, conteudo);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publicar(temporario, chave);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executarAposTransacao("publicar a foto " + arquivo(chave), () -> publicar(temporario, chave));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    executarAposTransacao("apagar " + temporario, () -> Files.deleteIfExists(temporario));
+                }
+            }
+        });
+    }
+
+    @Override
+    public Resource abrir(ChaveFotoPerfil chave, long tamanho) {
+        return new FileSystemResource(arquivo(chave));
+    }
+
+    @Override
+    public void remover(ChaveFotoPerfil chave) throws IOException {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Files.deleteIfExists(arquivo(chave));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executarAposTransacao("apagar " + arquivo(chave), () -> Files.deleteIfExists(arquivo(chave)));
+            }
+        });
+    }
+
+    private void publicar(Path temporario, ChaveFotoPerfil chave) throws IOException {
+        try {
+            Files.move(temporario, arquivo(chave), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    // Depois do commit não há mais o que desfazer: a falha fica no log em vez de chegar a quem já confirmou a operação
+    private static void executarAposTransacao(String descricao, OperacaoEmDisco operacao) {
+        try {
+            operacao.executar();
+        } catch (IOException e) {
+            log.warn("Não foi possível {} após a transação: {}", descricao, e.getMessage());
+        }
+    }
+
+    // A original mantém o nome usado antes das variantes existirem
+    private Path arquivo(ChaveFotoPerfil chave) {
+        if (chave.getDimensao() == ChaveFotoPerfil.ORIGINAL) {
+            return diretorio.resolve(chave.getIdUsuario() + ".img");
+        }
+        return diretorio.resolve(chave.getIdUsuario() + "-" + chave.getDimensao() + ".img");
+    }
+
+    @FunctionalInterface
+    private interface OperacaoEmDisco {
+        void executar() throws IOException;
+    }
+}
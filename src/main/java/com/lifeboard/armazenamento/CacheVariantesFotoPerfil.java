@@ -0,0 +1,86 @@
+package com.lifeboard.armazenamento;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Cache em memória das variantes reduzidas da foto de perfil, limitado pelo total de bytes
+ * ({@code api.fotos.cache.tamanho-maximo}). A chave inclui o hash do conteúdo, então uma foto trocada
+ * nunca é servida pela versão antiga; {@link #invalidar(Long)} só libera a memória mais cedo.
+ */
+@Component
+public class CacheVariantesFotoPerfil {
+
+    private final Cache<Chave, byte[]> cache;
+
+    public CacheVariantesFotoPerfil(@Value("${api.fotos.cache.tamanho-maximo:32MB}") DataSize tamanhoMaximo) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(tamanhoMaximo.toBytes())
+                .weigher((Chave chave, byte[] conteudo) -> conteudo.length)
+                .recordStats()
+                .build();
+    }
+
+    // Continua preguiçoso: nem o cache nem o armazenamento são consultados se a resposta for 304
+    public Resource abrir(Long idUsuario, int dimensao, String hash, Resource origem) {
+        return new ConteudoEmCache(new Chave(idUsuario, dimensao, hash), origem);
+    }
+
+    public void invalidar(Long idUsuario) {
+        cache.asMap().keySet().removeIf(chave -> chave.idUsuario().equals(idUsuario));
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+
+    private record Chave(Long idUsuario, int dimensao, String hash) {
+    }
+
+    private class ConteudoEmCache extends AbstractResource {
+
+        private final Chave chave;
+        private final Resource origem;
+
+        private ConteudoEmCache(Chave chave, Resource origem) {
+            this.chave = chave;
+            this.origem = origem;
+        }
+
+        @Override
+        public String getDescription() {
+            return origem.getDescription();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return origem.contentLength();
+        }
+
+        // A leitura do armazenamento fica fora do cache.get(chave, carregador) para não ocupar um bloco
+        // synchronized do ConcurrentHashMap durante o I/O (o que prenderia threads virtuais à portadora)
+        @Override
+        public InputStream getInputStream() throws IOException {
+            byte[] conteudo = cache.getIfPresent(chave);
+            if (conteudo == null) {
+                conteudo = origem.getContentAsByteArray();
+                cache.put(chave, conteudo);
+            }
+            return new ByteArrayInputStream(conteudo);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.lifeboard.armazenamento;
+
+import com.lifeboard.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gera as versões reduzidas da foto de perfil no upload ({@code api.fotos.variantes}, maior lado em pixels).
+ * Só gera variantes menores que a original; formatos que o ImageIO não decodifica ficam sem variantes
+ * e são sempre servidos pela original.
+ */
+@Component
+public class GeradorVariantesFotoPerfil {
+
+    // Limite de pixels decodificados, para uma imagem pequena em bytes não estourar o heap ao ser aberta
+    private static final long MAXIMO_PIXELS = 40_000_000L;
+
+    private final List<Integer> dimensoes;
+
+    public GeradorVariantesFotoPerfil(@Value("${api.fotos.variantes:64,128,512}") List<Integer> dimensoes) {
+        this.dimensoes = dimensoes.stream().filter(d -> d > 0).distinct().sorted().toList();
+    }
+
+    public List<VarianteGerada> gerar(byte[] original) throws IOException {
+        BufferedImage imagem = decodificar(original);
+        if (imagem == null) {
+            return List.of();
+        }
+
+        boolean transparente = imagem.getColorModel().hasAlpha();
+        String formato = transparente ? "png" : "jpeg";
+        String contentType = transparente ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+        int maiorLado = Math.max(imagem.getWidth(), imagem.getHeight());
+
+        List<VarianteGerada> variantes = new ArrayList<>();
+        for (int dimensao : dimensoes) {
+            if (dimensao >= maiorLado) {
+                break;
+            }
+            BufferedImage reduzida = reduzir(imagem, dimensao, transparente);
+            variantes.add(new VarianteGerada(dimensao, contentType, codificar(reduzida, formato)));
+        }
+        return variantes;
+    }
+
+    private static BufferedImage decodificar(byte[] original) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            var leitores = ImageIO.getImageReaders(entrada);
+            if (!leitores.hasNext()) {
+                return null;
+            }
+
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                if ((long) leitor.getWidth(0) * leitor.getHeight(0) > MAXIMO_PIXELS) {
+                    throw new BadRequestException("A foto de perfil tem dimensões grandes demais.");
+                }
+                return leitor.read(0);
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    // Reduz pela metade até perto do alvo antes do passo final: a interpolação bilinear direta perde detalhe
+    // quando a redução é grande
+    private static BufferedImage reduzir(BufferedImage imagem, int dimensao, boolean transparente) {
+        double escala = (double) dimensao / Math.max(imagem.getWidth(), imagem.getHeight());
+        int larguraAlvo = Math.max(1, (int) Math.round(imagem.getWidth() * escala));
+        int alturaAlvo = Math.max(1, (int) Math.round(imagem.getHeight() * escala));
+        int tipo = transparente ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage atual = imagem;
+        int largura = imagem.getWidth();
+        int altura = imagem.getHeight();
+        do {
+            largura = Math.max(larguraAlvo, largura / 2);
+            altura = Math.max(alturaAlvo, altura / 2);
+
+            BufferedImage proxima = new BufferedImage(largura, altura, tipo);
+            Graphics2D g = proxima.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(atual, 0, 0, largura, altura, null);
+            } finally {
+                g.dispose();
+            }
+            atual = proxima;
+        } while (largura != larguraAlvo || altura != alturaAlvo);
+
+        return atual;
+    }
+
+    private static byte[] codificar(BufferedImage imagem, String formato) throws IOException {
+        var saida = new ByteArrayOutputStream();
+        if (!ImageIO.write(imagem, formato, saida)) {
+            throw new IOException("Nenhum codificador de imagem disponível para " + formato);
+        }
+        return saida.toByteArray();
+    }
+
+    public record VarianteGerada(int dimensao, String contentType, byte[] conteudo) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.lifeboard.concorrencia;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores dos conflitos de concorrência por operação ({@code Classe.metodo(..)}):
+ * quantos conflitos ocorreram, quantas operações só concluíram depois de repetir e quantas esgotaram as tentativas.
+ */
+@Component
+public class MetricasConflito {
+
+    private final Map<String, Contadores> porOperacao = new ConcurrentHashMap<>();
+
+    void registrarConflito(String operacao) {
+        contadores(operacao).conflitos.increment();
+    }
+
+    void registrarSucessoAposRepeticao(String operacao) {
+        contadores(operacao).recuperadas.increment();
+    }
+
+    void registrarEsgotada(String operacao) {
+        contadores(operacao).esgotadas.increment();
+    }
+
+    public long getConflitos() {
+        return porOperacao.values().stream().mapToLong(c -> c.conflitos.sum()).sum();
+    }
+
+    public long getRecuperadas() {
+        return porOperacao.values().stream().mapToLong(c -> c.recuperadas.sum()).sum();
+    }
+
+    public long getEsgotadas() {
+        return porOperacao.values().stream().mapToLong(c -> c.esgotadas.sum()).sum();
+    }
+
+    public Map<String, ResumoConflitos> porOperacao() {
+        var resumo = new TreeMap<String, ResumoConflitos>();
+        porOperacao.forEach((operacao, c) ->
+                resumo.put(operacao, new ResumoConflitos(c.conflitos.sum(), c.recuperadas.sum(), c.esgotadas.sum())));
+        return resumo;
+    }
+
+    private Contadores contadores(String operacao) {
+        return porOperacao.computeIfAbsent(operacao, o -> new Contadores());
+    }
+
+    public record ResumoConflitos(long conflitos, long recuperadas, long esgotadas) {
+    }
+
+    private static class Contadores {
+        private final LongAdder conflitos = new LongAdder();
+        private final LongAdder recuperadas = new LongAdder();
+        private final LongAdder esgotadas = new LongAdder();
+    }
+}
@@ -0,0 +1,137 @@
+package com.lifeboard.concorrencia;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnóstico de fixação (pinning) das threads virtuais: escuta o evento {@code jdk.VirtualThreadPinned} do JFR,
+ * emitido quando uma thread virtual bloqueia sem poder liberar a thread portadora (por exemplo, I/O dentro de um
+ * bloco {@code synchronized}) por mais que {@code api.threads-virtuais.fixacao.limite}.
+ * Cada origem é registrada no log com a pilha completa na primeira ocorrência e contabilizada nas seguintes.
+ * Só é criado quando {@code spring.threads.virtual.enabled=true}.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "api.threads-virtuais.fixacao.habilitado", havingValue = "true", matchIfMissing = true)
+public class MonitorFixacaoThreadsVirtuais implements SmartLifecycle {
+
+    static final String EVENTO = "jdk.VirtualThreadPinned";
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorFixacaoThreadsVirtuais.class);
+
+    // Quadros da própria JDK não dizem quem segurou o monitor; a origem é o primeiro quadro fora dela
+    private static final List<String> PACOTES_DA_JDK = List.of("java.", "javax.", "jdk.", "sun.");
+
+    private static final int QUADROS_NO_LOG = 30;
+
+    private final Duration limite;
+    private final Map<String, LongAdder> fixacoesPorOrigem = new ConcurrentHashMap<>();
+    private final LongAdder fixacoes = new LongAdder();
+    private final LongAdder tempoFixadoEmNanos = new LongAdder();
+
+    private volatile RecordingStream gravacao;
+
+    public MonitorFixacaoThreadsVirtuais(@Value("${api.threads-virtuais.fixacao.limite:20ms}") Duration limite) {
+        this.limite = limite;
+    }
+
+    @Override
+    public void start() {
+        var stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(limite).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        gravacao = stream;
+        log.info("Diagnóstico de fixação de threads virtuais ativo (limite de {} ms)", limite.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        var stream = gravacao;
+        gravacao = null;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return gravacao != null;
+    }
+
+    public long getFixacoes() {
+        return fixacoes.sum();
+    }
+
+    public Duration getTempoFixado() {
+        return Duration.ofNanos(tempoFixadoEmNanos.sum());
+    }
+
+    public Map<String, Long> porOrigem() {
+        return fixacoesPorOrigem.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entrada -> entrada.getValue().sum()));
+    }
+
+    void registrar(RecordedEvent evento) {
+        RecordedStackTrace pilha = evento.getStackTrace();
+        String origem = origem(pilha);
+
+        var contador = fixacoesPorOrigem.computeIfAbsent(origem, chave -> new LongAdder());
+        contador.increment();
+        tempoFixadoEmNanos.add(evento.getDuration().toNanos());
+        fixacoes.increment();
+
+        if (contador.sum() == 1) {
+            log.warn("Thread virtual fixada na portadora por {} ms em {}{}", evento.getDuration().toMillis(), origem,
+                    formatar(pilha));
+        } else {
+            log.debug("Thread virtual fixada na portadora por {} ms em {}", evento.getDuration().toMillis(), origem);
+        }
+    }
+
+    private static String origem(RecordedStackTrace pilha) {
+        if (pilha == null || pilha.getFrames().isEmpty()) {
+            return "desconhecida";
+        }
+
+        return pilha.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(quadro -> PACOTES_DA_JDK.stream().noneMatch(quadro.getMethod().getType().getName()::startsWith))
+                .findFirst()
+                .or(() -> pilha.getFrames().stream().findFirst())
+                .map(MonitorFixacaoThreadsVirtuais::descrever)
+                .orElse("desconhecida");
+    }
+
+    private static String formatar(RecordedStackTrace pilha) {
+        if (pilha == null) {
+            return "";
+        }
+
+        return pilha.getFrames().stream()
+                .limit(QUADROS_NO_LOG)
+                .map(quadro -> System.lineSeparator() + "\tat " + descrever(quadro))
+                .collect(Collectors.joining());
+    }
+
+    private static String descrever(RecordedFrame quadro) {
+        return quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName() + ":" + quadro.getLineNumber();
+    }
+}
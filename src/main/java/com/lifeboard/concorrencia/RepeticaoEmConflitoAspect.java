@@ -0,0 +1,87 @@
+package com.lifeboard.concorrencia;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Executa os métodos anotados com {@link RepetirEmConflito}. Fica por fora do interceptor de transação
+ * (ordem menor que a dele), então cada tentativa roda em uma transação nova e relê o estado atual.
+ * A espera entre tentativas cresce exponencialmente até {@code espera-maxima}, com jitter aleatório
+ * para as requisições que colidiram não tentarem de novo ao mesmo tempo.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RepeticaoEmConflitoAspect {
+
+    private final MetricasConflito metricas;
+    private final int tentativasMaximas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final double multiplicador;
+
+    public RepeticaoEmConflitoAspect(MetricasConflito metricas,
+                                     @Value("${api.concorrencia.tentativas-maximas:4}") int tentativasMaximas,
+                                     @Value("${api.concorrencia.espera-inicial:10ms}") Duration esperaInicial,
+                                     @Value("${api.concorrencia.espera-maxima:200ms}") Duration esperaMaxima,
+                                     @Value("${api.concorrencia.multiplicador:2}") double multiplicador) {
+        this.metricas = metricas;
+        this.tentativasMaximas = Math.max(1, tentativasMaximas);
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        this.multiplicador = multiplicador;
+    }
+
+    @Around("@annotation(com.lifeboard.concorrencia.RepetirEmConflito)")
+    public Object executar(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operacao = joinPoint.getSignature().toShortString();
+        long espera = esperaInicial.toMillis();
+
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                Object resultado = joinPoint.proceed();
+                if (tentativa > 1) {
+                    metricas.registrarSucessoAposRepeticao(operacao);
+                }
+                return resultado;
+            } catch (ConcurrencyFailureException e) {
+                metricas.registrarConflito(operacao);
+                if (tentativa >= tentativasMaximas) {
+                    metricas.registrarEsgotada(operacao);
+                    throw e;
+                }
+
+                aguardar(espera, e);
+                espera = Math.min(esperaMaxima.toMillis(), (long) (espera * multiplicador));
+            }
+        }
+    }
+
+    // Espera entre metade e o total do intervalo atual
+    private static void aguardar(long espera, ConcurrencyFailureException conflito) {
+        if (espera <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(espera / 2, espera + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflito;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.lifeboard.concorrencia;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reexecuta o método, em uma transação nova, quando ele falha por conflito de concorrência
+ * (versão desatualizada, deadlock ou espera de bloqueio esgotada). Só repete quando é a chamada mais externa:
+ * dentro de uma transação já aberta o conflito sobe para quem a abriu.
+ * A política de espera fica em {@code api.concorrencia.*}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RepetirEmConflito {
+}
@@ -0,0 +1,84 @@
+package com.lifeboard.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.lifeboard.model.Usuario;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache sobre Caffeine). Toda região é criada aqui, com tamanho e expiração
+ * vindos de {@code api.cache.segundo-nivel.regioes.<regiao>.tamanho-maximo} e {@code .expiracao} (ou dos padrões
+ * {@code api.cache.segundo-nivel.tamanho-maximo} e {@code .expiracao}); com
+ * {@code hibernate.javax.cache.missing_cache_strategy=fail}, uma região sem configuração impede a subida.
+ */
+@Configuration
+public class CacheSegundoNivelConfiguration {
+
+    public static final String USUARIO_POR_EMAIL = "usuario-por-email";
+
+    // Regiões das entidades, seguidas das regiões de consultas. Financeiro e MetaFinanceira ficam de fora: saldos e
+    // metas mudam por UPDATE em lote, e cada um esvaziaria a região inteira no caminho de escrita mais frequente
+    public static final List<String> REGIOES_DE_ENTIDADES = List.of(Usuario.REGIAO_CACHE);
+    public static final List<String> REGIOES_DE_CONSULTAS = List.of(
+            USUARIO_POR_EMAIL, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    private static final String PREFIXO = "api.cache.segundo-nivel";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel(Environment ambiente) {
+        var binder = Binder.get(ambiente);
+        long tamanhoPadrao = binder.bind(PREFIXO + ".tamanho-maximo", Long.class).orElse(10_000L);
+        Duration expiracaoPadrao = binder.bind(PREFIXO + ".expiracao", Duration.class).orElse(Duration.ofMinutes(10));
+
+        // URI própria: cada contexto (inclusive nos testes) tem o seu gerenciador, fechado pelo Hibernate no shutdown
+        var provedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        var cacheManager = provedor.getCacheManager(URI.create("lifeboard-segundo-nivel-" + UUID.randomUUID()),
+                provedor.getDefaultClassLoader());
+
+        for (var regiao : REGIOES_DE_ENTIDADES) {
+            criar(cacheManager, regiao, binder, tamanhoPadrao, expiracaoPadrao);
+        }
+        for (var regiao : REGIOES_DE_CONSULTAS) {
+            criar(cacheManager, regiao, binder, tamanhoPadrao, expiracaoPadrao);
+        }
+
+        // Os carimbos de atualização invalidam as consultas em cache: uma entrada por tabela, sem expiração
+        var carimbos = new CaffeineConfiguration<Object, Object>();
+        carimbos.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, carimbos);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    private static void criar(CacheManager cacheManager, String regiao, Binder binder, long tamanhoPadrao,
+                              Duration expiracaoPadrao) {
+        String prefixo = PREFIXO + ".regioes." + regiao;
+        long tamanho = binder.bind(prefixo + ".tamanho-maximo", Long.class).orElse(tamanhoPadrao);
+        Duration expiracao = binder.bind(prefixo + ".expiracao", Duration.class).orElse(expiracaoPadrao);
+
+        var configuracao = new CaffeineConfiguration<Object, Object>();
+        configuracao.setMaximumSize(OptionalLong.of(tamanho));
+        configuracao.setExpireAfterWrite(OptionalLong.of(expiracao.toNanos()));
+        configuracao.setStatisticsEnabled(true);
+        cacheManager.createCache(regiao, configuracao);
+    }
+}
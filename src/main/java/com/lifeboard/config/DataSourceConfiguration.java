@@ -0,0 +1,56 @@
+package com.lifeboard.config;
+
+import com.lifeboard.persistencia.RoteamentoDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Dois pools: o primário, de {@code spring.datasource.*} (e {@code spring.datasource.hikari.*}), e a réplica
+ * opcional, de {@code api.datasource.replica.*} (propriedades do Hikari, a começar por {@code jdbc-url}).
+ * O DataSource usado pela aplicação roteia as transações somente leitura para a réplica; sem
+ * {@code api.datasource.replica.jdbc-url}, tudo vai para o primário.
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        var dataSource = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "api.datasource.replica", name = "jdbc-url")
+    @ConfigurationProperties("api.datasource.replica")
+    public HikariDataSource dataSourceReplica() {
+        var dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                                     @Qualifier("dataSourceReplica") ObjectProvider<DataSource> replica) {
+        return new RoteamentoDataSource(primario, replica.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamento) {
+        // Só busca a conexão real no primeiro comando, quando a transação já sabe se é somente leitura
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
@@ -0,0 +1,39 @@
+package com.lifeboard.config;
+
+import com.lifeboard.metricas.ContadorComandosSql;
+import com.lifeboard.metricas.MetricasSqlPorRequisicaoFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+
+import java.time.Duration;
+
+@Configuration
+public class MetricasConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<MetricasSqlPorRequisicaoFilter> metricasSqlPorRequisicaoFilter(
+            MeterRegistry registry,
+            @Value("${api.sql.orcamento.comandos:30}") int orcamentoComandos,
+            @Value("${api.sql.orcamento.tempo:500ms}") Duration orcamentoTempo,
+            @Value("${api.sql.orcamento.falhar:false}") boolean falharAcimaDoOrcamento,
+            @Value("${api.sql.cabecalhos:true}") boolean exporCabecalhos) {
+        var filter = new MetricasSqlPorRequisicaoFilter(registry, orcamentoComandos, orcamentoTempo,
+                falharAcimaDoOrcamento, exporCabecalhos);
+
+        var registro = new FilterRegistrationBean<>(filter);
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    // Aplicado pelo Spring Boot ao executor do Spring MVC: o SQL de respostas assíncronas e de streaming
+    // soma ao consumo da requisição, e a thread do executor não fica com contadores depois da tarefa
+    @Bean
+    public TaskDecorator propagacaoConsumoSql() {
+        return ContadorComandosSql::propagar;
+    }
+}
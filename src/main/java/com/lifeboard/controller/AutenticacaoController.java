@@ -1,8 +1,10 @@
 package com.lifeboard.controller;
 
 import com.lifeboard.dto.auth.AutenticacaoDTO;
+import com.lifeboard.dto.auth.RenovacaoTokenDTO;
 import com.lifeboard.dto.auth.TokenDTO;
 import com.lifeboard.model.Usuario;
+import com.lifeboard.service.TokenRenovacaoService;
 import com.lifeboard.service.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,7 +22,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping("/auth/login")
+@RequestMapping("/auth")
 public class AutenticacaoController {
 
     @Autowired
@@ -29,9 +31,13 @@ public class AutenticacaoController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private TokenRenovacaoService tokenRenovacaoService;
+
     @Operation(
             summary = "Autenticar usuário",
-            description = "Autentica um usuário válido e retorna um token JWT para ser usado nas próximas requisições"
+            description = "Autentica um usuário válido e retorna um token JWT para ser usado nas próximas requisições, " +
+                    "junto de um token de renovação para POST /auth/refresh"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login efetuado com sucesso e token retornado",
@@ -39,13 +45,38 @@ public class AutenticacaoController {
             @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
             @ApiResponse(responseCode = "401", description = "Credenciais inválidas", content = @Content)
     })
-    @PostMapping
+    @PostMapping("/login")
     public ResponseEntity efetuarLogin(@RequestBody @Valid AutenticacaoDTO dados) {
 
         var authenticationToken = new UsernamePasswordAuthenticationToken(dados.email(), dados.senha());
         var authentication = manager.authenticate(authenticationToken);
 
-        var tokenJWT = tokenService.gerarToken((Usuario) authentication.getPrincipal());
-        return ResponseEntity.ok(new TokenDTO(tokenJWT));
+        var usuario = (Usuario) authentication.getPrincipal();
+        var tokenJWT = tokenService.gerarToken(usuario);
+        return ResponseEntity.ok(new TokenDTO(tokenJWT, tokenRenovacaoService.emitir(usuario)));
+    }
+
+    @Operation(
+            summary = "Renovar token",
+            description = "Troca um token de renovação válido por um novo token JWT e um novo token de renovação. " +
+                    "Cada token de renovação vale uma vez; reutilizá-lo encerra todas as sessões do usuário"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Novo par de tokens",
+                    content = @Content(schema = @Schema(implementation = TokenDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token de renovação inválido, expirado ou já usado", content = @Content)
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenDTO> renovar(@RequestBody @Valid RenovacaoTokenDTO dados) {
+        return ResponseEntity.ok(tokenRenovacaoService.renovar(dados.tokenRenovacao()));
+    }
+
+    @Operation(summary = "Encerrar sessão", description = "Revoga o token de renovação informado")
+    @ApiResponse(responseCode = "204", description = "Token revogado")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> sair(@RequestBody @Valid RenovacaoTokenDTO dados) {
+        tokenRenovacaoService.revogar(dados.tokenRenovacao());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -2,7 +2,16 @@ package com.lifeboard.controller;
 
 import com.lifeboard.dto.financeiro.FinanceiroRequestDTO;
 import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
+import com.lifeboard.dto.meta.MetaFinanceiraResponseDTO;
+import com.lifeboard.dto.resumo.ResumoMensalResponseDTO;
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
+import com.lifeboard.dto.transacao.TransacaoResponseDTO;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
 import com.lifeboard.service.FinanceiroService;
+import com.lifeboard.service.MetaFinanceiraService;
+import com.lifeboard.service.ResumoMensalService;
+import com.lifeboard.service.TransacaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
@@ -14,11 +23,17 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
 @RestController
 @RequestMapping("api/financeiros")
 @SecurityRequirement(name = "bearer-key")
@@ -27,6 +42,15 @@ public class FinanceiroController {
     @Autowired
     private FinanceiroService financeiroService;
 
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private MetaFinanceiraService metaFinanceiraService;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
     @Operation(summary = "Listar todos os financeiros", description = "Retorna uma página de financeiros com paginação e ordenação")
     @Parameters({
             @Parameter(name = "page", description = "Número da página (começa em 0)", example = "0"),
@@ -39,7 +63,7 @@ public class FinanceiroController {
         return ResponseEntity.ok(financeiros);
     }
 
-    @Operation(summary = "Buscar financeiro por ID")
+    @Operation(summary = "Buscar financeiro por ID", description = "Retorna o resumo do financeiro: saldo, salário e quantidade de transações e metas")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Financeiro encontrado"),
             @ApiResponse(responseCode = "404", description = "Financeiro não encontrado", content = @Content)
@@ -50,6 +74,76 @@ public class FinanceiroController {
         return ResponseEntity.ok(financeiro);
     }
 
+    @Operation(
+            summary = "Listar as transações de um financeiro",
+            description = "Mesma consulta de GET /api/transacoes/financeiro/{idFinanceiro}: filtros opcionais por período, " +
+                    "tipo e categoria, com paginação e ordenação"
+    )
+    @Parameters({
+            @Parameter(name = "data_inicio", description = "Data inicial (yyyy-MM-dd)", example = "2025-01-01"),
+            @Parameter(name = "data_fim", description = "Data final (yyyy-MM-dd)", example = "2025-01-31"),
+            @Parameter(name = "tipo", description = "Tipo da transação", example = "SAIDA"),
+            @Parameter(name = "categoria", description = "Categoria da transação", example = "ALIMENTACAO"),
+            @Parameter(name = "page", description = "Número da página (começa em 0)", example = "0"),
+            @Parameter(name = "size", description = "Quantidade de elementos por página", example = "10"),
+            @Parameter(name = "sort", description = "Campo para ordenação. Ex: data,desc ou valor,asc", example = "data,desc")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de transações do financeiro"),
+            @ApiResponse(responseCode = "400", description = "Filtro inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Financeiro não encontrado", content = @Content)
+    })
+    @GetMapping("/{id}/transacoes")
+    public ResponseEntity<Page<TransacaoResponseDTO>> listarTransacoes(
+            @PathVariable Long id,
+            @RequestParam(name = "data_inicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(name = "data_fim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) TipoTransacao tipo,
+            @RequestParam(required = false) CategoriaTransacao categoria,
+            @PageableDefault(size = 10, page = 0, sort = {"data"}, direction = Sort.Direction.DESC) Pageable paginacao) {
+        var filtro = new FiltroTransacaoDTO(dataInicio, dataFim, tipo, categoria);
+        var transacoes = transacaoService.filtrarPorFinanceiro(id, filtro, paginacao);
+        return ResponseEntity.ok(transacoes);
+    }
+
+    @Operation(summary = "Listar as metas de um financeiro", description = "Retorna as metas financeiras do financeiro com paginação e ordenação")
+    @Parameters({
+            @Parameter(name = "page", description = "Número da página (começa em 0)", example = "0"),
+            @Parameter(name = "size", description = "Quantidade de elementos por página", example = "10"),
+            @Parameter(name = "sort", description = "Campo para ordenação. Ex: nome,asc ou id,desc", example = "nome,asc")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de metas do financeiro"),
+            @ApiResponse(responseCode = "404", description = "Financeiro não encontrado", content = @Content)
+    })
+    @GetMapping("/{id}/metas")
+    public ResponseEntity<Page<MetaFinanceiraResponseDTO>> listarMetas(@PathVariable Long id, @PageableDefault(size = 10, page = 0, sort = {"id"}) Pageable paginacao) {
+        var metas = metaFinanceiraService.listarPorFinanceiro(id, paginacao);
+        return ResponseEntity.ok(metas);
+    }
+
+    @Operation(
+            summary = "Resumo mensal do financeiro",
+            description = "Retorna os totais e a quantidade de transações por mês, tipo e categoria, lidos da tabela de resumo. " +
+                    "Sem período informado, retorna os últimos 12 meses"
+    )
+    @Parameters({
+            @Parameter(name = "inicio", description = "Mês inicial (yyyy-MM)", example = "2025-01"),
+            @Parameter(name = "fim", description = "Mês final (yyyy-MM)", example = "2025-12")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumo mensal do período"),
+            @ApiResponse(responseCode = "400", description = "Período inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Financeiro não encontrado", content = @Content)
+    })
+    @GetMapping("/{id}/resumos-mensais")
+    public ResponseEntity<List<ResumoMensalResponseDTO>> listarResumosMensais(@PathVariable Long id,
+                                                                              @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+                                                                              @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim) {
+        var resumos = resumoMensalService.listar(id, inicio, fim);
+        return ResponseEntity.ok(resumos);
+    }
+
     @Operation(summary = "Cadastrar um novo financeiro")
     @ApiResponse(responseCode = "201", description = "Financeiro criado com sucesso")
     @PostMapping
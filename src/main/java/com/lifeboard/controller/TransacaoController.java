@@ -1,11 +1,19 @@
 package com.lifeboard.controller;
 
+import com.lifeboard.dto.paginacao.PaginaCursorDTO;
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
+import com.lifeboard.dto.transacao.FormatoExportacao;
+import com.lifeboard.dto.transacao.ImportacaoTransacaoResponseDTO;
 import com.lifeboard.dto.transacao.TransacaoRequestDTO;
 import com.lifeboard.dto.transacao.TransacaoResponseDTO;
 import com.lifeboard.mapper.TransacaoMapper;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.Transacao;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.service.ExportacaoTransacaoService;
 import com.lifeboard.service.FinanceiroService;
+import com.lifeboard.service.ImportacaoTransacaoService;
 import com.lifeboard.service.TransacaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,15 +22,30 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+
 @RestController
 @RequestMapping("api/transacoes")
 @SecurityRequirement(name = "bearer-key")
@@ -31,6 +54,12 @@ public class TransacaoController {
     @Autowired
     private TransacaoService transacaoService;
 
+    @Autowired
+    private ImportacaoTransacaoService importacaoTransacaoService;
+
+    @Autowired
+    private ExportacaoTransacaoService exportacaoTransacaoService;
+
     @Operation(summary = "Listar todas as transações", description = "Retorna uma página de transações com paginação e ordenação")
     @Parameters({
             @Parameter(name = "page", description = "Número da página (começa em 0)", example = "0"),
@@ -43,6 +72,123 @@ public class TransacaoController {
         return ResponseEntity.ok(transacoes);
     }
 
+    @Operation(
+            summary = "Consultar transações de um financeiro",
+            description = "Retorna as transações do financeiro filtradas por período, tipo e categoria, com paginação e ordenação. " +
+                    "Todos os filtros são opcionais e o período considera as datas inicial e final inteiras"
+    )
+    @Parameters({
+            @Parameter(name = "data_inicio", description = "Data inicial (yyyy-MM-dd)", example = "2025-01-01"),
+            @Parameter(name = "data_fim", description = "Data final (yyyy-MM-dd)", example = "2025-01-31"),
+            @Parameter(name = "tipo", description = "Tipo da transação", example = "SAIDA"),
+            @Parameter(name = "categoria", description = "Categoria da transação", example = "ALIMENTACAO"),
+            @Parameter(name = "page", description = "Número da página (começa em 0)", example = "0"),
+            @Parameter(name = "size", description = "Quantidade de elementos por página", example = "10"),
+            @Parameter(name = "sort", description = "Campo para ordenação. Ex: data,desc ou valor,asc", example = "data,desc")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de transações filtradas"),
+            @ApiResponse(responseCode = "400", description = "Filtro inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Financeiro não encontrado", content = @Content)
+    })
+    @GetMapping("/financeiro/{idFinanceiro}")
+    public ResponseEntity<Page<TransacaoResponseDTO>> filtrarPorFinanceiro(
+            @PathVariable Long idFinanceiro,
+            @RequestParam(name = "data_inicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(name = "data_fim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) TipoTransacao tipo,
+            @RequestParam(required = false) CategoriaTransacao categoria,
+            @PageableDefault(size = 10, page = 0, sort = {"data"}, direction = Sort.Direction.DESC) Pageable paginacao) {
+        var filtro = new FiltroTransacaoDTO(dataInicio, dataFim, tipo, categoria);
+        var transacoes = transacaoService.filtrarPorFinanceiro(idFinanceiro, filtro, paginacao);
+        return ResponseEntity.ok(transacoes);
+    }
+
+    @Operation(
+            summary = "Listar transações por cursor",
+            description = "Paginação por cursor (keyset), da transação mais recente para a mais antiga. " +
+                    "Envie o proximo_cursor da resposta anterior para obter a página seguinte; não calcula o total de elementos"
+    )
+    @Parameters({
+            @Parameter(name = "cursor", description = "Cursor opaco retornado pela página anterior (vazio na primeira página)"),
+            @Parameter(name = "tamanho", description = "Quantidade de elementos por página (máximo 100)", example = "10")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de transações"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido", content = @Content)
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<PaginaCursorDTO<TransacaoResponseDTO>> listarPorCursor(@RequestParam(required = false) String cursor,
+                                                                                 @RequestParam(defaultValue = "10") int tamanho) {
+        var pagina = transacaoService.listarPorCursor(cursor, tamanho);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @Operation(
+            summary = "Listar transações de um financeiro por cursor",
+            description = "Paginação por cursor (keyset) das transações do financeiro, da mais recente para a mais antiga"
+    )
+    @Parameters({
+            @Parameter(name = "cursor", description = "Cursor opaco retornado pela página anterior (vazio na primeira página)"),
+            @Parameter(name = "tamanho", description = "Quantidade de elementos por página (máximo 100)", example = "10")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de transações do financeiro"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Financeiro não encontrado", content = @Content)
+    })
+    @GetMapping("/financeiro/{idFinanceiro}/cursor")
+    public ResponseEntity<PaginaCursorDTO<TransacaoResponseDTO>> listarPorFinanceiroComCursor(@PathVariable Long idFinanceiro,
+                                                                                              @RequestParam(required = false) String cursor,
+                                                                                              @RequestParam(defaultValue = "10") int tamanho) {
+        var pagina = transacaoService.listarPorFinanceiroComCursor(idFinanceiro, cursor, tamanho);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @Operation(
+            summary = "Exportar o histórico de transações de um financeiro",
+            description = "Envia todas as transações do financeiro, da mais antiga para a mais recente, em CSV (mesmas colunas " +
+                    "da importação, mais id_transacao e data) ou NDJSON. As linhas são lidas do banco e enviadas aos poucos, " +
+                    "sem montar o histórico em memória"
+    )
+    @Parameter(name = "formato", description = "csv ou ndjson", example = "csv")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Histórico de transações"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Financeiro não encontrado", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Muitas exportações em andamento", content = @Content)
+    })
+    @GetMapping("/financeiro/{idFinanceiro}/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(@PathVariable Long idFinanceiro,
+                                                          @RequestParam(defaultValue = "csv") String formato,
+                                                          HttpServletRequest request) {
+        var formatoExportacao = FormatoExportacao.de(formato);
+        var reserva = exportacaoTransacaoService.reservar(idFinanceiro);
+
+        // Se o corpo nunca rodar (executor recusou a tarefa, timeout ou cliente desconectado antes do início),
+        // a vaga é devolvida no fim da requisição assíncrona; fechar a reserva duas vezes não tem efeito
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportacaoTransacaoService.Reserva.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> tarefa) {
+                        reserva.close();
+                    }
+                });
+
+        // O corpo é escrito fora da thread da requisição, com a própria transação
+        StreamingResponseBody corpo = saida -> {
+            try (reserva) {
+                exportacaoTransacaoService.exportar(idFinanceiro, formatoExportacao, saida);
+            }
+        };
+
+        var arquivo = "transacoes-financeiro-" + idFinanceiro + "." + formatoExportacao.getExtensao();
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getTipo())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
+    }
+
     @Operation(summary = "Buscar transação por ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transação encontrada"),
@@ -65,6 +211,21 @@ public class TransacaoController {
         return ResponseEntity.created(uri).body(transacaoSalva);
     }
 
+    @Operation(
+            summary = "Importar transações em lote",
+            description = "Recebe um array JSON, NDJSON (uma transação por linha) ou CSV com as colunas " +
+                    "descricao,valor,tipo,categoria,id_financeiro. Linhas inválidas são rejeitadas individualmente sem abortar a importação"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada, com o relatório de linhas rejeitadas"),
+            @ApiResponse(responseCode = "400", description = "Corpo mal formatado", content = @Content)
+    })
+    @PostMapping(value = "/importacao", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportacaoTransacaoResponseDTO> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream corpo) throws IOException {
+        var resultado = importacaoTransacaoService.importar(corpo, MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok(resultado);
+    }
+
     @Operation(summary = "Atualizar uma transação existente")
     @PutMapping("/{id}")
     public ResponseEntity<TransacaoResponseDTO> atualizar(@PathVariable Long id, @RequestBody @Valid TransacaoRequestDTO transacaoDTO){
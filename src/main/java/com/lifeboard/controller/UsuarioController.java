@@ -1,7 +1,9 @@
 package com.lifeboard.controller;
 
+import com.lifeboard.dto.usuario.ExpansaoUsuario;
 import com.lifeboard.dto.usuario.UsuarioRequestDTO;
 import com.lifeboard.dto.usuario.UsuarioResponseDTO;
+import com.lifeboard.service.FotoPerfilService;
 import com.lifeboard.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,7 +16,10 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.core.io.Resource;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +27,8 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.time.ZoneId;
+import java.util.List;
 
 @RestController
 @RequestMapping("api/usuarios")
@@ -30,28 +37,37 @@ public class UsuarioController {
     @Autowired
     private UsuarioService service;
 
+    @Autowired
+    private FotoPerfilService fotoPerfilService;
+
     @Operation(summary = "Listar todos os usuários", description = "Retorna uma página de usuários com paginação e ordenação")
     @Parameters({
             @Parameter(name = "page", description = "Número da página (começa em 0)", example = "0"),
             @Parameter(name = "size", description = "Quantidade de elementos por página", example = "10"),
-            @Parameter(name = "sort", description = "Campo para ordenação. Ex: nome,asc ou id,desc", example = "nome,asc")
+            @Parameter(name = "sort", description = "Campo para ordenação. Ex: nome,asc ou id,desc", example = "nome,asc"),
+            @Parameter(name = "expand", description = "Recursos aninhados a incluir: financeiro, tarefas", example = "financeiro")
     })
     @SecurityRequirement(name = "bearer-key")
     @GetMapping
-    public ResponseEntity<Page<UsuarioResponseDTO>> listarTodos(@PageableDefault(size = 10, page = 0, sort = {"id"}) Pageable paginacao) {
-        var usuarios = service.listarTodos(paginacao);
+    public ResponseEntity<Page<UsuarioResponseDTO>> listarTodos(@PageableDefault(size = 10, page = 0, sort = {"id"}) Pageable paginacao,
+                                                                @RequestParam(name = "expand", required = false) List<String> expandir) {
+        var usuarios = service.listarTodos(paginacao, ExpansaoUsuario.de(expandir));
         return ResponseEntity.ok(usuarios);
     }
 
-    @Operation(summary = "Buscar usuário por ID")
+    @Operation(summary = "Buscar usuário por ID",
+            description = "Retorna a representação compacta do usuário; financeiro e tarefas só vêm com expand")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Usuário encontrado"),
+            @ApiResponse(responseCode = "400", description = "Expansão inválida", content = @Content),
             @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
     })
+    @Parameter(name = "expand", description = "Recursos aninhados a incluir: financeiro, tarefas", example = "financeiro,tarefas")
     @SecurityRequirement(name = "bearer-key")
     @GetMapping("/{id}")
-    public ResponseEntity<UsuarioResponseDTO> buscarPorId(@PathVariable Long id) {
-        var usuario = service.buscarUsuarioDtoPorId(id);
+    public ResponseEntity<UsuarioResponseDTO> buscarPorId(@PathVariable Long id,
+                                                          @RequestParam(name = "expand", required = false) List<String> expandir) {
+        var usuario = service.buscarUsuarioDtoPorId(id, ExpansaoUsuario.de(expandir));
         return ResponseEntity.ok(usuario);
     }
 
@@ -78,7 +94,7 @@ public class UsuarioController {
     @Operation(summary = "Deletar um usuário")
     @SecurityRequirement(name = "bearer-key")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletar(@PathVariable Long id){
+    public ResponseEntity<Void> deletar(@PathVariable Long id) throws IOException {
         service.deletar(id);
         return ResponseEntity.noContent().build();
     }
@@ -87,23 +103,43 @@ public class UsuarioController {
     @SecurityRequirement(name = "bearer-key")
     @PutMapping("/{id}/foto")
     public ResponseEntity<Void> atualizarFoto(@PathVariable Long id, @RequestParam("file") MultipartFile file) throws IOException {
-        service.atualizarFotoPerfil(id, file);
-        return ResponseEntity.ok().build();
+        var foto = fotoPerfilService.salvar(id, file);
+        return ResponseEntity.ok().eTag("\"" + foto.getHash() + "\"").build();
     }
 
-    @Operation(summary = "Buscar foto de perfil do usuário", description = "Retorna a imagem PNG da foto de perfil")
+    @Operation(
+            summary = "Buscar foto de perfil do usuário",
+            description = "Retorna a imagem da foto de perfil com ETag forte. Com size, retorna a menor versão reduzida " +
+                    "cujo maior lado cobre o tamanho pedido (ou a original, se nenhuma cobrir). Responde 304 quando o " +
+                    "If-None-Match coincide e 206 para requisições com Range"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Imagem da foto de perfil"),
+            @ApiResponse(responseCode = "206", description = "Trecho da imagem pedido no Range", content = @Content),
+            @ApiResponse(responseCode = "304", description = "A foto não mudou desde o ETag informado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Tamanho inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Usuário sem foto de perfil", content = @Content)
+    })
     @SecurityRequirement(name = "bearer-key")
-    @GetMapping(value = "/{id}/foto", produces = MediaType.IMAGE_PNG_VALUE)
-    public ResponseEntity<byte[]> buscarFoto(@PathVariable Long id) {
-        byte[] imagem = service.buscarFotoPerfil(id);
-        return ResponseEntity.ok(imagem);
+    @GetMapping("/{id}/foto")
+    public ResponseEntity<Resource> buscarFoto(@PathVariable Long id,
+                                               @RequestParam(name = "size", required = false) Integer tamanho) {
+        // O 304 e o Range são resolvidos pelo Spring a partir do ETag e do Resource; o conteúdo só é lido se for enviado
+        var foto = fotoPerfilService.buscar(id, tamanho);
+        return ResponseEntity.ok()
+                .eTag("\"" + foto.hash() + "\"")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .lastModified(foto.atualizadaEm().atZone(ZoneId.systemDefault()))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.parseMediaType(foto.contentType()))
+                .body(foto.conteudo());
     }
 
     @Operation(summary = "Remover foto de perfil do usuário")
     @SecurityRequirement(name = "bearer-key")
     @DeleteMapping("/{id}/foto")
-    public ResponseEntity<Void> removerFoto(@PathVariable Long id) {
-        service.removerFotoPerfil(id);
+    public ResponseEntity<Void> removerFoto(@PathVariable Long id) throws IOException {
+        fotoPerfilService.remover(id);
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,7 @@
+package com.lifeboard.dto.auth;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+
+public record RenovacaoTokenDTO(@NotBlank @JsonProperty("token_renovacao") String tokenRenovacao) {
+}
@@ -1,4 +1,6 @@
 package com.lifeboard.dto.auth;
 
-public record TokenDTO(String token) {
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TokenDTO(String token, @JsonProperty("token_renovacao") String tokenRenovacao) {
 }
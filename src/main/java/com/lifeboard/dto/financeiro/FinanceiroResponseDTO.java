@@ -1,22 +1,20 @@
 package com.lifeboard.dto.financeiro;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import com.lifeboard.dto.meta.MetaFinanceiraResponseDTO;
-import com.lifeboard.dto.transacao.TransacaoResponseDTO;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@JsonPropertyOrder({ "id_financeiro", "saldo_atual", "salario_mensal", "id_usuario", "transacoes", "metas"})
+@JsonPropertyOrder({ "id_financeiro", "saldo_atual", "salario_mensal", "id_usuario", "quantidade_transacoes", "quantidade_metas"})
 public class FinanceiroResponseDTO {
 
     @JsonProperty("id_financeiro")
@@ -27,6 +25,10 @@ public class FinanceiroResponseDTO {
     private BigDecimal salarioMensal;
     @JsonProperty("id_usuario")
     private Long usuarioId;
-    private List<TransacaoResponseDTO> transacoes;
-    private List<MetaFinanceiraResponseDTO> metas;
+    @JsonProperty("quantidade_transacoes")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long quantidadeTransacoes;
+    @JsonProperty("quantidade_metas")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long quantidadeMetas;
 }
@@ -0,0 +1,12 @@
+package com.lifeboard.dto.meta;
+
+import java.math.BigDecimal;
+
+// Só o que a aplicação e o resgate precisam da meta, lido sem carregar a entidade nem o financeiro
+public record ReferenciaMeta(
+        Long id,
+        Long idFinanceiro,
+        String nome,
+        BigDecimal valorAtual
+) {
+}
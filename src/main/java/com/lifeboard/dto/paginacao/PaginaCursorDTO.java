@@ -0,0 +1,15 @@
+package com.lifeboard.dto.paginacao;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+@JsonPropertyOrder({"conteudo", "tamanho", "tem_proxima", "proximo_cursor"})
+public record PaginaCursorDTO<T>(
+        List<T> conteudo,
+        int tamanho,
+        @JsonProperty("tem_proxima") boolean temProxima,
+        @JsonProperty("proximo_cursor") String proximoCursor
+) {
+}
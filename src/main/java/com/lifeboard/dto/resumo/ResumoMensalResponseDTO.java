@@ -0,0 +1,30 @@
+package com.lifeboard.dto.resumo;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"mes", "tipo", "categoria", "total", "quantidade"})
+public class ResumoMensalResponseDTO {
+
+    private YearMonth mes;
+
+    private TipoTransacao tipo;
+
+    private CategoriaTransacao categoria;
+
+    private BigDecimal total;
+
+    private Long quantidade;
+}
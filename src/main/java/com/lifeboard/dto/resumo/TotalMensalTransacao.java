@@ -0,0 +1,17 @@
+package com.lifeboard.dto.resumo;
+
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+
+// Soma de transações agrupadas por mês, tipo e categoria, usada para descontar remoções em lote do resumo mensal
+public record TotalMensalTransacao(
+        Integer ano,
+        Integer mes,
+        TipoTransacao tipo,
+        CategoriaTransacao categoria,
+        BigDecimal total,
+        Long quantidade
+) {
+}
@@ -0,0 +1,41 @@
+package com.lifeboard.dto.transacao;
+
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.model.Transacao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição da última transação entregue, na ordenação (data desc, id desc) da listagem por cursor.
+// Trafega para o cliente como texto opaco em Base64 URL-safe.
+public record CursorTransacao(LocalDateTime data, Long id) {
+
+    private static final String SEPARADOR = "|";
+
+    public static CursorTransacao de(Transacao transacao) {
+        return new CursorTransacao(transacao.getData(), transacao.getId());
+    }
+
+    public String codificar() {
+        var conteudo = data + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorTransacao decodificar(String cursor) {
+        try {
+            var conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = conteudo.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new BadRequestException("Cursor de paginação inválido.");
+            }
+            return new CursorTransacao(
+                    LocalDateTime.parse(conteudo.substring(0, separador)),
+                    Long.valueOf(conteudo.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor de paginação inválido.");
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.lifeboard.dto.transacao;
+
+public record ErroImportacaoDTO(long linha, String mensagem) {
+}
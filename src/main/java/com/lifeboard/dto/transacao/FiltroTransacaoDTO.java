@@ -0,0 +1,16 @@
+package com.lifeboard.dto.transacao;
+
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+
+import java.time.LocalDate;
+
+public record FiltroTransacaoDTO(
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        TipoTransacao tipo,
+        CategoriaTransacao categoria
+) {
+
+    public static final FiltroTransacaoDTO SEM_FILTROS = new FiltroTransacaoDTO(null, null, null, null);
+}
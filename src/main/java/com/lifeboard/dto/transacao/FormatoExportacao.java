@@ -0,0 +1,35 @@
+package com.lifeboard.dto.transacao;
+
+import com.lifeboard.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum FormatoExportacao {
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType tipo;
+    private final String extensao;
+
+    FormatoExportacao(MediaType tipo, String extensao) {
+        this.tipo = tipo;
+        this.extensao = extensao;
+    }
+
+    public MediaType getTipo() {
+        return tipo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Formato de exportação inválido: " + valor.trim() + ". Valores aceitos: csv, ndjson.");
+        }
+    }
+}
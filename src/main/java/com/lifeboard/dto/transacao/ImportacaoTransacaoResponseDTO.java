@@ -0,0 +1,27 @@
+package com.lifeboard.dto.transacao;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({ "total_linhas", "importadas", "rejeitadas", "erros"})
+public class ImportacaoTransacaoResponseDTO {
+
+    @JsonProperty("total_linhas")
+    private long totalLinhas;
+
+    private long importadas;
+
+    private long rejeitadas;
+
+    private List<ErroImportacaoDTO> erros;
+}
@@ -0,0 +1,14 @@
+package com.lifeboard.dto.usuario;
+
+import org.springframework.core.io.Resource;
+
+import java.time.LocalDateTime;
+
+// Versão da foto de perfil escolhida para a resposta; o conteúdo só é lido quando o corpo é escrito
+public record ArquivoFotoPerfil(
+        String contentType,
+        String hash,
+        LocalDateTime atualizadaEm,
+        Resource conteudo
+) {
+}
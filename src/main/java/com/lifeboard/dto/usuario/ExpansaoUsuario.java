@@ -0,0 +1,35 @@
+package com.lifeboard.dto.usuario;
+
+import com.lifeboard.exception.BadRequestException;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Recursos aninhados que podem ser incluídos na representação do usuário pelo parâmetro {@code expand}.
+ */
+public enum ExpansaoUsuario {
+    FINANCEIRO,
+    TAREFAS;
+
+    public static Set<ExpansaoUsuario> de(Collection<String> valores) {
+        var expansoes = EnumSet.noneOf(ExpansaoUsuario.class);
+        if (valores == null) {
+            return expansoes;
+        }
+
+        for (String valor : valores) {
+            if (valor == null || valor.isBlank()) {
+                continue;
+            }
+            try {
+                expansoes.add(valueOf(valor.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Expansão inválida: " + valor.trim() + ". Valores aceitos: financeiro, tarefas.");
+            }
+        }
+        return expansoes;
+    }
+}
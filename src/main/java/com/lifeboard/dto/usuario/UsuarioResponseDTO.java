@@ -1,5 +1,6 @@
 package com.lifeboard.dto.usuario;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
@@ -15,7 +16,8 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@JsonPropertyOrder({ "id_usuario", "nome", "email", "senha", "financeiro", "tarefas"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({ "id_usuario", "nome", "email", "id_financeiro", "financeiro", "tarefas"})
 public class UsuarioResponseDTO {
 
     @JsonProperty("id_usuario")
@@ -25,8 +27,10 @@ public class UsuarioResponseDTO {
 
     private String email;
 
-    private String senha;
+    @JsonProperty("id_financeiro")
+    private Long financeiroId;
 
+    // Preenchidos apenas com expand=financeiro e expand=tarefas
     private FinanceiroResponseDTO financeiro;
 
     private List<TarefaResponseDTO> tarefas;
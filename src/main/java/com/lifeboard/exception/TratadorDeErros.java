@@ -2,6 +2,8 @@ package com.lifeboard.exception;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -83,6 +85,38 @@ public class TratadorDeErros {
         ));
     }
 
+    // 409 - Conflito de concorrência que persistiu depois das novas tentativas
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<?> tratarConflito(ConcurrencyFailureException ex) {
+        var body = Map.of(
+                "error", "Conflito de concorrência",
+                "message", "O registro foi alterado por outra requisição. Tente novamente."
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // 401 - Credenciais ou token de renovação inválidos
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<?> tratarCredenciaisInvalidas(BadCredentialsException ex) {
+        var body = Map.of(
+                "error", "Não autorizado",
+                "message", ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
+    }
+
+    // 503 - Pool de hash de senhas saturado
+    @ExceptionHandler(ServicoIndisponivelException.class)
+    public ResponseEntity<?> tratarSobrecarga(ServicoIndisponivelException ex) {
+        var body = Map.of(
+                "error", "Serviço indisponível",
+                "message", ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     // 500 - Erro genérico inesperado
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> tratarErro500(Exception ex) {
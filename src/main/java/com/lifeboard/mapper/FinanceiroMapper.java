@@ -2,46 +2,20 @@ package com.lifeboard.mapper;
 
 import com.lifeboard.dto.financeiro.FinanceiroRequestDTO;
 import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
-import com.lifeboard.dto.meta.MetaFinanceiraResponseDTO;
-import com.lifeboard.dto.transacao.TransacaoResponseDTO;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.Usuario;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-
 public class FinanceiroMapper {
 
+    // Não percorre transações nem metas: o histórico é exposto apenas pelos sub-recursos paginados
     public static FinanceiroResponseDTO toDTO (Financeiro financeiro) {
-        List<TransacaoResponseDTO> transacoes;
-        List<MetaFinanceiraResponseDTO> metas;
-
-        if (financeiro.getTransacoes() != null){
-            transacoes = financeiro.getTransacoes()
-                    .stream()
-                    .map(TransacaoMapper::toDTO)
-                    .collect(Collectors.toList());
-        } else {
-            transacoes = new ArrayList<>();
-        }
-
-        if (financeiro.getMetas() != null){
-            metas = financeiro.getMetas()
-                    .stream()
-                    .map(MetaFinanceiraMapper::toDTO)
-                    .collect(Collectors.toList());
-        } else {
-            metas = new ArrayList<>();
-        }
-
         return new FinanceiroResponseDTO(
                 financeiro.getId(),
                 financeiro.getSaldoAtual(),
                 financeiro.getSalarioMensal(),
                 financeiro.getUsuario().getId(),
-                transacoes,
-                metas
+                null,
+                null
         );
     }
 
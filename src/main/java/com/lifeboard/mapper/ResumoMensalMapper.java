@@ -0,0 +1,19 @@
+package com.lifeboard.mapper;
+
+import com.lifeboard.dto.resumo.ResumoMensalResponseDTO;
+import com.lifeboard.model.ResumoMensal;
+
+import java.time.YearMonth;
+
+public class ResumoMensalMapper {
+
+    public static ResumoMensalResponseDTO toDTO(ResumoMensal resumo) {
+        return new ResumoMensalResponseDTO(
+                YearMonth.from(resumo.getMes()),
+                resumo.getTipo(),
+                resumo.getCategoria(),
+                resumo.getTotal(),
+                resumo.getQuantidade()
+        );
+    }
+}
@@ -2,36 +2,47 @@ package com.lifeboard.mapper;
 
 import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
 import com.lifeboard.dto.tarefa.TarefaResponseDTO;
+import com.lifeboard.dto.usuario.ExpansaoUsuario;
 import com.lifeboard.dto.usuario.UsuarioRequestDTO;
 import com.lifeboard.dto.usuario.UsuarioResponseDTO;
+import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.Usuario;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class UsuarioMapper {
 
     public static UsuarioResponseDTO toDTO(Usuario usuario) {
+        return toDTO(usuario, Set.of());
+    }
+
+    // A senha nunca sai da entidade; financeiro e tarefas só são percorridos quando pedidos
+    public static UsuarioResponseDTO toDTO(Usuario usuario, Set<ExpansaoUsuario> expandir) {
+        Financeiro financeiro = usuario.getFinanceiro();
         FinanceiroResponseDTO financeiroDTO = null;
-        List<TarefaResponseDTO> tarefas;
+        List<TarefaResponseDTO> tarefas = null;
 
-        if (usuario.getFinanceiro() != null) {
-            financeiroDTO = FinanceiroMapper.toDTO(usuario.getFinanceiro());
+        if (financeiro != null && expandir.contains(ExpansaoUsuario.FINANCEIRO)) {
+            financeiroDTO = FinanceiroMapper.toDTO(financeiro);
         }
 
-        if (usuario.getTarefas() != null) {
-            tarefas = usuario.getTarefas().stream()
-                    .map(TarefaMapper::toDTO)
-                    .collect(Collectors.toList());
-        } else {
-            tarefas = new ArrayList<>();
+        if (expandir.contains(ExpansaoUsuario.TAREFAS)) {
+            if (usuario.getTarefas() != null) {
+                tarefas = usuario.getTarefas().stream()
+                        .map(TarefaMapper::toDTO)
+                        .collect(Collectors.toList());
+            } else {
+                tarefas = new ArrayList<>();
+            }
         }
 
         return new UsuarioResponseDTO(
                 usuario.getId(),
                 usuario.getNome(),
                 usuario.getEmail(),
-                usuario.getSenha(),
+                financeiro != null ? financeiro.getId() : null,
                 financeiroDTO,
                 tarefas
         );
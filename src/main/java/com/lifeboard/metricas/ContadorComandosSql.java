@@ -0,0 +1,108 @@
+package com.lifeboard.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conta os comandos SQL que o Hibernate prepara (consultas, DML e operações em lote) e acumula o tempo gasto
+ * executando-os no JDBC, medido por {@link TempoJdbcListener}.
+ * Registrado em {@code hibernate.session_factory.statement_inspector}. O consumo pertence à requisição, não à
+ * thread: o {@link MetricasSqlPorRequisicaoFilter} abre um {@link Consumo} no início de cada requisição e lê os
+ * totais no final, e {@link #propagar(Runnable)} o leva às threads que trabalham para ela (respostas assíncronas,
+ * streaming, pool de hash de senhas). Comandos em threads sem consumo aberto não são contados.
+ */
+public class ContadorComandosSql implements StatementInspector {
+
+    private static final ThreadLocal<Consumo> ATUAL = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Consumo consumo = ATUAL.get();
+        if (consumo != null) {
+            consumo.comandos.incrementAndGet();
+        }
+        return sql;
+    }
+
+    static void adicionarTempo(long nanos) {
+        Consumo consumo = ATUAL.get();
+        if (consumo != null) {
+            consumo.nanos.addAndGet(nanos);
+        }
+    }
+
+    // Abre um consumo novo na thread atual, descartando o anterior
+    public static Consumo zerar() {
+        var consumo = new Consumo();
+        ATUAL.set(consumo);
+        return consumo;
+    }
+
+    // Retoma na thread atual um consumo aberto em outra (o dispatch assíncrono da mesma requisição)
+    public static void continuar(Consumo consumo) {
+        ATUAL.set(consumo);
+    }
+
+    public static int total() {
+        Consumo consumo = ATUAL.get();
+        return consumo != null ? consumo.total() : 0;
+    }
+
+    public static Duration tempo() {
+        Consumo consumo = ATUAL.get();
+        return consumo != null ? consumo.tempo() : Duration.ZERO;
+    }
+
+    public static void liberar() {
+        ATUAL.remove();
+    }
+
+    // Executa a tarefa em outra thread somando ao consumo de quem a criou; a thread nunca fica com ele depois
+    public static Runnable propagar(Runnable tarefa) {
+        Consumo consumo = ATUAL.get();
+        if (consumo == null) {
+            return tarefa;
+        }
+        return () -> {
+            ATUAL.set(consumo);
+            try {
+                tarefa.run();
+            } finally {
+                ATUAL.remove();
+            }
+        };
+    }
+
+    public static <T> Callable<T> propagar(Callable<T> tarefa) {
+        Consumo consumo = ATUAL.get();
+        if (consumo == null) {
+            return tarefa;
+        }
+        return () -> {
+            ATUAL.set(consumo);
+            try {
+                return tarefa.call();
+            } finally {
+                ATUAL.remove();
+            }
+        };
+    }
+
+    // Compartilhado entre a thread da requisição e as que trabalham para ela, por isso os contadores atômicos
+    public static final class Consumo {
+
+        private final AtomicLong comandos = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+
+        public int total() {
+            return (int) comandos.get();
+        }
+
+        public Duration tempo() {
+            return Duration.ofNanos(nanos.get());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.lifeboard.metricas;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lifeboard.armazenamento.CacheVariantesFotoPerfil;
+import com.lifeboard.concorrencia.MetricasConflito;
+import com.lifeboard.concorrencia.MonitorFixacaoThreadsVirtuais;
+import com.lifeboard.config.CacheSegundoNivelConfiguration;
+import com.lifeboard.persistencia.RoteamentoDataSource;
+import com.lifeboard.security.CodificadorSenhas;
+import com.lifeboard.security.UsuarioAutenticadoCache;
+import com.lifeboard.service.TokenService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publica no Micrometer os contadores que a aplicação já mantém: acertos e falhas dos caches em memória e das
+ * regiões do cache de segundo nível do Hibernate, conflitos de concorrência otimista, a ocupação do pool de hash
+ * de senhas, as conexões entregues pelo primário e pela réplica e, com threads virtuais, as fixações na thread
+ * portadora.
+ */
+@Component
+public class MetricasAplicacao implements MeterBinder {
+
+    private final UsuarioAutenticadoCache usuarioAutenticadoCache;
+    private final TokenService tokenService;
+    private final CacheVariantesFotoPerfil cacheVariantesFotoPerfil;
+    private final MetricasConflito metricasConflito;
+    private final ObjectProvider<MonitorFixacaoThreadsVirtuais> monitorFixacao;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManagerSegundoNivel;
+    private final CodificadorSenhas codificadorSenhas;
+    private final RoteamentoDataSource roteamentoDataSource;
+
+    public MetricasAplicacao(UsuarioAutenticadoCache usuarioAutenticadoCache, TokenService tokenService,
+                             CacheVariantesFotoPerfil cacheVariantesFotoPerfil, MetricasConflito metricasConflito,
+                             ObjectProvider<MonitorFixacaoThreadsVirtuais> monitorFixacao,
+                             EntityManagerFactory entityManagerFactory, CacheManager cacheManagerSegundoNivel,
+                             CodificadorSenhas codificadorSenhas, RoteamentoDataSource roteamentoDataSource) {
+        this.usuarioAutenticadoCache = usuarioAutenticadoCache;
+        this.tokenService = tokenService;
+        this.cacheVariantesFotoPerfil = cacheVariantesFotoPerfil;
+        this.metricasConflito = metricasConflito;
+        this.monitorFixacao = monitorFixacao;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManagerSegundoNivel = cacheManagerSegundoNivel;
+        this.codificadorSenhas = codificadorSenhas;
+        this.roteamentoDataSource = roteamentoDataSource;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // O Micrometer guarda referências fracas: as fontes são os próprios beans, nunca lambdas soltas
+        registrarCache(registry, "usuarios-autenticados", usuarioAutenticadoCache,
+                UsuarioAutenticadoCache::estatisticas, UsuarioAutenticadoCache::tamanho);
+        registrarCache(registry, "tokens-verificados", tokenService, TokenService::estatisticasCache, null);
+        registrarCache(registry, "variantes-foto-perfil", cacheVariantesFotoPerfil,
+                CacheVariantesFotoPerfil::estatisticas, CacheVariantesFotoPerfil::tamanho);
+
+        // Regiões do segundo nível, pelas estatísticas do Hibernate (hibernate.generate_statistics=true)
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (var regiao : CacheSegundoNivelConfiguration.REGIOES_DE_ENTIDADES) {
+            registrarAcessos(registry, regiao, estatisticas,
+                    fonte -> fonte.getDomainDataRegionStatistics(regiao).getHitCount(),
+                    fonte -> fonte.getDomainDataRegionStatistics(regiao).getMissCount());
+
+            Cache<?, ?> cache = cacheManagerSegundoNivel.getCache(regiao).unwrap(Cache.class);
+            registrarTamanho(registry, regiao, cache, Cache::estimatedSize);
+        }
+        // As regiões de consultas só passam a existir no Hibernate na primeira consulta que as usa
+        for (var regiao : CacheSegundoNivelConfiguration.REGIOES_DE_CONSULTAS) {
+            registrarAcessos(registry, regiao, estatisticas,
+                    fonte -> estatisticaDeConsulta(fonte, regiao, CacheRegionStatistics::getHitCount),
+                    fonte -> estatisticaDeConsulta(fonte, regiao, CacheRegionStatistics::getMissCount));
+        }
+
+        registrarContador(registry, "lifeboard.concorrencia.conflitos", "Conflitos de versão detectados",
+                metricasConflito, MetricasConflito::getConflitos);
+        registrarContador(registry, "lifeboard.concorrencia.recuperadas", "Operações concluídas após repetir por conflito",
+                metricasConflito, MetricasConflito::getRecuperadas);
+        registrarContador(registry, "lifeboard.concorrencia.esgotadas", "Operações que esgotaram as tentativas",
+                metricasConflito, MetricasConflito::getEsgotadas);
+
+        Gauge.builder("lifeboard.senhas.fila", codificadorSenhas, CodificadorSenhas::getNaFila)
+                .description("Hashes de senha aguardando uma thread do pool")
+                .register(registry);
+        Gauge.builder("lifeboard.senhas.execucao", codificadorSenhas, CodificadorSenhas::getEmExecucao)
+                .description("Hashes de senha em execução")
+                .register(registry);
+        Gauge.builder("lifeboard.senhas.custo", codificadorSenhas, CodificadorSenhas::getCusto)
+                .description("Custo atual do BCrypt")
+                .register(registry);
+        registrarContador(registry, "lifeboard.senhas.rejeitadas", "Hashes de senha recusados com a fila cheia (503)",
+                codificadorSenhas, CodificadorSenhas::getRejeitadas);
+
+        FunctionCounter.builder("lifeboard.datasource.conexoes", roteamentoDataSource, RoteamentoDataSource::getConexoesPrimario)
+                .description("Conexões entregues pelo roteamento de leitura e escrita")
+                .tag("destino", "primario")
+                .register(registry);
+        FunctionCounter.builder("lifeboard.datasource.conexoes", roteamentoDataSource, RoteamentoDataSource::getConexoesReplica)
+                .description("Conexões entregues pelo roteamento de leitura e escrita")
+                .tag("destino", "replica")
+                .register(registry);
+        registrarContador(registry, "lifeboard.datasource.replica.falhas",
+                "Leituras enviadas ao primário porque a réplica recusou a conexão",
+                roteamentoDataSource, RoteamentoDataSource::getFalhasReplica);
+
+        monitorFixacao.ifAvailable(monitor ->
+                registrarContador(registry, "lifeboard.threads.virtuais.fixacoes",
+                        "Fixações de threads virtuais na portadora acima do limite", monitor,
+                        MonitorFixacaoThreadsVirtuais::getFixacoes));
+    }
+
+    private static <T> void registrarCache(MeterRegistry registry, String nome, T cache,
+                                           Function<T, CacheStats> estatisticas, ToLongFunction<T> tamanho) {
+        registrarAcessos(registry, nome, cache,
+                fonte -> estatisticas.apply(fonte).hitCount(),
+                fonte -> estatisticas.apply(fonte).missCount());
+        FunctionCounter.builder("lifeboard.cache.remocoes", cache, fonte -> estatisticas.apply(fonte).evictionCount())
+                .description("Entradas removidas por tamanho ou expiração")
+                .tag("cache", nome)
+                .register(registry);
+
+        if (tamanho != null) {
+            registrarTamanho(registry, nome, cache, tamanho);
+        }
+    }
+
+    private static <T> void registrarAcessos(MeterRegistry registry, String nome, T fonte,
+                                             ToLongFunction<T> acertos, ToLongFunction<T> falhas) {
+        FunctionCounter.builder("lifeboard.cache.acessos", fonte, objeto -> acertos.applyAsLong(objeto))
+                .description("Acessos aos caches em memória")
+                .tags("cache", nome, "resultado", "acerto")
+                .register(registry);
+        FunctionCounter.builder("lifeboard.cache.acessos", fonte, objeto -> falhas.applyAsLong(objeto))
+                .description("Acessos aos caches em memória")
+                .tags("cache", nome, "resultado", "falha")
+                .register(registry);
+        Gauge.builder("lifeboard.cache.taxa.acerto", fonte,
+                        objeto -> taxaDeAcerto(acertos.applyAsLong(objeto), falhas.applyAsLong(objeto)))
+                .description("Fração dos acessos atendida pelo cache desde a subida")
+                .tag("cache", nome)
+                .register(registry);
+    }
+
+    private static <T> void registrarTamanho(MeterRegistry registry, String nome, T cache, ToLongFunction<T> tamanho) {
+        Gauge.builder("lifeboard.cache.tamanho", cache, fonte -> tamanho.applyAsLong(fonte))
+                .description("Entradas no cache (estimativa)")
+                .tag("cache", nome)
+                .register(registry);
+    }
+
+    private static <T> void registrarContador(MeterRegistry registry, String nome, String descricao, T fonte,
+                                              ToLongFunction<T> valor) {
+        FunctionCounter.builder(nome, fonte, objeto -> valor.applyAsLong(objeto))
+                .description(descricao)
+                .register(registry);
+    }
+
+    private static long estatisticaDeConsulta(Statistics estatisticas, String regiao,
+                                              ToLongFunction<CacheRegionStatistics> valor) {
+        CacheRegionStatistics regiaoDeConsulta = estatisticas.getQueryRegionStatistics(regiao);
+        return regiaoDeConsulta != null ? valor.applyAsLong(regiaoDeConsulta) : 0;
+    }
+
+    private static double taxaDeAcerto(long acertos, long falhas) {
+        long acessos = acertos + falhas;
+        return acessos == 0 ? Double.NaN : (double) acertos / acessos;
+    }
+}
@@ -0,0 +1,52 @@
+package com.lifeboard.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mede a duração de todo método público dos serviços no timer {@value #METRICA}, com as tags
+ * {@code classe}, {@code metodo} e {@code excecao}. Os endpoints já são medidos pelo Spring MVC
+ * em {@code http.server.requests}. Fica por fora da repetição em conflito e da transação, então o tempo
+ * registrado inclui as novas tentativas e o commit, como percebido por quem chamou.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class MetricasServicoAspect {
+
+    public static final String METRICA = "lifeboard.servico";
+
+    private static final String SEM_EXCECAO = "none";
+
+    private final MeterRegistry registry;
+
+    public MetricasServicoAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(com.lifeboard.service..*) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(registry);
+        String excecao = SEM_EXCECAO;
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder(METRICA)
+                    .description("Duração dos métodos dos serviços")
+                    .tag("classe", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("excecao", excecao)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.lifeboard.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou na distribuição {@value #METRICA} e quanto tempo eles
+ * levaram no JDBC no timer {@value #METRICA_TEMPO}, com as tags {@code method} e {@code uri} (o padrão da rota,
+ * como em {@code http.server.requests}).
+ * <p>
+ * Opcionalmente devolve os mesmos números nos cabeçalhos {@value #CABECALHO_COMANDOS} e {@value #CABECALHO_TEMPO},
+ * escritos imediatamente antes do commit da resposta: comandos disparados depois disso (raros, com a sessão
+ * aberta na view) entram só na métrica. Requisições acima do orçamento de comandos ou de tempo geram um aviso
+ * no log; com {@code falharAcimaDoOrcamento}, estourar o orçamento de comandos lança exceção, para que
+ * regressões N+1 quebrem os testes.
+ * <p>
+ * Requisições assíncronas (como as exportações por streaming) continuam somando ao mesmo consumo no dispatch
+ * assíncrono e nas threads do executor, e são registradas quando terminam; nelas o orçamento só gera aviso.
+ * <p>
+ * Registrado em {@link com.lifeboard.config.MetricasConfiguration}, antes da segurança, para contar também
+ * a carga do usuário autenticado.
+ */
+public class MetricasSqlPorRequisicaoFilter extends OncePerRequestFilter {
+
+    public static final String METRICA = "lifeboard.sql.comandos";
+    public static final String METRICA_TEMPO = "lifeboard.sql.tempo";
+    public static final String CABECALHO_COMANDOS = "X-SQL-Comandos";
+    public static final String CABECALHO_TEMPO = "X-SQL-Tempo-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(MetricasSqlPorRequisicaoFilter.class);
+
+    private static final String URI_DESCONHECIDA = "UNKNOWN";
+
+    private static final String ATRIBUTO_CONSUMO = MetricasSqlPorRequisicaoFilter.class.getName() + ".consumo";
+
+    private final MeterRegistry registry;
+    private final int orcamentoComandos;
+    private final Duration orcamentoTempo;
+    private final boolean falharAcimaDoOrcamento;
+    private final boolean exporCabecalhos;
+
+    public MetricasSqlPorRequisicaoFilter(MeterRegistry registry, int orcamentoComandos, Duration orcamentoTempo,
+                                          boolean falharAcimaDoOrcamento, boolean exporCabecalhos) {
+        this.registry = registry;
+        this.orcamentoComandos = orcamentoComandos;
+        this.orcamentoTempo = orcamentoTempo;
+        this.falharAcimaDoOrcamento = falharAcimaDoOrcamento;
+        this.exporCabecalhos = exporCabecalhos;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // O dispatch assíncrono soma ao consumo aberto pela requisição original, registrado quando ela terminar
+        if (isAsyncDispatch(request) && request.getAttribute(ATRIBUTO_CONSUMO) instanceof ContadorComandosSql.Consumo consumo) {
+            ContadorComandosSql.continuar(consumo);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                ContadorComandosSql.liberar();
+            }
+            return;
+        }
+
+        var consumo = ContadorComandosSql.zerar();
+        request.setAttribute(ATRIBUTO_CONSUMO, consumo);
+        try {
+            filterChain.doFilter(request, exporCabecalhos ? new CabecalhosAntesDoCommit(response, consumo) : response);
+        } finally {
+            ContadorComandosSql.liberar();
+        }
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new RegistroAoConcluir(consumo));
+            return;
+        }
+
+        int comandos = consumo.total();
+        Duration tempo = consumo.tempo();
+        if (exporCabecalhos && !response.isCommitted()) {
+            escreverCabecalhos(response, comandos, tempo);
+        }
+        registrar(request, comandos, tempo);
+        verificarOrcamento(request, comandos, tempo, falharAcimaDoOrcamento);
+    }
+
+    private void registrar(HttpServletRequest request, int comandos, Duration tempo) {
+        String rota = rota(request);
+
+        DistributionSummary.builder(METRICA)
+                .description("Comandos SQL executados por requisição")
+                .baseUnit("comandos")
+                .tag("method", request.getMethod())
+                .tag("uri", rota)
+                .register(registry)
+                .record(comandos);
+
+        Timer.builder(METRICA_TEMPO)
+                .description("Tempo de execução JDBC por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", rota)
+                .register(registry)
+                .record(tempo);
+    }
+
+    private void verificarOrcamento(HttpServletRequest request, int comandos, Duration tempo, boolean falhar) {
+        if (comandos > orcamentoComandos) {
+            String mensagem = String.format("%s %s executou %d comandos SQL (orçamento: %d); provável N+1",
+                    request.getMethod(), rota(request), comandos, orcamentoComandos);
+            if (falhar) {
+                throw new IllegalStateException(mensagem);
+            }
+            log.warn(mensagem);
+        }
+
+        // O tempo depende do banco e da máquina: só avisa, nunca falha
+        if (tempo.compareTo(orcamentoTempo) > 0) {
+            log.warn("{} {} passou {} ms no JDBC (orçamento: {} ms) em {} comandos", request.getMethod(),
+                    rota(request), tempo.toMillis(), orcamentoTempo.toMillis(), comandos);
+        }
+    }
+
+    private static String rota(HttpServletRequest request) {
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return rota != null ? rota.toString() : URI_DESCONHECIDA;
+    }
+
+    private static void escreverCabecalhos(HttpServletResponse response, int comandos, Duration tempo) {
+        response.setHeader(CABECALHO_COMANDOS, Integer.toString(comandos));
+        response.setHeader(CABECALHO_TEMPO, String.format(Locale.ROOT, "%.2f", tempo.toNanos() / 1_000_000.0));
+    }
+
+    private static final class CabecalhosAntesDoCommit extends OnCommittedResponseWrapper {
+
+        private final ContadorComandosSql.Consumo consumo;
+
+        CabecalhosAntesDoCommit(HttpServletResponse response, ContadorComandosSql.Consumo consumo) {
+            super(response);
+            this.consumo = consumo;
+        }
+
+        // Pode rodar na thread do executor que escreve uma resposta assíncrona: lê o consumo da requisição
+        @Override
+        protected void onResponseCommitted() {
+            escreverCabecalhos((HttpServletResponse) getResponse(), consumo.total(), consumo.tempo());
+        }
+    }
+
+    // Fim de uma requisição assíncrona: a resposta já foi enviada, então estourar o orçamento só gera aviso
+    private final class RegistroAoConcluir implements AsyncListener {
+
+        private final ContadorComandosSql.Consumo consumo;
+
+        RegistroAoConcluir(ContadorComandosSql.Consumo consumo) {
+            this.consumo = consumo;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent evento) {
+            var request = (HttpServletRequest) evento.getSuppliedRequest();
+            registrar(request, consumo.total(), consumo.tempo());
+            verificarOrcamento(request, consumo.total(), consumo.tempo(), false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent evento) {
+        }
+
+        @Override
+        public void onError(AsyncEvent evento) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent evento) {
+            evento.getAsyncContext().addListener(this);
+        }
+    }
+}
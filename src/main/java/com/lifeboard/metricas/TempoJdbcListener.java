@@ -0,0 +1,33 @@
+package com.lifeboard.metricas;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mede o tempo de execução dos comandos e lotes JDBC de cada sessão e o soma ao consumo da thread em
+ * {@link ContadorComandosSql}. O Hibernate cria uma instância por sessão a partir de
+ * {@code hibernate.session.events.auto}; a leitura do {@code ResultSet} fica de fora da medição.
+ */
+public class TempoJdbcListener implements SessionEventListener {
+
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ContadorComandosSql.adicionarTempo(System.nanoTime() - inicio);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ContadorComandosSql.adicionarTempo(System.nanoTime() - inicio);
+    }
+}
@@ -0,0 +1,28 @@
+package com.lifeboard.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Identifica uma versão da foto de perfil: a original (dimensão 0) ou uma variante reduzida
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChaveFotoPerfil implements Serializable {
+
+    public static final int ORIGINAL = 0;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    // Maior lado da imagem em pixels
+    @Column(nullable = false)
+    private Integer dimensao;
+}
@@ -12,12 +12,15 @@ import java.util.List;
 
 @Entity
 @Table(name = "lb_financeiros")
+@NamedEntityGraph(name = Financeiro.COM_METAS, attributeNodes = @NamedAttributeNode("metas"))
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Financeiro {
 
+    public static final String COM_METAS = "Financeiro.comMetas";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lb_financeiro_seq")
     @SequenceGenerator(name = "lb_financeiro_seq", sequenceName = "LB_financeiro_SEQ", allocationSize = 1)
@@ -31,7 +34,12 @@ public class Financeiro {
     @Column(name = "salario", nullable = false)
     private BigDecimal salarioMensal;
 
-    @OneToOne
+    // Controle de concorrência otimista; os movimentos atômicos de saldo também incrementam a versão
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuario", referencedColumnName = "id_usuario", nullable = false)
     private Usuario usuario;
 
@@ -40,4 +48,7 @@ public class Financeiro {
 
     @OneToMany(mappedBy = "financeiro", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MetaFinanceira> metas;
+
+    @OneToMany(mappedBy = "financeiro", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<ResumoMensal> resumosMensais;
 }
@@ -0,0 +1,39 @@
+package com.lifeboard.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Metadados da foto de perfil, separados da linha do usuário. O conteúdo fica no ArmazenamentoFotoPerfil configurado.
+@Entity
+@Table(name = "lb_fotos_perfil")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FotoPerfil {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long tamanho;
+
+    // SHA-256 do conteúdo, usado como ETag forte
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Column(name = "atualizada_em", nullable = false)
+    private LocalDateTime atualizadaEm;
+}
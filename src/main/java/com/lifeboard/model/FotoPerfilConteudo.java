@@ -0,0 +1,23 @@
+package com.lifeboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "lb_fotos_perfil_conteudo")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FotoPerfilConteudo {
+
+    @EmbeddedId
+    private ChaveFotoPerfil chave;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] conteudo;
+}
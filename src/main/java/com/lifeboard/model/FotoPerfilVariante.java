@@ -0,0 +1,32 @@
+package com.lifeboard.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Metadados de uma versão reduzida da foto de perfil, gerada no upload
+@Entity
+@Table(name = "lb_fotos_perfil_variantes")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FotoPerfilVariante {
+
+    @EmbeddedId
+    private ChaveFotoPerfil chave;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long tamanho;
+
+    @Column(nullable = false, length = 64)
+    private String hash;
+}
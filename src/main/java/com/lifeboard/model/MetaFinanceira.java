@@ -40,7 +40,12 @@ public class MetaFinanceira {
     @Column(nullable = false)
     private StatusMeta status;
 
-    @ManyToOne
+    // Controle de concorrência otimista: aplicações e resgates simultâneos na mesma meta não se sobrescrevem
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_financeiro", nullable = false)
     private Financeiro financeiro;
 }
@@ -0,0 +1,50 @@
+package com.lifeboard.model;
+
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "lb_resumos_mensais", uniqueConstraints = @UniqueConstraint(
+        name = "uk_resumo_mensal", columnNames = {"id_financeiro", "mes", "tipo", "categoria"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoMensal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lb_resumo_mensal_seq")
+    @SequenceGenerator(name = "lb_resumo_mensal_seq", sequenceName = "LB_RESUMO_MENSAL_SEQ", allocationSize = 50)
+    @Column(name = "id_resumo")
+    private Long id;
+
+    // Primeiro dia do mês de referência
+    @Column(nullable = false)
+    private LocalDate mes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 15)
+    private TipoTransacao tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private CategoriaTransacao categoria;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_financeiro", nullable = false)
+    private Financeiro financeiro;
+}
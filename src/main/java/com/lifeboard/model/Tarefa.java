@@ -43,7 +43,7 @@ public class Tarefa {
     @Column(name = "data_limite", nullable = false)
     private LocalDate dataLimite;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     private Usuario usuario;
 }
@@ -0,0 +1,41 @@
+package com.lifeboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Token de renovação (refresh token): só o SHA-256 do valor entregue ao cliente é gravado
+@Entity
+@Table(name = "lb_tokens_renovacao")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRenovacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lb_token_renovacao_seq")
+    @SequenceGenerator(name = "lb_token_renovacao_seq", sequenceName = "LB_TOKEN_RENOVACAO_SEQ", allocationSize = 1)
+    @Column(name = "id_token_renovacao")
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String hash;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(nullable = false)
+    private boolean revogado;
+}
@@ -13,7 +13,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "lb_transacoes")
+@Table(name = "lb_transacoes", indexes = {
+        @Index(name = "idx_transacao_fin_data", columnList = "id_financeiro, data, id_transacao"),
+        @Index(name = "idx_transacao_data", columnList = "data, id_transacao"),
+        @Index(name = "idx_transacao_meta", columnList = "id_meta")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -21,7 +25,7 @@ import java.time.LocalDateTime;
 public class Transacao {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lb_transacao_seq")
-    @SequenceGenerator(name = "lb_transacao_seq", sequenceName = "LB_TRANSACAO_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "lb_transacao_seq", sequenceName = "LB_TRANSACAO_SEQ", allocationSize = 50)
     @Column(name = "id_transacao")
     private Long id;
 
@@ -42,12 +46,26 @@ public class Transacao {
     @Column(length = 50)
     private CategoriaTransacao categoria;
 
-    @ManyToOne
+    @Column(name = "valor_sinalizado")
+    private BigDecimal valorSinalizado;
+
+    @Column(name = "saldo_apos")
+    private BigDecimal saldoApos;
+
+    // Lazy: as leituras só precisam do id do financeiro, resolvido pelo proxy sem consulta
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_financeiro", nullable = false)
     private Financeiro financeiro;
 
+    // Meta de origem das transações de APLICACAO e RESGATE; a descrição guarda o nome da meta na data do lançamento
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_meta")
+    private MetaFinanceira meta;
+
     @PrePersist
     protected void onCreate() {
-        this.data = LocalDateTime.now();
+        if (this.data == null) {
+            this.data = LocalDateTime.now();
+        }
     }
 }
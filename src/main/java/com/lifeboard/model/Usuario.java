@@ -3,6 +3,9 @@ package com.lifeboard.model;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,12 +15,24 @@ import java.util.List;
 
 @Entity
 @Table(name = "lb_usuarios")
+@NamedEntityGraph(name = Usuario.COM_FINANCEIRO, attributeNodes = @NamedAttributeNode("financeiro"))
+@NamedEntityGraph(name = Usuario.COM_FINANCEIRO_E_TAREFAS, attributeNodes = {
+        @NamedAttributeNode("financeiro"),
+        @NamedAttributeNode("tarefas")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Usuario.REGIAO_CACHE)
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Usuario implements UserDetails {
 
+    // Planos de carga: o financeiro (lado inverso do one-to-one) nunca é lazy, então é sempre buscado no mesmo SELECT
+    public static final String COM_FINANCEIRO = "Usuario.comFinanceiro";
+    public static final String COM_FINANCEIRO_E_TAREFAS = "Usuario.comFinanceiroETarefas";
+    public static final String REGIAO_CACHE = "usuario";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lb_usuario_seq")
     @SequenceGenerator(name = "lb_usuario_seq", sequenceName = "LB_USUARIO_SEQ", allocationSize = 1)
@@ -34,14 +49,12 @@ public class Usuario implements UserDetails {
     @Column(nullable = false, length = 100)
     private String senha;
 
-    @Lob
-    @Column(name = "foto_perfil")
-    private byte[] fotoPerfil;
-
     @OneToOne(mappedBy = "usuario", cascade = CascadeType.ALL)
     private Financeiro financeiro;
 
+    // Nas listagens, as tarefas da página inteira são carregadas em um único SELECT ... IN
     @OneToMany(mappedBy = "usuario", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Tarefa> tarefas;
 
     @Override
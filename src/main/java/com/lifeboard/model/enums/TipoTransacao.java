@@ -1,8 +1,23 @@
 package com.lifeboard.model.enums;
 
+import java.math.BigDecimal;
+
 public enum TipoTransacao {
     ENTRADA,
     SAIDA,
     APLICACAO,
-    RESGATE,
+    RESGATE;
+
+    // Efeito da transação no saldo do financeiro: ENTRADA e RESGATE creditam, SAIDA e APLICACAO debitam
+    public BigDecimal aplicarSinal(BigDecimal valor) {
+        return switch (this) {
+            case ENTRADA, RESGATE -> valor;
+            case SAIDA, APLICACAO -> valor.negate();
+        };
+    }
+
+    // Aplicações e resgates movimentam também o saldo de uma meta e só são lançados por ela
+    public boolean isMovimentoDeMeta() {
+        return this == APLICACAO || this == RESGATE;
+    }
 }
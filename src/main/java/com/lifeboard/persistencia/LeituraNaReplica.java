@@ -0,0 +1,17 @@
+package com.lifeboard.persistencia;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link SomenteLeitura} que pode ser atendida pela réplica. A réplica pode estar atrasada em relação ao primário,
+ * então a anotação fica só nas leituras que toleram não ver uma gravação recém-feita (listagens gerais e a
+ * exportação); o que o cliente lê logo depois de gravar, como os sub-recursos de um financeiro, continua no primário.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@SomenteLeitura
+public @interface LeituraNaReplica {
+}
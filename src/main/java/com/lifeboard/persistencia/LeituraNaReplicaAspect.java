@@ -0,0 +1,28 @@
+package com.lifeboard.persistencia;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Libera a réplica para a thread enquanto roda um método {@link LeituraNaReplica}. Fica por fora da transação, que
+ * só busca a conexão real no primeiro comando.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 3)
+public class LeituraNaReplicaAspect {
+
+    @Around("@annotation(com.lifeboard.persistencia.LeituraNaReplica)")
+    public Object permitirReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean anterior = RoteamentoDataSource.permitirReplica(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RoteamentoDataSource.permitirReplica(anterior);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.lifeboard.persistencia;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Envia para a réplica as conexões das transações somente leitura abertas por métodos {@link LeituraNaReplica} e
+ * todas as demais para o primário. Sem réplica, ou quando ela recusa a conexão, tudo vai para o primário.
+ * <p>
+ * Precisa ficar atrás de um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: o gerenciador
+ * de transações pede a conexão antes de marcar a transação como somente leitura, e o proxy adia a escolha para o
+ * primeiro comando SQL.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private static final Logger log = LoggerFactory.getLogger(RoteamentoDataSource.class);
+
+    // Marcada pelo LeituraNaReplicaAspect enquanto roda um método que tolera o atraso da réplica
+    private static final ThreadLocal<Boolean> REPLICA_PERMITIDA = ThreadLocal.withInitial(() -> false);
+
+    private final DataSource primario;
+    private final boolean possuiReplica;
+
+    private final LongAdder conexoesPrimario = new LongAdder();
+    private final LongAdder conexoesReplica = new LongAdder();
+    private final LongAdder falhasReplica = new LongAdder();
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica) {
+        this.primario = primario;
+        this.possuiReplica = replica != null;
+
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(Destino.PRIMARIO, primario);
+        if (replica != null) {
+            destinos.put(Destino.REPLICA, replica);
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return possuiReplica && REPLICA_PERMITIDA.get() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Destino.REPLICA
+                : Destino.PRIMARIO;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Destino.PRIMARIO) {
+            conexoesPrimario.increment();
+            return super.getConnection();
+        }
+
+        try {
+            var conexao = super.getConnection();
+            conexoesReplica.increment();
+            return conexao;
+        } catch (SQLException e) {
+            // A leitura fica mais cara no primário, mas não falha porque a réplica caiu
+            falhasReplica.increment();
+            log.warn("Réplica indisponível, leitura enviada ao primário: {}", e.getMessage());
+            conexoesPrimario.increment();
+            return primario.getConnection();
+        }
+    }
+
+    // Devolve o valor anterior, para quem marcou restaurá-lo ao sair
+    static boolean permitirReplica(boolean permitida) {
+        boolean anterior = REPLICA_PERMITIDA.get();
+        if (permitida) {
+            REPLICA_PERMITIDA.set(true);
+        } else {
+            REPLICA_PERMITIDA.remove();
+        }
+        return anterior;
+    }
+
+    public boolean isPossuiReplica() {
+        return possuiReplica;
+    }
+
+    public long getConexoesPrimario() {
+        return conexoesPrimario.sum();
+    }
+
+    public long getConexoesReplica() {
+        return conexoesReplica.sum();
+    }
+
+    public long getFalhasReplica() {
+        return falhasReplica.sum();
+    }
+}
@@ -0,0 +1,20 @@
+package com.lifeboard.persistencia;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Abre uma transação somente leitura: a sessão do Hibernate fica com flush manual e carrega as entidades em modo
+ * leitura, sem a cópia usada no dirty checking. A leitura vai ao primário, e por isso vê tudo o que já foi gravado;
+ * para ser atendida pela réplica, o método usa {@link LeituraNaReplica}.
+ * Dentro de uma transação de escrita já aberta, o método apenas participa dela.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Transactional(readOnly = true)
+public @interface SomenteLeitura {
+}
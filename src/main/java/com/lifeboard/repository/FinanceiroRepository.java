@@ -1,13 +1,65 @@
 package com.lifeboard.repository;
 
+import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
 import com.lifeboard.model.Financeiro;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Optional;
+
 @Repository
 public interface FinanceiroRepository extends JpaRepository<Financeiro, Long> {
 
     Page<Financeiro> findAllByOrderByIdAsc(Pageable pageable);
+
+    @Query(value = """
+            select new com.lifeboard.dto.financeiro.FinanceiroResponseDTO(
+                f.id, f.saldoAtual, f.salarioMensal, f.usuario.id,
+                (select count(t) from Transacao t where t.financeiro = f),
+                (select count(m) from MetaFinanceira m where m.financeiro = f))
+            from Financeiro f
+            """,
+            countQuery = "select count(f) from Financeiro f")
+    Page<FinanceiroResponseDTO> listarResumos(Pageable pageable);
+
+    @Query("""
+            select new com.lifeboard.dto.financeiro.FinanceiroResponseDTO(
+                f.id, f.saldoAtual, f.salarioMensal, f.usuario.id,
+                (select count(t) from Transacao t where t.financeiro = f),
+                (select count(m) from MetaFinanceira m where m.financeiro = f))
+            from Financeiro f
+            where f.id = :id
+            """)
+    Optional<FinanceiroResponseDTO> buscarResumoPorId(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Financeiro f set f.saldoAtual = f.saldoAtual + :valor, f.versao = f.versao + 1 where f.id = :id")
+    int creditarSaldo(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Financeiro f set f.saldoAtual = f.saldoAtual - :valor, f.versao = f.versao + 1
+            where f.id = :id and f.saldoAtual >= :valor
+            """)
+    int debitarSaldo(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    @Query("select f.saldoAtual from Financeiro f where f.id = :id")
+    Optional<BigDecimal> buscarSaldoAtual(@Param("id") Long id);
+
+    @EntityGraph(Financeiro.COM_METAS)
+    @Query("select f from Financeiro f where f.id = :id")
+    Optional<Financeiro> buscarComMetas(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Financeiro f where f.id = :id")
+    Optional<Financeiro> buscarComBloqueio(@Param("id") Long id);
 }
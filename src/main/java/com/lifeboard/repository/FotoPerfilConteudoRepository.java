@@ -0,0 +1,10 @@
+package com.lifeboard.repository;
+
+import com.lifeboard.model.ChaveFotoPerfil;
+import com.lifeboard.model.FotoPerfilConteudo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FotoPerfilConteudoRepository extends JpaRepository<FotoPerfilConteudo, ChaveFotoPerfil> {
+}
@@ -0,0 +1,9 @@
+package com.lifeboard.repository;
+
+import com.lifeboard.model.FotoPerfil;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FotoPerfilRepository extends JpaRepository<FotoPerfil, Long> {
+}
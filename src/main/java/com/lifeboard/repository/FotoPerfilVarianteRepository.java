@@ -0,0 +1,26 @@
+package com.lifeboard.repository;
+
+import com.lifeboard.model.ChaveFotoPerfil;
+import com.lifeboard.model.FotoPerfilVariante;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FotoPerfilVarianteRepository extends JpaRepository<FotoPerfilVariante, ChaveFotoPerfil> {
+
+    List<FotoPerfilVariante> findByChaveIdUsuario(Long idUsuario);
+
+    // Menor variante que cobre a dimensão pedida sem precisar ser ampliada no cliente
+    Optional<FotoPerfilVariante> findFirstByChaveIdUsuarioAndChaveDimensaoGreaterThanEqualOrderByChaveDimensaoAsc(
+            Long idUsuario, Integer dimensao);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from FotoPerfilVariante v where v.chave.idUsuario = :idUsuario")
+    int deletarDoUsuario(@Param("idUsuario") Long idUsuario);
+}
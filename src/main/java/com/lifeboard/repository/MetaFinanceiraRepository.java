@@ -1,12 +1,16 @@
 package com.lifeboard.repository;
 
-import com.lifeboard.model.Financeiro;
+import com.lifeboard.dto.meta.ReferenciaMeta;
 import com.lifeboard.model.MetaFinanceira;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 @Repository
@@ -14,5 +18,37 @@ public interface MetaFinanceiraRepository extends JpaRepository<MetaFinanceira,
 
     Page<MetaFinanceira> findAllByOrderByIdAsc(Pageable pageable);
 
-    Optional<MetaFinanceira> findByFinanceiroAndNome(Financeiro financeiro, String nome);
+    Page<MetaFinanceira> findByFinanceiroId(Long idFinanceiro, Pageable pageable);
+
+    @Query("""
+            select new com.lifeboard.dto.meta.ReferenciaMeta(m.id, m.financeiro.id, m.nome, m.valorAtual)
+            from MetaFinanceira m
+            where m.id = :id
+            """)
+    Optional<ReferenciaMeta> buscarReferencia(@Param("id") Long id);
+
+    // O status é recalculado no mesmo UPDATE; no SET, m.valorAtual ainda é o valor anterior à alteração
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update MetaFinanceira m
+            set m.valorAtual = m.valorAtual + :valor,
+                m.status = case when m.valorAtual + :valor >= m.valorMeta
+                                then com.lifeboard.model.enums.StatusMeta.CONCLUIDA
+                                else com.lifeboard.model.enums.StatusMeta.EM_ANDAMENTO end,
+                m.versao = m.versao + 1
+            where m.id = :id
+            """)
+    int aplicarSaldo(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update MetaFinanceira m
+            set m.valorAtual = m.valorAtual - :valor,
+                m.status = case when m.valorAtual - :valor >= m.valorMeta
+                                then com.lifeboard.model.enums.StatusMeta.CONCLUIDA
+                                else com.lifeboard.model.enums.StatusMeta.EM_ANDAMENTO end,
+                m.versao = m.versao + 1
+            where m.id = :id and m.valorAtual >= :valor
+            """)
+    int resgatarSaldo(@Param("id") Long id, @Param("valor") BigDecimal valor);
 }
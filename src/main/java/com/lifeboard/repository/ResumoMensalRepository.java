@@ -0,0 +1,44 @@
+package com.lifeboard.repository;
+
+import com.lifeboard.model.ResumoMensal;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update ResumoMensal r
+            set r.total = r.total + :valor, r.quantidade = r.quantidade + :quantidade
+            where r.financeiro.id = :idFinanceiro and r.mes = :mes and r.tipo = :tipo and r.categoria = :categoria
+            """)
+    int acumular(@Param("idFinanceiro") Long idFinanceiro, @Param("mes") LocalDate mes, @Param("tipo") TipoTransacao tipo,
+                 @Param("categoria") CategoriaTransacao categoria, @Param("valor") BigDecimal valor, @Param("quantidade") long quantidade);
+
+    @Modifying
+    @Query("""
+            delete from ResumoMensal r
+            where r.financeiro.id = :idFinanceiro and r.mes = :mes and r.tipo = :tipo and r.categoria = :categoria
+              and r.quantidade <= 0
+            """)
+    int removerSeVazio(@Param("idFinanceiro") Long idFinanceiro, @Param("mes") LocalDate mes, @Param("tipo") TipoTransacao tipo,
+                       @Param("categoria") CategoriaTransacao categoria);
+
+    @Query("""
+            select r from ResumoMensal r
+            where r.financeiro.id = :idFinanceiro and r.mes between :inicio and :fim
+            order by r.mes, r.tipo, r.categoria
+            """)
+    List<ResumoMensal> buscarPorPeriodo(@Param("idFinanceiro") Long idFinanceiro, @Param("inicio") LocalDate inicio,
+                                        @Param("fim") LocalDate fim);
+}
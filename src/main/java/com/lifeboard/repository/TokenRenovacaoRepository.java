@@ -0,0 +1,39 @@
+package com.lifeboard.repository;
+
+import com.lifeboard.model.TokenRenovacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface TokenRenovacaoRepository extends JpaRepository<TokenRenovacao, Long> {
+
+    @Query("select t from TokenRenovacao t join fetch t.usuario where t.hash = :hash")
+    Optional<TokenRenovacao> buscarPorHash(@Param("hash") String hash);
+
+    // Condicional: entre duas renovações simultâneas com o mesmo token, só uma revoga e segue
+    @Modifying
+    @Query("update TokenRenovacao t set t.revogado = true where t.id = :id and t.revogado = false")
+    int revogarSeAtivo(@Param("id") Long id);
+
+    @Modifying
+    @Query("update TokenRenovacao t set t.revogado = true where t.hash = :hash")
+    int revogarPorHash(@Param("hash") String hash);
+
+    @Modifying
+    @Query("update TokenRenovacao t set t.revogado = true where t.usuario.id = :usuarioId and t.revogado = false")
+    int revogarTodosDoUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("delete from TokenRenovacao t where t.usuario.id = :usuarioId and t.expiraEm < :agora")
+    int deletarExpiradosDoUsuario(@Param("usuarioId") Long usuarioId, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("delete from TokenRenovacao t where t.usuario.id = :usuarioId")
+    int deletarDoUsuario(@Param("usuarioId") Long usuarioId);
+}
@@ -1,18 +1,84 @@
 package com.lifeboard.repository;
 
-import com.lifeboard.model.Financeiro;
+import com.lifeboard.dto.resumo.TotalMensalTransacao;
 import com.lifeboard.model.Transacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
+public interface TransacaoRepository extends JpaRepository<Transacao, Long>, JpaSpecificationExecutor<Transacao> {
+
+    int TAMANHO_LOTE_EXPORTACAO = 500;
 
     Page<Transacao> findAllByOrderByIdAsc(Pageable pageable);
 
-    List<Transacao> findByFinanceiro(Financeiro financeiro);
+    @Query("""
+            select new com.lifeboard.dto.resumo.TotalMensalTransacao(
+                extract(year from t.data), extract(month from t.data), t.tipo, t.categoria, sum(t.valor), count(t))
+            from Transacao t
+            where t.meta.id = :idMeta
+            group by extract(year from t.data), extract(month from t.data), t.tipo, t.categoria
+            """)
+    List<TotalMensalTransacao> totalizarPorMeta(@Param("idMeta") Long idMeta);
+
+    // Saldo corrido: editar ou remover um lançamento desloca o saldo_apos dele e de todos os posteriores da conta,
+    // na mesma ordem (data, id) do índice idx_transacao_fin_data
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Transacao t set t.saldoApos = t.saldoApos + :diferenca
+            where t.financeiro.id = :idFinanceiro and (t.data > :data or (t.data = :data and t.id >= :id))
+            """)
+    int deslocarSaldoApos(@Param("idFinanceiro") Long idFinanceiro, @Param("data") LocalDateTime data,
+                          @Param("id") Long id, @Param("diferenca") BigDecimal diferenca);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Transacao t where t.meta.id = :idMeta")
+    int deletarDaMeta(@Param("idMeta") Long idMeta);
+
+    // Consultas da paginação por cursor: sem OFFSET e sem count(*), o custo não cresce com a profundidade da página.
+    // O "data <= :data" delimita a faixa do índice e o id do financeiro no order by permite ler o índice já ordenado.
+    @Query("select t from Transacao t order by t.data desc, t.id desc")
+    List<Transacao> buscarPrimeiraPagina(Limit limite);
+
+    @Query("""
+            select t from Transacao t
+            where t.data <= :data and (t.data < :data or t.id < :id)
+            order by t.data desc, t.id desc
+            """)
+    List<Transacao> buscarPaginaAposCursor(@Param("data") LocalDateTime data, @Param("id") Long id, Limit limite);
+
+    @Query("select t from Transacao t where t.financeiro.id = :idFinanceiro order by t.financeiro.id desc, t.data desc, t.id desc")
+    List<Transacao> buscarPrimeiraPaginaDoFinanceiro(@Param("idFinanceiro") Long idFinanceiro, Limit limite);
+
+    @Query("""
+            select t from Transacao t
+            where t.financeiro.id = :idFinanceiro
+              and t.data <= :data and (t.data < :data or t.id < :id)
+            order by t.financeiro.id desc, t.data desc, t.id desc
+            """)
+    List<Transacao> buscarPaginaDoFinanceiroAposCursor(@Param("idFinanceiro") Long idFinanceiro, @Param("data") LocalDateTime data,
+                                                       @Param("id") Long id, Limit limite);
+
+    // Exportação: cursor forward-only que traz TAMANHO_LOTE_EXPORTACAO linhas por ida ao banco, sem snapshot das entidades
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TAMANHO_LOTE_EXPORTACAO),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Transacao t where t.financeiro.id = :idFinanceiro order by t.financeiro.id, t.data, t.id")
+    Stream<Transacao> exportarDoFinanceiro(@Param("idFinanceiro") Long idFinanceiro);
 }
@@ -1,16 +1,36 @@
 package com.lifeboard.repository;
 
+import com.lifeboard.config.CacheSegundoNivelConfiguration;
 import com.lifeboard.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
+    @EntityGraph(Usuario.COM_FINANCEIRO)
     Page<Usuario> findAllByOrderByIdAsc(Pageable pageable);
 
+    // Consulta do login e da autenticação: resultado no cache de consultas, invalidado a cada escrita em lb_usuarios
+    @EntityGraph(Usuario.COM_FINANCEIRO)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheSegundoNivelConfiguration.USUARIO_POR_EMAIL)
+    })
     UserDetails findByEmail(String email);
+
+    @EntityGraph(Usuario.COM_FINANCEIRO_E_TAREFAS)
+    @Query("select u from Usuario u where u.id = :id")
+    Optional<Usuario> buscarComFinanceiroETarefas(@Param("id") Long id);
 }
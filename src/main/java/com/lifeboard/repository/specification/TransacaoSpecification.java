@@ -0,0 +1,57 @@
+package com.lifeboard.repository.specification;
+
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
+import com.lifeboard.model.Transacao;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+// Predicados da consulta filtrada de transações. O financeiro e o período formam a faixa do
+// índice (id_financeiro, data, id_transacao); tipo e categoria são aplicados sobre essa faixa.
+public class TransacaoSpecification {
+
+    public static Specification<Transacao> filtrar(Long idFinanceiro, FiltroTransacaoDTO filtro) {
+        return Specification.allOf(
+                doFinanceiro(idFinanceiro),
+                aPartirDe(filtro.dataInicio()),
+                ate(filtro.dataFim()),
+                doTipo(filtro.tipo()),
+                daCategoria(filtro.categoria())
+        );
+    }
+
+    public static Specification<Transacao> doFinanceiro(Long idFinanceiro) {
+        return (root, query, cb) -> cb.equal(root.get("financeiro").get("id"), idFinanceiro);
+    }
+
+    public static Specification<Transacao> aPartirDe(LocalDate dataInicio) {
+        if (dataInicio == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("data"), dataInicio.atStartOfDay());
+    }
+
+    // Data fim inclusiva: considera o dia inteiro
+    public static Specification<Transacao> ate(LocalDate dataFim) {
+        if (dataFim == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("data"), dataFim.plusDays(1).atStartOfDay());
+    }
+
+    public static Specification<Transacao> doTipo(TipoTransacao tipo) {
+        if (tipo == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("tipo"), tipo);
+    }
+
+    public static Specification<Transacao> daCategoria(CategoriaTransacao categoria) {
+        if (categoria == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("categoria"), categoria);
+    }
+}
@@ -0,0 +1,140 @@
+package com.lifeboard.security;
+
+import com.lifeboard.exception.ServicoIndisponivelException;
+import com.lifeboard.metricas.ContadorComandosSql;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PasswordEncoder} BCrypt que executa cada hash em um pool próprio de threads, com fila limitada.
+ * Picos de login ocupam no máximo {@code threads} núcleos; com a fila cheia, a requisição é recusada com
+ * {@link ServicoIndisponivelException} (503) em vez de enfileirar sem limite e derrubar os demais endpoints.
+ */
+public class CodificadorSenhas implements PasswordEncoder, AutoCloseable {
+
+    public static final int CUSTO_MAXIMO = 16;
+
+    private static final Logger log = LoggerFactory.getLogger(CodificadorSenhas.class);
+
+    private final PasswordEncoder delegado;
+    private final int custo;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejeitadas = new LongAdder();
+
+    public CodificadorSenhas(int custo, int threads, int fila) {
+        this(new BCryptPasswordEncoder(custo), custo, threads, fila);
+    }
+
+    CodificadorSenhas(PasswordEncoder delegado, int custo, int threads, int fila) {
+        this.delegado = delegado;
+        this.custo = custo;
+        // Hash é trabalho de CPU: threads de plataforma, em número fixo
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                Thread.ofPlatform().name("hash-senha-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Maior custo cujo hash, nesta máquina, cabe no tempo-alvo, nunca abaixo de {@code custoMinimo}.
+     * Mede apenas o custo mínimo: cada unidade a mais dobra o número de rodadas do BCrypt.
+     */
+    public static int calibrar(Duration tempoAlvo, int custoMinimo) {
+        var codificador = new BCryptPasswordEncoder(custoMinimo);
+        codificador.encode("aquecimento");
+
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long inicio = System.nanoTime();
+            codificador.encode("calibracao");
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+
+        int custo = custoMinimo;
+        long estimado = melhor;
+        while (custo < CUSTO_MAXIMO && estimado * 2 <= tempoAlvo.toNanos()) {
+            custo++;
+            estimado *= 2;
+        }
+
+        if (melhor > tempoAlvo.toNanos()) {
+            log.warn("O hash com o custo mínimo {} levou {} ms, acima do alvo de {} ms", custoMinimo,
+                    TimeUnit.NANOSECONDS.toMillis(melhor), tempoAlvo.toMillis());
+        }
+        log.info("Custo do BCrypt calibrado em {} (~{} ms por hash, alvo de {} ms)", custo,
+                TimeUnit.NANOSECONDS.toMillis(estimado), tempoAlvo.toMillis());
+        return custo;
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> delegado.encode(senha));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> delegado.matches(senha, hash));
+    }
+
+    // Hashes gravados com custo menor que o atual são refeitos no próximo login (UserDetailsPasswordService)
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        return delegado.upgradeEncoding(hash);
+    }
+
+    public int getCusto() {
+        return custo;
+    }
+
+    public int getNaFila() {
+        return executor.getQueue().size();
+    }
+
+    public int getEmExecucao() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(ContadorComandosSql.propagar(tarefa));
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new ServicoIndisponivelException("Muitas autenticações simultâneas. Tente novamente em instantes.");
+        }
+
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha ao calcular o hash da senha", e.getCause());
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.lifeboard.security;
 
+import com.lifeboard.metricas.MetricasSqlPorRequisicaoFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,14 +13,13 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -34,9 +37,13 @@ public class SecurityConfigurations {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                        // O despacho que encerra uma resposta assíncrona (exportações) já foi autorizado na requisição original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/refresh", "/auth/logout").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/usuarios").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
+                        // Actuator só responde na porta de gerenciamento (management.server.port), fora do acesso público
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class);
@@ -53,6 +60,8 @@ public class SecurityConfigurations {
         ));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(MetricasSqlPorRequisicaoFilter.CABECALHO_COMANDOS,
+                MetricasSqlPorRequisicaoFilter.CABECALHO_TEMPO));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -65,8 +74,20 @@ public class SecurityConfigurations {
         return configuration.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // Sem api.security.senha.custo, o custo do BCrypt é calibrado na subida para o tempo-alvo de um hash
+    @Bean(destroyMethod = "close")
+    public CodificadorSenhas passwordEncoder(@Value("${api.security.senha.custo:0}") int custo,
+                                             @Value("${api.security.senha.tempo-alvo:250ms}") Duration tempoAlvo,
+                                             @Value("${api.security.senha.custo-minimo:10}") int custoMinimo,
+                                             @Value("${api.security.senha.threads:0}") int threads,
+                                             @Value("${api.security.senha.fila:50}") int fila) {
+        if (custo <= 0) {
+            custo = CodificadorSenhas.calibrar(tempoAlvo, custoMinimo);
+        }
+        if (threads <= 0) {
+            // Metade dos núcleos: um pico de logins não deixa os demais endpoints sem CPU
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        return new CodificadorSenhas(custo, threads, fila);
     }
 }
@@ -7,12 +7,15 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
@@ -23,15 +26,29 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UsuarioRepository repository;
 
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    @Value("${api.security.principal-do-token:false}")
+    private boolean principalDoToken;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var tokenJWT = recuperarToken(request);
         if (tokenJWT != null) {
-            var subject = tokenService.getSubject(tokenJWT);
-            var usuario = repository.findByEmail(subject);
+            var token = tokenService.validar(tokenJWT);
 
-            var authentication = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Tokens emitidos antes da claim de perfis continuam passando pelo banco
+            if (principalDoToken && token.perfis() != null) {
+                var usuario = new UsuarioAutenticado(token.id(), token.subject(), token.perfis());
+                autenticar(usuario, usuario.getAuthorities());
+            } else {
+                var usuario = usuarioAutenticadoCache.buscar(token.subject(), repository::findByEmail);
+
+                if (usuario != null) {
+                    autenticar(usuario, usuario.getAuthorities());
+                }
+            }
         }
 
 
@@ -39,6 +56,11 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     }
 
+    private void autenticar(Object principal, Collection<? extends GrantedAuthority> perfis) {
+        var authentication = new UsernamePasswordAuthenticationToken(principal, null, perfis);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
     private String recuperarToken(HttpServletRequest request) {
         var authorizationHeader = request.getHeader("Authorization");
 
@@ -0,0 +1,25 @@
+package com.lifeboard.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal montado só com as claims do token JWT ({@code api.security.principal-do-token=true}), sem consultar
+ * o banco. Vale até a expiração do token de acesso; por isso o modo combina com tokens de curta duração.
+ */
+public record UsuarioAutenticado(Long id, String email, List<String> perfis) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return perfis.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
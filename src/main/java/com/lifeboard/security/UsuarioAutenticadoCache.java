@@ -0,0 +1,84 @@
+package com.lifeboard.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache limitado dos usuários autenticados, indexado pelo subject (e-mail) do token JWT.
+ * Evita a consulta ao banco a cada requisição feita pelo {@link SecurityFilter}.
+ */
+@Component
+public class UsuarioAutenticadoCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public UsuarioAutenticadoCache(@Value("${api.security.principal-cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                                   @Value("${api.security.principal-cache.expiracao:10m}") Duration expiracao) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+    }
+
+    // A consulta ao banco roda fora do cache.get(email, carregador): o carregador executaria dentro de um bloco
+    // synchronized do ConcurrentHashMap e, em threads virtuais, prenderia a thread portadora durante todo o I/O.
+    // Em uma falha simultânea para o mesmo e-mail o usuário pode ser carregado mais de uma vez.
+    public UserDetails buscar(String email, Function<String, UserDetails> carregador) {
+        UserDetails usuario = cache.getIfPresent(email);
+        if (usuario == null) {
+            usuario = carregador.apply(email);
+            if (usuario != null) {
+                cache.put(email, usuario);
+            }
+        }
+        return usuario;
+    }
+
+    // Dentro de uma transação a remoção espera o commit: removida antes, uma requisição concorrente recarregaria a
+    // linha antiga (e-mail, perfis, hash ou um usuário sendo excluído) e a guardaria por toda a expiração
+    public void invalidar(String email) {
+        if (email == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        } else {
+            cache.invalidate(email);
+        }
+    }
+
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+
+    public long getAcertos() {
+        return cache.stats().hitCount();
+    }
+
+    public long getFalhas() {
+        return cache.stats().missCount();
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+}
@@ -1,21 +1,42 @@
 package com.lifeboard.service;
 
+import com.lifeboard.model.Usuario;
 import com.lifeboard.repository.UsuarioRepository;
+import com.lifeboard.security.UsuarioAutenticadoCache;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AutenticacaoService implements UserDetailsService {
+public class AutenticacaoService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UsuarioRepository repository;
 
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return repository.findByEmail(username);
     }
+
+    // Chamado pelo Spring Security após um login válido cujo hash foi gravado com custo menor que o atual
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Long id = ((Usuario) user).getId();
+        var usuario = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário com id: " + id + " não encontrado"));
+
+        usuario.setSenha(newPassword);
+        usuarioAutenticadoCache.invalidar(usuario.getEmail());
+        return usuario;
+    }
 }
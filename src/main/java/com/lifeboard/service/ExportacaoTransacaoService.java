@@ -0,0 +1,136 @@
+package com.lifeboard.service;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.dto.transacao.FormatoExportacao;
+import com.lifeboard.dto.transacao.TransacaoResponseDTO;
+import com.lifeboard.exception.ServicoIndisponivelException;
+import com.lifeboard.mapper.TransacaoMapper;
+import com.lifeboard.model.Transacao;
+import com.lifeboard.persistencia.LeituraNaReplica;
+import com.lifeboard.repository.TransacaoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class ExportacaoTransacaoService {
+
+    // Mesmas colunas do TransacaoResponseDTO; o arquivo pode ser importado de volta em /api/transacoes/importacao
+    private static final String CABECALHO_CSV = "id_transacao,descricao,valor,tipo,data,categoria,id_financeiro";
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private FinanceiroService financeiroService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Cada exportação prende uma conexão do pool enquanto durar
+    @Value("${api.exportacao.simultaneas:2}")
+    private int maximoSimultaneas;
+
+    private Semaphore exportacoes;
+
+    @PostConstruct
+    public void inicializar() {
+        exportacoes = new Semaphore(maximoSimultaneas);
+    }
+
+    // Roda na thread da requisição: o 404 e o 503 saem antes de a resposta começar a ser enviada
+    public Reserva reservar(Long idFinanceiro) {
+        financeiroService.validarExistencia(idFinanceiro);
+
+        if (!exportacoes.tryAcquire()) {
+            throw new ServicoIndisponivelException("Muitas exportações em andamento. Tente novamente em instantes.");
+        }
+        return new Reserva();
+    }
+
+    // Percorre o cursor uma linha por vez; a cada lote, descarrega a saída e limpa o contexto de persistência,
+    // então a memória usada não depende do tamanho do histórico
+    @LeituraNaReplica
+    public long exportar(Long idFinanceiro, FormatoExportacao formato, OutputStream saida) throws IOException {
+        var escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+        var escritorJson = objectMapper.writerFor(TransacaoResponseDTO.class);
+        long linhas = 0;
+
+        if (formato == FormatoExportacao.CSV) {
+            escritor.write(CABECALHO_CSV);
+            escritor.write('\n');
+        }
+
+        try (var transacoes = transacaoRepository.exportarDoFinanceiro(idFinanceiro)) {
+            var iterador = transacoes.iterator();
+            while (iterador.hasNext()) {
+                escrever(iterador.next(), formato, escritor, escritorJson);
+
+                if (++linhas % TransacaoRepository.TAMANHO_LOTE_EXPORTACAO == 0) {
+                    escritor.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        escritor.flush();
+        return linhas;
+    }
+
+    private static void escrever(Transacao transacao, FormatoExportacao formato, Writer escritor,
+                                 ObjectWriter escritorJson) throws IOException {
+        if (formato == FormatoExportacao.NDJSON) {
+            escritor.write(escritorJson.writeValueAsString(TransacaoMapper.toDTO(transacao)));
+        } else {
+            escritor.write(String.valueOf(transacao.getId()));
+            escritor.write(',');
+            escritor.write(campoCsv(transacao.getDescricao()));
+            escritor.write(',');
+            escritor.write(transacao.getValor().toPlainString());
+            escritor.write(',');
+            escritor.write(transacao.getTipo().name());
+            escritor.write(',');
+            escritor.write(transacao.getData().toString());
+            escritor.write(',');
+            escritor.write(transacao.getCategoria() != null ? transacao.getCategoria().name() : "");
+            escritor.write(',');
+            escritor.write(String.valueOf(transacao.getFinanceiro().getId()));
+        }
+        escritor.write('\n');
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    public class Reserva implements AutoCloseable {
+
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        @Override
+        public void close() {
+            if (liberada.compareAndSet(false, true)) {
+                exportacoes.release();
+            }
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.lifeboard.service;
 
+import com.lifeboard.concorrencia.RepetirEmConflito;
 import com.lifeboard.dto.financeiro.FinanceiroRequestDTO;
 import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
+import com.lifeboard.exception.BadRequestException;
 import com.lifeboard.mapper.FinanceiroMapper;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.Usuario;
+import com.lifeboard.persistencia.LeituraNaReplica;
+import com.lifeboard.persistencia.SomenteLeitura;
 import com.lifeboard.repository.FinanceiroRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -13,6 +17,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+
 @Service
 public class FinanceiroService {
 
@@ -22,15 +28,15 @@ public class FinanceiroService {
     @Autowired
     private UsuarioService usuarioService;
 
+    @LeituraNaReplica
     public Page<FinanceiroResponseDTO> listarTodos(Pageable pageable) {
-        return repository.findAllByOrderByIdAsc(pageable)
-                .map(FinanceiroMapper::toDTO);
+        return repository.listarResumos(pageable);
     }
 
+    @SomenteLeitura
     public FinanceiroResponseDTO buscarDTOPorId(Long id) {
-        var financeiro = buscarEntidadePorId(id);
-
-        return FinanceiroMapper.toDTO(financeiro);
+        return repository.buscarResumoPorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("Financeiro com id: " + id + " não encontrado"));
     }
 
     @Transactional
@@ -41,6 +47,7 @@ public class FinanceiroService {
         return FinanceiroMapper.toDTO(financeiroSalvo);
     }
 
+    @RepetirEmConflito
     @Transactional
     public FinanceiroResponseDTO atualizar(Long id, FinanceiroRequestDTO financeiroDTO) {
         var financeiroExistente = buscarEntidadePorId(id);
@@ -56,9 +63,12 @@ public class FinanceiroService {
         return FinanceiroMapper.toDTO(financeiroAtualizado);
     }
 
+    @RepetirEmConflito
     @Transactional
     public void deletar(Long id) {
-        var financeiro = buscarEntidadePorId(id);
+        // As metas vêm no mesmo SELECT; transações e resumos, por serem outras listas, em um SELECT cada
+        var financeiro = repository.buscarComMetas(id)
+                .orElseThrow(() -> new EntityNotFoundException("Financeiro com id: " + id + " não encontrado"));
 
         // Quebra o vínculo com o usuário
         Usuario usuario = financeiro.getUsuario();
@@ -72,6 +82,42 @@ public class FinanceiroService {
         repository.delete(financeiro);
     }
 
+    // Atualização atômica do saldo: um único UPDATE condicional (débitos exigem saldo suficiente)
+    // seguido da leitura do saldo resultante, sem carregar o agregado do financeiro
+    @Transactional
+    public BigDecimal movimentarSaldo(Long id, BigDecimal valor, String mensagemSaldoInsuficiente) {
+        int linhasAtualizadas = valor.signum() < 0
+                ? repository.debitarSaldo(id, valor.negate())
+                : repository.creditarSaldo(id, valor);
+
+        if (linhasAtualizadas == 0) {
+            if (!repository.existsById(id)) {
+                throw new EntityNotFoundException("Financeiro com id: " + id + " não encontrado");
+            }
+            throw new BadRequestException(mensagemSaldoInsuficiente);
+        }
+
+        return repository.buscarSaldoAtual(id)
+                .orElseThrow(() -> new EntityNotFoundException("Financeiro com id: " + id + " não encontrado"));
+    }
+
+    // Lock da linha do financeiro sem movimentar o saldo: serializa os lançamentos da conta como movimentarSaldo
+    @Transactional
+    public void bloquear(Long id) {
+        repository.buscarComBloqueio(id)
+                .orElseThrow(() -> new EntityNotFoundException("Financeiro com id: " + id + " não encontrado"));
+    }
+
+    public void validarExistencia(Long id) {
+        if (!repository.existsById(id)) {
+            throw new EntityNotFoundException("Financeiro com id: " + id + " não encontrado");
+        }
+    }
+
+    public Financeiro buscarReferenciaPorId(Long id) {
+        return repository.getReferenceById(id);
+    }
+
     public Financeiro buscarEntidadePorId(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Financeiro com id: " + id + " não encontrado"));
@@ -84,5 +130,8 @@ public class FinanceiroService {
         if (financeiro.getMetas() != null) {
             financeiro.getMetas().clear();
         }
+        if (financeiro.getResumosMensais() != null) {
+            financeiro.getResumosMensais().clear();
+        }
     }
 }
@@ -0,0 +1,157 @@
+package com.lifeboard.service;
+
+import com.lifeboard.armazenamento.ArmazenamentoFotoPerfil;
+import com.lifeboard.armazenamento.CacheVariantesFotoPerfil;
+import com.lifeboard.armazenamento.GeradorVariantesFotoPerfil;
+import com.lifeboard.dto.usuario.ArquivoFotoPerfil;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.model.ChaveFotoPerfil;
+import com.lifeboard.model.FotoPerfil;
+import com.lifeboard.model.FotoPerfilVariante;
+import com.lifeboard.repository.FotoPerfilRepository;
+import com.lifeboard.repository.FotoPerfilVarianteRepository;
+import com.lifeboard.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Service
+public class FotoPerfilService {
+
+    @Autowired
+    private FotoPerfilRepository fotoPerfilRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private FotoPerfilVarianteRepository fotoPerfilVarianteRepository;
+
+    @Autowired
+    private ArmazenamentoFotoPerfil armazenamento;
+
+    @Autowired
+    private GeradorVariantesFotoPerfil geradorVariantes;
+
+    @Autowired
+    private CacheVariantesFotoPerfil cacheVariantes;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(rollbackOn = IOException.class)
+    public FotoPerfil salvar(Long idUsuario, MultipartFile file) throws IOException {
+        validarUsuario(idUsuario);
+
+        if (file.isEmpty()) {
+            throw new BadRequestException("A foto de perfil não pode estar vazia.");
+        }
+
+        String contentType = file.getContentType() != null ? file.getContentType() : MediaType.IMAGE_PNG_VALUE;
+        if (!contentType.startsWith("image/")) {
+            throw new BadRequestException("A foto de perfil deve ser uma imagem.");
+        }
+
+        byte[] conteudo = file.getBytes();
+        var variantes = geradorVariantes.gerar(conteudo);
+
+        removerVariantes(idUsuario);
+        armazenamento.gravar(new ChaveFotoPerfil(idUsuario, ChaveFotoPerfil.ORIGINAL), conteudo);
+        for (var variante : variantes) {
+            var chave = new ChaveFotoPerfil(idUsuario, variante.dimensao());
+            armazenamento.gravar(chave, variante.conteudo());
+            fotoPerfilVarianteRepository.save(new FotoPerfilVariante(chave, variante.contentType(),
+                    (long) variante.conteudo().length, calcularHash(variante.conteudo())));
+        }
+
+        FotoPerfil foto = fotoPerfilRepository.findById(idUsuario).orElseGet(FotoPerfil::new);
+        foto.setIdUsuario(idUsuario);
+        foto.setContentType(contentType);
+        foto.setTamanho((long) conteudo.length);
+        foto.setHash(calcularHash(conteudo));
+        foto.setAtualizadaEm(LocalDateTime.now());
+
+        return fotoPerfilRepository.save(foto);
+    }
+
+    // Consulta só a tabela de metadados: é o que basta para responder 304
+    public FotoPerfil buscarMetadados(Long idUsuario) {
+        return fotoPerfilRepository.findById(idUsuario)
+                .orElseThrow(() -> new EntityNotFoundException("Foto de perfil do usuário com id: " + idUsuario + " não encontrada"));
+    }
+
+    // Sem dimensão pedida, ou quando nenhuma variante cobre a dimensão, serve a original.
+    // As variantes passam pelo cache em memória; a original, que pode ser grande, vem sempre do armazenamento.
+    public ArquivoFotoPerfil buscar(Long idUsuario, Integer dimensao) {
+        if (dimensao != null && dimensao <= 0) {
+            throw new BadRequestException("O tamanho da foto deve ser maior que zero.");
+        }
+
+        FotoPerfil foto = buscarMetadados(idUsuario);
+        var variante = dimensao == null ? Optional.<FotoPerfilVariante>empty()
+                : fotoPerfilVarianteRepository.findFirstByChaveIdUsuarioAndChaveDimensaoGreaterThanEqualOrderByChaveDimensaoAsc(idUsuario, dimensao);
+
+        if (variante.isEmpty()) {
+            var conteudo = armazenamento.abrir(new ChaveFotoPerfil(idUsuario, ChaveFotoPerfil.ORIGINAL), foto.getTamanho());
+            return new ArquivoFotoPerfil(foto.getContentType(), foto.getHash(), foto.getAtualizadaEm(), conteudo);
+        }
+
+        var v = variante.get();
+        var conteudo = cacheVariantes.abrir(idUsuario, v.getChave().getDimensao(), v.getHash(),
+                armazenamento.abrir(v.getChave(), v.getTamanho()));
+        return new ArquivoFotoPerfil(v.getContentType(), v.getHash(), foto.getAtualizadaEm(), conteudo);
+    }
+
+    @Transactional(rollbackOn = IOException.class)
+    public void remover(Long idUsuario) throws IOException {
+        validarUsuario(idUsuario);
+        removerSeExistir(idUsuario);
+    }
+
+    public void removerSeExistir(Long idUsuario) throws IOException {
+        removerVariantes(idUsuario);
+        if (fotoPerfilRepository.existsById(idUsuario)) {
+            fotoPerfilRepository.deleteById(idUsuario);
+        }
+        armazenamento.remover(new ChaveFotoPerfil(idUsuario, ChaveFotoPerfil.ORIGINAL));
+    }
+
+    // O DELETE em lote não passa pelo contexto de persistência: só as variantes apagadas são desanexadas, para uma
+    // nova variante com a mesma chave não ser mesclada a uma linha que já não existe. O resto do contexto (usuário,
+    // financeiro) continua gerenciado.
+    private void removerVariantes(Long idUsuario) throws IOException {
+        var variantes = fotoPerfilVarianteRepository.findByChaveIdUsuario(idUsuario);
+        for (var variante : variantes) {
+            armazenamento.remover(variante.getChave());
+        }
+        fotoPerfilVarianteRepository.deletarDoUsuario(idUsuario);
+        variantes.forEach(entityManager::detach);
+        cacheVariantes.invalidar(idUsuario);
+    }
+
+    private void validarUsuario(Long idUsuario) {
+        if (!usuarioRepository.existsById(idUsuario)) {
+            throw new EntityNotFoundException("Usuário com id: " + idUsuario + " não encontrado");
+        }
+    }
+
+    private static String calcularHash(byte[] conteudo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
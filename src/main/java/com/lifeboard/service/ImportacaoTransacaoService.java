@@ -0,0 +1,349 @@
+package com.lifeboard.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lifeboard.dto.transacao.ErroImportacaoDTO;
+import com.lifeboard.dto.transacao.ImportacaoTransacaoResponseDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.mapper.TransacaoMapper;
+import com.lifeboard.model.Transacao;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.repository.FinanceiroRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportacaoTransacaoService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final List<String> COLUNAS_CSV = List.of("descricao", "valor", "tipo", "categoria", "id_financeiro");
+
+    @Autowired
+    private FinanceiroService financeiroService;
+
+    @Autowired
+    private FinanceiroRepository financeiroRepository;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanhoLote;
+
+    @Value("${api.importacao.erros.maximo:100}")
+    private int maximoErros;
+
+    // Lê as linhas em streaming, valida uma a uma e insere em lotes JDBC.
+    // Cada financeiro é bloqueado na primeira linha em que aparece e recebe um único movimento de saldo no final,
+    // assim como cada combinação de mês, tipo e categoria recebe uma única atualização no resumo mensal.
+    @Transactional(rollbackOn = IOException.class)
+    public ImportacaoTransacaoResponseDTO importar(InputStream corpo, MediaType formato) throws IOException {
+        var importacao = new Importacao(financeiroRepository, maximoErros);
+
+        if (formato.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            lerNdjson(corpo, importacao);
+        } else if (formato.isCompatibleWith(TEXT_CSV)) {
+            lerCsv(corpo, importacao);
+        } else {
+            lerJson(corpo, importacao);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        importacao.saldos.forEach((idFinanceiro, saldo) -> {
+            if (saldo.variacao.signum() != 0) {
+                financeiroService.movimentarSaldo(idFinanceiro, saldo.variacao, "Saldo insuficiente para concluir a importação!");
+            }
+        });
+
+        importacao.resumos.forEach((chave, total) ->
+                resumoMensalService.registrar(chave.idFinanceiro(), chave.mes(), chave.tipo(), chave.categoria(),
+                        total.valor, total.quantidade));
+
+        return new ImportacaoTransacaoResponseDTO(
+                importacao.totalLinhas,
+                importacao.importadas,
+                importacao.rejeitadas,
+                importacao.erros
+        );
+    }
+
+    private void lerJson(InputStream corpo, Importacao importacao) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("O corpo da importação deve ser um array JSON de transações.");
+            }
+
+            long linha = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("O corpo da requisição está mal formatado.");
+                }
+
+                importacao.totalLinhas++;
+                linha++;
+                // Um item que não é objeto (null, número, array) é rejeitado sozinho, sem encerrar a leitura do array
+                if (token != JsonToken.START_OBJECT) {
+                    importacao.rejeitar(linha, "Cada item do array deve ser um objeto de transação.");
+                    parser.skipChildren();
+                    continue;
+                }
+
+                JsonNode no = parser.readValueAsTree();
+                processar(linha, no, importacao);
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("O corpo da requisição está mal formatado.");
+        }
+    }
+
+    private void lerNdjson(InputStream corpo, Importacao importacao) throws IOException {
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            long linha = 0;
+            String conteudo;
+            while ((conteudo = leitor.readLine()) != null) {
+                linha++;
+                if (conteudo.isBlank()) {
+                    continue;
+                }
+
+                importacao.totalLinhas++;
+                try {
+                    processar(linha, objectMapper.readTree(conteudo), importacao);
+                } catch (IOException e) {
+                    importacao.rejeitar(linha, "JSON mal formatado.");
+                }
+            }
+        }
+    }
+
+    private void lerCsv(InputStream corpo, Importacao importacao) throws IOException {
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) {
+                return;
+            }
+
+            List<String> colunas = separarCampos(cabecalho.replace("\uFEFF", "")).stream()
+                    .map(coluna -> coluna.trim().toLowerCase())
+                    .toList();
+            if (!colunas.containsAll(COLUNAS_CSV)) {
+                throw new BadRequestException("O cabeçalho do CSV deve conter as colunas: " + String.join(",", COLUNAS_CSV));
+            }
+
+            long linha = 0;
+            String conteudo;
+            while ((conteudo = leitor.readLine()) != null) {
+                linha++;
+                if (conteudo.isBlank()) {
+                    continue;
+                }
+
+                importacao.totalLinhas++;
+                List<String> campos = separarCampos(conteudo);
+                if (campos.size() != colunas.size()) {
+                    importacao.rejeitar(linha, "Quantidade de colunas diferente do cabeçalho.");
+                    continue;
+                }
+
+                ObjectNode no = objectMapper.createObjectNode();
+                for (int i = 0; i < colunas.size(); i++) {
+                    String valor = campos.get(i).trim();
+                    if (!valor.isEmpty()) {
+                        no.put(colunas.get(i), valor);
+                    }
+                }
+                processar(linha, no, importacao);
+            }
+        }
+    }
+
+    private void processar(long linha, JsonNode no, Importacao importacao) {
+        TransacaoRequestDTO dto;
+        try {
+            dto = objectMapper.treeToValue(no, TransacaoRequestDTO.class);
+        } catch (IOException | IllegalArgumentException e) {
+            importacao.rejeitar(linha, "Linha com campos inválidos.");
+            return;
+        }
+
+        var violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            importacao.rejeitar(linha, violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" ")));
+            return;
+        }
+
+        if (dto.getTipo().isMovimentoDeMeta()) {
+            importacao.rejeitar(linha, "Aplicações e resgates só podem ser lançados pela meta financeira.");
+            return;
+        }
+
+        SaldoImportacao saldo = importacao.saldoDo(dto.getIdFinanceiro());
+        if (saldo == null) {
+            importacao.rejeitar(linha, "Financeiro com id: " + dto.getIdFinanceiro() + " não encontrado");
+            return;
+        }
+
+        BigDecimal valorSinalizado = dto.getTipo().aplicarSinal(dto.getValor());
+        BigDecimal saldoApos = saldo.atual.add(valorSinalizado);
+        if (saldoApos.signum() < 0) {
+            importacao.rejeitar(linha, "Saldo insuficiente para realizar a transação de " + dto.getTipo() + "!");
+            return;
+        }
+
+        Transacao transacao = TransacaoMapper.toEntity(dto, financeiroService.buscarReferenciaPorId(dto.getIdFinanceiro()));
+        transacao.setData(LocalDateTime.now());
+        transacao.setValorSinalizado(valorSinalizado);
+        transacao.setSaldoApos(saldoApos);
+        entityManager.persist(transacao);
+
+        importacao.resumos.computeIfAbsent(
+                new ChaveResumo(dto.getIdFinanceiro(), YearMonth.from(transacao.getData()), dto.getTipo(), dto.getCategoria()),
+                chave -> new TotalResumo()
+        ).somar(dto.getValor());
+
+        saldo.atual = saldoApos;
+        saldo.variacao = saldo.variacao.add(valorSinalizado);
+
+        if (++importacao.importadas % tamanhoLote == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    // Separação simples de CSV com suporte a campos entre aspas (sem quebras de linha dentro do campo)
+    private static List<String> separarCampos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == ',' && !entreAspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+
+        return campos;
+    }
+
+    // Estado de uma importação; só as primeiras linhas rejeitadas entram na resposta, as demais só são contadas
+    private static class Importacao {
+        private final FinanceiroRepository financeiroRepository;
+        private final int maximoErros;
+        private long totalLinhas;
+        private long importadas;
+        private long rejeitadas;
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private final Map<Long, SaldoImportacao> saldos = new LinkedHashMap<>();
+        private final Set<Long> financeirosInexistentes = new HashSet<>();
+        private final Map<ChaveResumo, TotalResumo> resumos = new LinkedHashMap<>();
+
+        private Importacao(FinanceiroRepository financeiroRepository, int maximoErros) {
+            this.financeiroRepository = financeiroRepository;
+            this.maximoErros = maximoErros;
+        }
+
+        private void rejeitar(long linha, String mensagem) {
+            rejeitadas++;
+            if (erros.size() < maximoErros) {
+                erros.add(new ErroImportacaoDTO(linha, mensagem));
+            }
+        }
+
+        private SaldoImportacao saldoDo(Long idFinanceiro) {
+            if (financeirosInexistentes.contains(idFinanceiro)) {
+                return null;
+            }
+
+            SaldoImportacao saldo = saldos.get(idFinanceiro);
+            if (saldo == null) {
+                var financeiro = financeiroRepository.buscarComBloqueio(idFinanceiro);
+                if (financeiro.isEmpty()) {
+                    financeirosInexistentes.add(idFinanceiro);
+                    return null;
+                }
+                saldo = new SaldoImportacao(financeiro.get().getSaldoAtual());
+                saldos.put(idFinanceiro, saldo);
+            }
+            return saldo;
+        }
+    }
+
+    private record ChaveResumo(Long idFinanceiro, YearMonth mes, TipoTransacao tipo, CategoriaTransacao categoria) {
+    }
+
+    private static class TotalResumo {
+        private BigDecimal valor = BigDecimal.ZERO;
+        private long quantidade;
+
+        private void somar(BigDecimal valorTransacao) {
+            valor = valor.add(valorTransacao);
+            quantidade++;
+        }
+    }
+
+    private static class SaldoImportacao {
+        private BigDecimal atual;
+        private BigDecimal variacao = BigDecimal.ZERO;
+
+        private SaldoImportacao(BigDecimal atual) {
+            this.atual = atual;
+        }
+    }
+}
@@ -1,18 +1,18 @@
 package com.lifeboard.service;
 
-import com.lifeboard.dto.financeiro.FinanceiroRequestDTO;
+import com.lifeboard.concorrencia.RepetirEmConflito;
 import com.lifeboard.dto.meta.MetaFinanceiraResponseDTO;
 import com.lifeboard.dto.meta.MetaFinanceiraSaveRequestDTO;
 import com.lifeboard.dto.meta.MetaFinanceiraUpdateRequestDTO;
-import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.meta.ReferenciaMeta;
 import com.lifeboard.exception.BadRequestException;
 import com.lifeboard.mapper.MetaFinanceiraMapper;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.MetaFinanceira;
-import com.lifeboard.model.Transacao;
-import com.lifeboard.model.enums.CategoriaTransacao;
 import com.lifeboard.model.enums.StatusMeta;
 import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.persistencia.LeituraNaReplica;
+import com.lifeboard.persistencia.SomenteLeitura;
 import com.lifeboard.repository.MetaFinanceiraRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -22,7 +22,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Service
 public class MetaFinanceiraService {
@@ -36,11 +35,21 @@ public class MetaFinanceiraService {
     @Autowired
     private TransacaoService transacaoService;
 
+    @LeituraNaReplica
     public Page<MetaFinanceiraResponseDTO> listarTodos(Pageable pageable) {
         return metaRepository.findAllByOrderByIdAsc(pageable)
                 .map(MetaFinanceiraMapper::toDTO);
     }
 
+    @SomenteLeitura
+    public Page<MetaFinanceiraResponseDTO> listarPorFinanceiro(Long idFinanceiro, Pageable pageable) {
+        financeiroService.validarExistencia(idFinanceiro);
+
+        return metaRepository.findByFinanceiroId(idFinanceiro, pageable)
+                .map(MetaFinanceiraMapper::toDTO);
+    }
+
+    @SomenteLeitura
     public MetaFinanceiraResponseDTO buscarDTOPorId(Long id) {
         var meta = buscarEntidadePorId(id);
 
@@ -49,23 +58,12 @@ public class MetaFinanceiraService {
 
     @Transactional
     public MetaFinanceiraResponseDTO salvar(MetaFinanceiraSaveRequestDTO metaFinanceiraDTO) {
-        Financeiro financeiro = financeiroService.buscarEntidadePorId(metaFinanceiraDTO.getIdFinanceiro());
+        Long idFinanceiro = metaFinanceiraDTO.getIdFinanceiro();
 
-        BigDecimal saldoAtual = financeiro.getSaldoAtual();
-        BigDecimal valorMetaAtual = metaFinanceiraDTO.getValorAtual();
+        financeiroService.movimentarSaldo(idFinanceiro, metaFinanceiraDTO.getValorAtual().negate(),
+                "Saldo insuficiente para criar esta Meta Financeira!");
 
-        if (saldoAtual.compareTo(valorMetaAtual) < 0) {
-            throw new BadRequestException("Saldo insuficiente para criar esta Meta Financeira!");
-        }
-
-        financeiro.setSaldoAtual(saldoAtual.subtract(valorMetaAtual));
-
-        FinanceiroRequestDTO financeiroDTO = new FinanceiroRequestDTO();
-        financeiroDTO.setSaldoAtual(financeiro.getSaldoAtual());
-        financeiroDTO.setSalarioMensal(financeiro.getSalarioMensal());
-        financeiroDTO.setUsuarioId(financeiro.getUsuario().getId());
-
-        financeiroService.atualizar(financeiro.getId(), financeiroDTO);
+        Financeiro financeiro = financeiroService.buscarReferenciaPorId(idFinanceiro);
 
         MetaFinanceira metaFinanceira = MetaFinanceiraMapper.toEntitySave(metaFinanceiraDTO, financeiro);
 
@@ -74,125 +72,90 @@ public class MetaFinanceiraService {
         return MetaFinanceiraMapper.toDTO(metaRepository.save(metaFinanceira));
     }
 
+    // Transferência do saldo do financeiro para a meta só com UPDATEs condicionais e um INSERT, sem carregar entidades.
+    // O financeiro é alterado antes da meta, na mesma ordem das demais operações, para os bloqueios de linha não se cruzarem.
+    @RepetirEmConflito
     @Transactional
     public void adicionarSaldo(Long metaId, BigDecimal valor) {
-        MetaFinanceira meta = buscarEntidadePorId(metaId);
-        Financeiro financeiro = meta.getFinanceiro();
-        BigDecimal saldoFinanceiro = financeiro.getSaldoAtual();
+        validarValorDaMovimentacao(valor, "O valor a ser adicionado deve ser maior que zero.");
+        ReferenciaMeta meta = buscarReferencia(metaId);
 
-        if (saldoFinanceiro.compareTo(valor) < 0) {
-            throw new BadRequestException("Saldo insuficiente para realizar a adição de saldo à meta financeira!");
-        }
-
-        meta.setValorAtual(meta.getValorAtual().add(valor));
-        definirStatusMetaFinanceiro(meta);
-        metaRepository.save(meta);
-
-        TransacaoRequestDTO transacaoDTO = new TransacaoRequestDTO();
-        transacaoDTO.setDescricao("Aplicação na meta: " + meta.getNome());
-        transacaoDTO.setValor(valor);
-        transacaoDTO.setTipo(TipoTransacao.APLICACAO);
-        transacaoDTO.setCategoria(CategoriaTransacao.INVESTIMENTO);
-        transacaoDTO.setIdFinanceiro(financeiro.getId());
-        transacaoService.salvar(transacaoDTO);
-
-        financeiro.setSaldoAtual(saldoFinanceiro.subtract(valor));
+        // a transação de APLICACAO debita o saldo do financeiro
+        BigDecimal saldoApos = financeiroService.movimentarSaldo(meta.idFinanceiro(), valor.negate(),
+                "Saldo insuficiente para realizar a adição de saldo à meta financeira!");
 
-        FinanceiroRequestDTO financeiroDTO = new FinanceiroRequestDTO();
-        financeiroDTO.setSaldoAtual(financeiro.getSaldoAtual());
-        financeiroDTO.setSalarioMensal(financeiro.getSalarioMensal());
-        financeiroDTO.setUsuarioId(financeiro.getUsuario().getId());
+        if (metaRepository.aplicarSaldo(metaId, valor) == 0) {
+            throw new EntityNotFoundException("Meta Financeira com id: " + metaId + " não encontrada");
+        }
 
-        financeiroService.atualizar(financeiro.getId(), financeiroDTO);
+        transacaoService.registrarMovimentoDaMeta(meta.idFinanceiro(), meta.id(), TipoTransacao.APLICACAO,
+                TransacaoService.DESCRICAO_APLICACAO + meta.nome(), valor, saldoApos);
     }
 
+    @RepetirEmConflito
     @Transactional
     public void retirarSaldo(Long metaId, BigDecimal valor) {
-        MetaFinanceira meta = buscarEntidadePorId(metaId);
-
-        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("O valor a ser retirado deve ser maior que zero.");
-        }
+        validarValorDaMovimentacao(valor, "O valor a ser retirado deve ser maior que zero.");
+        ReferenciaMeta meta = buscarReferencia(metaId);
 
-        if (meta.getValorAtual().compareTo(valor) < 0) {
+        if (meta.valorAtual().compareTo(valor) < 0) {
             throw new BadRequestException("Saldo insuficiente na meta.");
         }
 
-        meta.setValorAtual(meta.getValorAtual().subtract(valor));
-        definirStatusMetaFinanceiro(meta);
-        metaRepository.save(meta);
+        // a transação de RESGATE credita o saldo do financeiro
+        BigDecimal saldoApos = financeiroService.movimentarSaldo(meta.idFinanceiro(), valor, null);
 
-        Financeiro financeiro = meta.getFinanceiro();
-        BigDecimal saldoFinanceiro = financeiro.getSaldoAtual();
-
-        TransacaoRequestDTO transacaoDTO = new TransacaoRequestDTO();
-        transacaoDTO.setDescricao("Retirada da meta: " + meta.getNome());
-        transacaoDTO.setValor(valor);
-        transacaoDTO.setTipo(TipoTransacao.RESGATE);
-        transacaoDTO.setCategoria(CategoriaTransacao.INVESTIMENTO);
-        transacaoDTO.setIdFinanceiro(financeiro.getId());
-        transacaoService.salvar(transacaoDTO);
-
-        financeiro.setSaldoAtual(saldoFinanceiro.add(valor));
-
-        FinanceiroRequestDTO financeiroDTO = new FinanceiroRequestDTO();
-        financeiroDTO.setSaldoAtual(financeiro.getSaldoAtual());
-        financeiroDTO.setSalarioMensal(financeiro.getSalarioMensal());
-        financeiroDTO.setUsuarioId(financeiro.getUsuario().getId());
+        // A leitura acima pode estar desatualizada; quem garante o saldo da meta é a condição do UPDATE
+        if (metaRepository.resgatarSaldo(metaId, valor) == 0) {
+            throw new BadRequestException("Saldo insuficiente na meta.");
+        }
 
-        financeiroService.atualizar(financeiro.getId(), financeiroDTO);
+        transacaoService.registrarMovimentoDaMeta(meta.idFinanceiro(), meta.id(), TipoTransacao.RESGATE,
+                TransacaoService.DESCRICAO_RESGATE + meta.nome(), valor, saldoApos);
     }
 
+    @RepetirEmConflito
     @Transactional
     public MetaFinanceiraResponseDTO atualizar(Long id, MetaFinanceiraUpdateRequestDTO metaFinanceiraDTO) {
         MetaFinanceira metaExistente = buscarEntidadePorId(id);
 
-        String nomeMetaAntigo = metaExistente.getNome();
-        String nomeMetaNovo = metaFinanceiraDTO.getNome();
-
         metaExistente.setNome(metaFinanceiraDTO.getNome());
         metaExistente.setValorMeta(metaFinanceiraDTO.getValorMeta());
         metaExistente.setDataLimite(metaFinanceiraDTO.getDataLimite());
         definirStatusMetaFinanceiro(metaExistente);
 
-        // Atualizar descrições das transações relacionadas
-        List<Transacao> transacoes = transacaoService.buscarTransacoesPorFinanceiro(metaExistente.getFinanceiro());
-        for (Transacao t : transacoes) {
-            if (t.getDescricao().equals("Aplicação na meta: " + nomeMetaAntigo)) {
-                t.setDescricao("Aplicação na meta: " + nomeMetaNovo);
-            } else if (t.getDescricao().equals("Retirada da meta: " + nomeMetaAntigo)) {
-                t.setDescricao("Retirada da meta: " + nomeMetaNovo);
-            }
-        }
-        transacaoService.atualizarVariasTransacoes(transacoes);
-
+        // As transações apontam para a meta pelo id_meta: renomear não altera nenhuma delas
         var metaAtualizada = metaRepository.save(metaExistente);
 
         return MetaFinanceiraMapper.toDTO(metaAtualizada);
     }
 
+    @RepetirEmConflito
     @Transactional
     public void deletar(Long id) {
         MetaFinanceira meta = buscarEntidadePorId(id);
 
         Financeiro financeiro = meta.getFinanceiro();
-        BigDecimal saldoAtual = financeiro.getSaldoAtual();
-        BigDecimal valorMetaAtual = meta.getValorAtual();
 
-        financeiro.setSaldoAtual(saldoAtual.add(valorMetaAtual));
+        financeiroService.movimentarSaldo(financeiro.getId(), meta.getValorAtual(), null);
 
-        // Buscar transações relacionadas com a meta (pela descrição)
-        List<Transacao> transacoesRelacionadas = transacaoService.buscarTransacoesPorFinanceiro(financeiro)
-                .stream()
-                .filter(t -> t.getDescricao().contains(meta.getNome()))
-                .toList();
-
-        // Deletar as transações relacionadas
-        transacaoService.deletarVariasTransacoes(transacoesRelacionadas);
+        // Deletar as transações de aplicação e retirada da meta (pelo id_meta)
+        transacaoService.deletarTransacoesDaMeta(financeiro.getId(), id);
 
         metaRepository.deleteById(id);
     }
 
+    private ReferenciaMeta buscarReferencia(Long id) {
+        return metaRepository.buscarReferencia(id)
+                .orElseThrow(() -> new EntityNotFoundException("Meta Financeira com id: " + id + " não encontrada"));
+    }
+
+    private static void validarValorDaMovimentacao(BigDecimal valor, String mensagem) {
+        if (valor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BadRequestException(mensagem);
+        }
+    }
+
     public MetaFinanceira buscarEntidadePorId(Long id) {
         return metaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Meta Financeira com id: " + id + " não encontrada"));
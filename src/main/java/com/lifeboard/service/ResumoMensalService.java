@@ -0,0 +1,82 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.resumo.ResumoMensalResponseDTO;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.mapper.ResumoMensalMapper;
+import com.lifeboard.model.ResumoMensal;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.persistencia.SomenteLeitura;
+import com.lifeboard.repository.ResumoMensalRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+public class ResumoMensalService {
+
+    public static final int MESES_MAXIMO_CONSULTA = 120;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private FinanceiroService financeiroService;
+
+    @SomenteLeitura
+    public List<ResumoMensalResponseDTO> listar(Long idFinanceiro, YearMonth inicio, YearMonth fim) {
+        YearMonth mesFinal = fim != null ? fim : YearMonth.now();
+        YearMonth mesInicial = inicio != null ? inicio : mesFinal.minusMonths(11);
+
+        if (mesInicial.isAfter(mesFinal)) {
+            throw new BadRequestException("O mês inicial não pode ser posterior ao mês final.");
+        }
+        if (mesInicial.plusMonths(MESES_MAXIMO_CONSULTA).isBefore(mesFinal)) {
+            throw new BadRequestException("O período consultado deve ter no máximo " + MESES_MAXIMO_CONSULTA + " meses.");
+        }
+
+        financeiroService.validarExistencia(idFinanceiro);
+
+        return resumoMensalRepository.buscarPorPeriodo(idFinanceiro, mesInicial.atDay(1), mesFinal.atDay(1))
+                .stream()
+                .map(ResumoMensalMapper::toDTO)
+                .toList();
+    }
+
+    // Soma (ou desconta, com valor e quantidade negativos) transações no resumo do mês.
+    // Precisa rodar na mesma transação que movimentou o saldo do financeiro: o lock da linha do financeiro
+    // serializa os lançamentos da conta, então o "atualiza ou insere" abaixo não sofre corrida entre dois inserts.
+    @Transactional
+    public void registrar(Long idFinanceiro, YearMonth mes, TipoTransacao tipo, CategoriaTransacao categoria,
+                          BigDecimal valor, long quantidade) {
+        // Transações antigas podem não ter categoria gravada
+        CategoriaTransacao categoriaResumo = categoria != null ? categoria : CategoriaTransacao.OUTROS;
+
+        int linhasAtualizadas = resumoMensalRepository.acumular(idFinanceiro, mes.atDay(1), tipo, categoriaResumo, valor, quantidade);
+
+        if (linhasAtualizadas == 0) {
+            // Sem linha para descontar: a transação é anterior ao resumo e não foi contabilizada
+            if (quantidade <= 0) {
+                return;
+            }
+
+            ResumoMensal resumo = new ResumoMensal();
+            resumo.setFinanceiro(financeiroService.buscarReferenciaPorId(idFinanceiro));
+            resumo.setMes(mes.atDay(1));
+            resumo.setTipo(tipo);
+            resumo.setCategoria(categoriaResumo);
+            resumo.setTotal(valor);
+            resumo.setQuantidade(quantidade);
+            resumoMensalRepository.save(resumo);
+            return;
+        }
+
+        if (quantidade < 0) {
+            resumoMensalRepository.removerSeVazio(idFinanceiro, mes.atDay(1), tipo, categoriaResumo);
+        }
+    }
+}
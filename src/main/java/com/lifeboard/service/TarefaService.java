@@ -4,6 +4,8 @@ import com.lifeboard.dto.tarefa.TarefaRequestDTO;
 import com.lifeboard.dto.tarefa.TarefaResponseDTO;
 import com.lifeboard.mapper.TarefaMapper;
 import com.lifeboard.model.Tarefa;
+import com.lifeboard.persistencia.LeituraNaReplica;
+import com.lifeboard.persistencia.SomenteLeitura;
 import com.lifeboard.repository.TarefaRepository;
 import com.lifeboard.repository.UsuarioRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -21,11 +23,13 @@ public class TarefaService {
     @Autowired
     private UsuarioService usuarioService;
 
+    @LeituraNaReplica
     public Page<TarefaResponseDTO> listarTodos(Pageable pageable) {
         return tarefaRepository.findAllByOrderByIdAsc(pageable)
                 .map(TarefaMapper::toDTO);
     }
 
+    @SomenteLeitura
     public TarefaResponseDTO buscarDTOPorId(Long id) {
         var tarefa = buscarEntidadePorId(id);
 
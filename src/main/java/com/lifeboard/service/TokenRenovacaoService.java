@@ -0,0 +1,82 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.auth.TokenDTO;
+import com.lifeboard.model.TokenRenovacao;
+import com.lifeboard.model.Usuario;
+import com.lifeboard.repository.TokenRenovacaoRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Service
+public class TokenRenovacaoService {
+
+    private static final String TOKEN_INVALIDO = "Token de renovação inválido ou expirado";
+
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    @Autowired
+    private TokenRenovacaoRepository repository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${api.security.token.renovacao.expiracao:30d}")
+    private Duration expiracao;
+
+    @Transactional
+    public String emitir(Usuario usuario) {
+        var agora = LocalDateTime.now();
+        repository.deletarExpiradosDoUsuario(usuario.getId(), agora);
+
+        var bytes = new byte[32];
+        aleatorio.nextBytes(bytes);
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        repository.save(new TokenRenovacao(null, TokenService.calcularDigest(token), usuario, agora,
+                agora.plus(expiracao), false));
+        return token;
+    }
+
+    // Cada token vale uma única renovação e é trocado por um novo par de tokens
+    @Transactional(dontRollbackOn = BadCredentialsException.class)
+    public TokenDTO renovar(String token) {
+        var renovacao = repository.buscarPorHash(TokenService.calcularDigest(token))
+                .orElseThrow(() -> new BadCredentialsException(TOKEN_INVALIDO));
+        var usuario = renovacao.getUsuario();
+
+        if (renovacao.getExpiraEm().isBefore(LocalDateTime.now())) {
+            throw new BadCredentialsException(TOKEN_INVALIDO);
+        }
+
+        // Token já usado: há outra cópia dele, então todas as sessões do usuário são encerradas
+        if (repository.revogarSeAtivo(renovacao.getId()) == 0) {
+            repository.revogarTodosDoUsuario(usuario.getId());
+            throw new BadCredentialsException(TOKEN_INVALIDO);
+        }
+
+        return new TokenDTO(tokenService.gerarToken(usuario), emitir(usuario));
+    }
+
+    @Transactional
+    public void revogar(String token) {
+        repository.revogarPorHash(TokenService.calcularDigest(token));
+    }
+
+    @Transactional
+    public void revogarTodos(Long usuarioId) {
+        repository.revogarTodosDoUsuario(usuarioId);
+    }
+
+    @Transactional
+    public void deletarDoUsuario(Long usuarioId) {
+        repository.deletarDoUsuario(usuarioId);
+    }
+}
@@ -1,30 +1,82 @@
 package com.lifeboard.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.lifeboard.model.Usuario;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
 
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "API LifeBoard";
+
+    private static final String CLAIM_PERFIS = "roles";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.cache.tamanho-maximo:10000}")
+    private long tamanhoMaximoCache;
+
+    @Value("${api.security.token.expiracao:7d}")
+    private Duration expiracao;
+
+    // Com o principal montado das claims, o token de acesso é a única barreira contra um usuário removido ou
+    // deslogado: vale pouco, e a sessão longa fica no token de renovação
+    @Value("${api.security.token.expiracao-principal-do-token:15m}")
+    private Duration expiracaoPrincipalDoToken;
+
+    @Value("${api.security.principal-do-token:false}")
+    private boolean principalDoToken;
+
+    private Algorithm algoritmo;
+
+    private JWTVerifier verificador;
+
+    // Tokens já verificados, indexados pelo SHA-256 do token e removidos no instante da expiração
+    private Cache<String, TokenVerificado> tokensVerificados;
+
+    @PostConstruct
+    public void inicializar() {
+        algoritmo = Algorithm.HMAC256(secret);
+        verificador = JWT.require(algoritmo)
+                .withIssuer(ISSUER)
+                .build();
+        tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new ExpiracaoDoToken())
+                .recordStats()
+                .build();
+    }
+
     public String gerarToken(Usuario usuario) {
         try {
-            var algoritmo = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("API LifeBoard")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getEmail())
                     .withClaim("id", usuario.getId())
-                    .withExpiresAt(dataExpiracao())
+                    .withClaim(CLAIM_PERFIS, usuario.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .toList())
+                    .withExpiresAt(Instant.now().plus(principalDoToken ? expiracaoPrincipalDoToken : expiracao))
                     .sign(algoritmo);
         } catch (JWTCreationException exception){
             throw new RuntimeException("Erro ao gerar token jwt ", exception);
@@ -32,21 +84,69 @@ public class TokenService {
     }
 
     public String getSubject(String tokenJWT) {
+        return validar(tokenJWT).subject();
+    }
+
+    public TokenVerificado validar(String tokenJWT) {
+        var digest = calcularDigest(tokenJWT);
+
+        var tokenEmCache = tokensVerificados.getIfPresent(digest);
+        if (tokenEmCache != null) {
+            return tokenEmCache;
+        }
+
         try {
-            var algoritmo = Algorithm.HMAC256(secret);
-            return JWT.require(algoritmo)
-                    .withIssuer("API LifeBoard")
-                    .build()
-                    .verify(tokenJWT)
-                    .getSubject();
+            var decodificado = verificador.verify(tokenJWT);
+            var tokenVerificado = new TokenVerificado(
+                    decodificado.getSubject(),
+                    decodificado.getClaim("id").asLong(),
+                    decodificado.getClaim(CLAIM_PERFIS).asList(String.class),
+                    decodificado.getExpiresAtAsInstant()
+            );
+
+            tokensVerificados.put(digest, tokenVerificado);
+            return tokenVerificado;
 
         } catch (JWTVerificationException exception){
             throw new RuntimeException("Token JWT inválido ou expirado!");
         }
     }
 
-    private Instant dataExpiracao() {
-        return LocalDateTime.now().plusDays(7).toInstant(ZoneOffset.of("-03:00"));
+    public CacheStats estatisticasCache() {
+        return tokensVerificados.stats();
+    }
+
+    static String calcularDigest(String tokenJWT) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(tokenJWT.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 indisponível", exception);
+        }
+    }
+
+    // perfis é nulo em tokens emitidos antes da claim "roles"
+    public record TokenVerificado(String subject, Long id, List<String> perfis, Instant expiracao) {
     }
 
+    private static class ExpiracaoDoToken implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String digest, TokenVerificado token, long currentTime) {
+            if (token.expiracao() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), token.expiracao()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, TokenVerificado token, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, TokenVerificado token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -1,29 +1,45 @@
 package com.lifeboard.service;
 
-import com.lifeboard.dto.financeiro.FinanceiroRequestDTO;
+import com.lifeboard.concorrencia.RepetirEmConflito;
+import com.lifeboard.dto.paginacao.PaginaCursorDTO;
+import com.lifeboard.dto.transacao.CursorTransacao;
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
 import com.lifeboard.dto.transacao.TransacaoRequestDTO;
 import com.lifeboard.dto.transacao.TransacaoResponseDTO;
 import com.lifeboard.mapper.TransacaoMapper;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.MetaFinanceira;
 import com.lifeboard.model.Transacao;
+import com.lifeboard.model.enums.CategoriaTransacao;
 import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.persistencia.LeituraNaReplica;
+import com.lifeboard.persistencia.SomenteLeitura;
 import com.lifeboard.repository.MetaFinanceiraRepository;
 import com.lifeboard.repository.TransacaoRepository;
+import com.lifeboard.repository.specification.TransacaoSpecification;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import com.lifeboard.exception.BadRequestException;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 @Service
 public class TransacaoService {
 
+    public static final int TAMANHO_MAXIMO_PAGINA_CURSOR = 100;
+
+    public static final String DESCRICAO_APLICACAO = "Aplicação na meta: ";
+    public static final String DESCRICAO_RESGATE = "Retirada da meta: ";
+
     @Autowired
     private TransacaoRepository transacaoRepository;
 
@@ -33,151 +49,190 @@ public class TransacaoService {
     @Autowired
     private MetaFinanceiraRepository metaFinanceiraRepository;
 
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @LeituraNaReplica
     public Page<TransacaoResponseDTO> listarTodos(Pageable pageable) {
         return transacaoRepository.findAllByOrderByIdAsc(pageable)
                 .map(TransacaoMapper::toDTO);
     }
 
+    @LeituraNaReplica
+    public PaginaCursorDTO<TransacaoResponseDTO> listarPorCursor(String cursor, int tamanho) {
+        validarTamanhoDaPagina(tamanho);
+        var limite = Limit.of(tamanho + 1);
+
+        List<Transacao> transacoes;
+        if (cursor == null || cursor.isBlank()) {
+            transacoes = transacaoRepository.buscarPrimeiraPagina(limite);
+        } else {
+            var posicao = CursorTransacao.decodificar(cursor);
+            transacoes = transacaoRepository.buscarPaginaAposCursor(posicao.data(), posicao.id(), limite);
+        }
+
+        return montarPaginaCursor(transacoes, tamanho);
+    }
+
+    @SomenteLeitura
+    public PaginaCursorDTO<TransacaoResponseDTO> listarPorFinanceiroComCursor(Long idFinanceiro, String cursor, int tamanho) {
+        validarTamanhoDaPagina(tamanho);
+        financeiroService.validarExistencia(idFinanceiro);
+        var limite = Limit.of(tamanho + 1);
+
+        List<Transacao> transacoes;
+        if (cursor == null || cursor.isBlank()) {
+            transacoes = transacaoRepository.buscarPrimeiraPaginaDoFinanceiro(idFinanceiro, limite);
+        } else {
+            var posicao = CursorTransacao.decodificar(cursor);
+            transacoes = transacaoRepository.buscarPaginaDoFinanceiroAposCursor(idFinanceiro, posicao.data(), posicao.id(), limite);
+        }
+
+        return montarPaginaCursor(transacoes, tamanho);
+    }
+
+    @SomenteLeitura
+    public Page<TransacaoResponseDTO> filtrarPorFinanceiro(Long idFinanceiro, FiltroTransacaoDTO filtro, Pageable pageable) {
+        if (filtro.dataInicio() != null && filtro.dataFim() != null && filtro.dataInicio().isAfter(filtro.dataFim())) {
+            throw new BadRequestException("A data inicial não pode ser posterior à data final.");
+        }
+
+        financeiroService.validarExistencia(idFinanceiro);
+
+        return transacaoRepository.findAll(TransacaoSpecification.filtrar(idFinanceiro, filtro), pageable)
+                .map(TransacaoMapper::toDTO);
+    }
+
+    @SomenteLeitura
     public TransacaoResponseDTO buscarDTOPorId(Long id) {
         var transacao = buscarEntidadePorId(id);
 
         return TransacaoMapper.toDTO(transacao);
     }
 
+    @RepetirEmConflito
     @Transactional
     public TransacaoResponseDTO salvar(TransacaoRequestDTO transacaoDTO) {
-        Financeiro financeiro = financeiroService.buscarEntidadePorId(transacaoDTO.getIdFinanceiro());
+        validarLancamentoAvulso(transacaoDTO.getTipo());
 
-        BigDecimal saldoAtual = financeiro.getSaldoAtual();
-        BigDecimal valorTransacao = transacaoDTO.getValor();
+        Long idFinanceiro = transacaoDTO.getIdFinanceiro();
+        BigDecimal valorSinalizado = transacaoDTO.getTipo().aplicarSinal(transacaoDTO.getValor());
 
-        if (transacaoDTO.getTipo() == TipoTransacao.SAIDA) {
-            if (saldoAtual.compareTo(valorTransacao) < 0) {
-                throw new BadRequestException("Saldo insuficiente para realizar a transação de SAIDA!");
-            }
-            financeiro.setSaldoAtual(saldoAtual.subtract(valorTransacao));
-
-        } else if (transacaoDTO.getTipo() == TipoTransacao.ENTRADA) {
-            financeiro.setSaldoAtual(saldoAtual.add(valorTransacao));
-        }
+        BigDecimal saldoApos = financeiroService.movimentarSaldo(idFinanceiro, valorSinalizado,
+                "Saldo insuficiente para realizar a transação de " + transacaoDTO.getTipo() + "!");
 
-        FinanceiroRequestDTO financeiroDTO = new FinanceiroRequestDTO();
-        financeiroDTO.setSaldoAtual(financeiro.getSaldoAtual());
-        financeiroDTO.setSalarioMensal(financeiro.getSalarioMensal());
-        financeiroDTO.setUsuarioId(financeiro.getUsuario().getId());
+        Transacao transacao = TransacaoMapper.toEntity(transacaoDTO, financeiroService.buscarReferenciaPorId(idFinanceiro));
 
-        financeiroService.atualizar(financeiro.getId(), financeiroDTO);
-
-        Transacao transacao = TransacaoMapper.toEntity(transacaoDTO, financeiro);
-        var transacaoSalva = transacaoRepository.save(transacao);
+        return TransacaoMapper.toDTO(registrar(transacao, valorSinalizado, saldoApos));
+    }
 
-        return TransacaoMapper.toDTO(transacaoSalva);
+    // Lançamento de uma aplicação ou resgate de meta cujo saldo já foi movimentado por quem chama:
+    // só insere a transação e acumula o resumo mensal, sem carregar o financeiro nem a meta
+    @Transactional
+    public void registrarMovimentoDaMeta(Long idFinanceiro, Long idMeta, TipoTransacao tipo, String descricao,
+                                         BigDecimal valor, BigDecimal saldoApos) {
+        Transacao transacao = new Transacao();
+        transacao.setDescricao(descricao);
+        transacao.setValor(valor);
+        transacao.setTipo(tipo);
+        transacao.setCategoria(CategoriaTransacao.INVESTIMENTO);
+        transacao.setFinanceiro(financeiroService.buscarReferenciaPorId(idFinanceiro));
+        transacao.setMeta(metaFinanceiraRepository.getReferenceById(idMeta));
+
+        registrar(transacao, tipo.aplicarSinal(valor), saldoApos);
     }
 
+    @RepetirEmConflito
     @Transactional
     public TransacaoResponseDTO atualizar(Long id, TransacaoRequestDTO transacaoDTO) {
         Transacao transacaoExistente = buscarEntidadePorId(id);
 
-        Financeiro financeiro = transacaoExistente.getFinanceiro();
-        BigDecimal saldoAtual = financeiro.getSaldoAtual();
-
-        BigDecimal valorTransacaoAntigo = transacaoExistente.getValor();
-        TipoTransacao tipoTransacaoAntigo = transacaoExistente.getTipo();
-
         BigDecimal valorTransacaoNovo = transacaoDTO.getValor();
         TipoTransacao tipoTransacaoNovo = transacaoDTO.getTipo();
 
-        // Desfaz o efeito antigo
-        if (tipoTransacaoAntigo == TipoTransacao.SAIDA) {
-            saldoAtual = saldoAtual.add(valorTransacaoAntigo);
-
-        } else if (tipoTransacaoAntigo == TipoTransacao.ENTRADA) {
-            saldoAtual = saldoAtual.subtract(valorTransacaoAntigo);
-        }
-
-        // Aplica o efeito novo
-        if (tipoTransacaoNovo == TipoTransacao.SAIDA) {
-            if (saldoAtual.compareTo(valorTransacaoNovo) < 0) {
-                throw new BadRequestException("Saldo insuficiente para realizar a atualização de SAIDA!");
-            }
-            saldoAtual = saldoAtual.subtract(valorTransacaoNovo);
-
-        } else if (tipoTransacaoNovo == TipoTransacao.ENTRADA) {
-            saldoAtual = saldoAtual.add(valorTransacaoNovo);
+        validarLancamentoAvulso(transacaoExistente.getTipo());
+        validarLancamentoAvulso(tipoTransacaoNovo);
+
+        // Desfaz o efeito antigo e aplica o novo em um único movimento de saldo
+        BigDecimal valorSinalizadoAntigo = valorSinalizado(transacaoExistente);
+        BigDecimal valorSinalizadoNovo = tipoTransacaoNovo.aplicarSinal(valorTransacaoNovo);
+        BigDecimal diferenca = valorSinalizadoNovo.subtract(valorSinalizadoAntigo);
+
+        Long idFinanceiro = transacaoExistente.getFinanceiro().getId();
+        if (diferenca.signum() != 0) {
+            financeiroService.movimentarSaldo(idFinanceiro, diferenca,
+                    "Saldo insuficiente para realizar a atualização de " + tipoTransacaoNovo + "!");
+            deslocarSaldoApos(transacaoExistente, diferenca);
+        } else {
+            // Mesmo sem mudar o saldo (só a categoria, por exemplo), o resumo mensal depende do lock da conta
+            financeiroService.bloquear(idFinanceiro);
         }
 
-        financeiro.setSaldoAtual(saldoAtual);
-
-        FinanceiroRequestDTO financeiroDTO = new FinanceiroRequestDTO();
-        financeiroDTO.setSaldoAtual(financeiro.getSaldoAtual());
-        financeiroDTO.setSalarioMensal(financeiro.getSalarioMensal());
-        financeiroDTO.setUsuarioId(financeiro.getUsuario().getId());
-
-        financeiroService.atualizar(financeiro.getId(), financeiroDTO);
+        atualizarResumoMensal(transacaoExistente, tipoTransacaoNovo, transacaoDTO.getCategoria(), valorTransacaoNovo);
 
         transacaoExistente.setDescricao(transacaoDTO.getDescricao());
         transacaoExistente.setValor(valorTransacaoNovo);
         transacaoExistente.setTipo(tipoTransacaoNovo);
         transacaoExistente.setCategoria(transacaoDTO.getCategoria());
+        transacaoExistente.setValorSinalizado(valorSinalizadoNovo);
 
         var transacaoAtualizada = transacaoRepository.save(transacaoExistente);
 
         return TransacaoMapper.toDTO(transacaoAtualizada);
     }
 
+    @RepetirEmConflito
     @Transactional
     public void deletar(Long id) {
         Transacao transacao = buscarEntidadePorId(id);
 
         Financeiro financeiro = transacao.getFinanceiro();
-        BigDecimal saldoAtual = financeiro.getSaldoAtual();
         BigDecimal valorTransacao = transacao.getValor();
 
-        switch (transacao.getTipo()) {
-            case SAIDA -> saldoAtual = saldoAtual.add(valorTransacao);
-
-            case ENTRADA -> {
-                if (saldoAtual.compareTo(valorTransacao) < 0) {
-                    throw new BadRequestException("Saldo insuficiente para remover esta ENTRADA. Isso deixaria o saldo negativo!");
-                }
-                saldoAtual = saldoAtual.subtract(valorTransacao);
-            }
+        String mensagemSaldoInsuficiente = switch (transacao.getTipo()) {
+            case ENTRADA -> "Saldo insuficiente para remover esta ENTRADA. Isso deixaria o saldo negativo!";
+            case RESGATE -> "Saldo insuficiente para remover este RESGATE.";
+            default -> "Saldo insuficiente para remover esta transação.";
+        };
 
-            case APLICACAO -> {
-                // devolve valor ao financeiro e remove da meta
-                saldoAtual = saldoAtual.add(valorTransacao);
+        BigDecimal estorno = valorSinalizado(transacao).negate();
+        financeiroService.movimentarSaldo(financeiro.getId(), estorno, mensagemSaldoInsuficiente);
+        deslocarSaldoApos(transacao, estorno);
 
-                MetaFinanceira meta = metaFinanceiraRepository.findByFinanceiroAndNome(financeiro, transacao.getDescricao().replace("Aplicação na meta: ", ""))
-                        .orElseThrow(() -> new EntityNotFoundException("Meta relacionada ao investimento não encontrada."));
+        // A meta é resolvida pela chave estrangeira; getId() do proxy não dispara a carga da entidade
+        MetaFinanceira meta = transacao.getMeta();
 
-                BigDecimal saldoMeta = meta.getValorAtual();
+        switch (transacao.getTipo()) {
+            case APLICACAO -> {
+                // remove da meta o valor devolvido ao financeiro
+                if (meta == null) {
+                    throw new EntityNotFoundException("Meta relacionada ao investimento não encontrada.");
+                }
 
-                if (saldoMeta.compareTo(valorTransacao) < 0) {
+                if (metaFinanceiraRepository.resgatarSaldo(meta.getId(), valorTransacao) == 0) {
                     throw new BadRequestException("A meta não possui saldo suficiente para desfazer o investimento.");
                 }
-
-                meta.setValorAtual(saldoMeta.subtract(valorTransacao));
-                metaFinanceiraRepository.save(meta);
             }
 
             case RESGATE -> {
-                // retira valor do financeiro e adiciona à meta
-                if (saldoAtual.compareTo(valorTransacao) < 0) {
-                    throw new BadRequestException("Saldo insuficiente para remover este RESGATE.");
+                // devolve à meta o valor retirado do financeiro
+                if (meta == null) {
+                    throw new EntityNotFoundException("Meta relacionada ao resgate não encontrada.");
                 }
-                saldoAtual = saldoAtual.subtract(valorTransacao);
-
-                MetaFinanceira meta = metaFinanceiraRepository.findByFinanceiroAndNome(financeiro, transacao.getDescricao().replace("Retirada da meta: ", ""))
-                        .orElseThrow(() -> new EntityNotFoundException("Meta relacionada ao resgate não encontrada."));
 
-                meta.setValorAtual(meta.getValorAtual().add(valorTransacao));
-                metaFinanceiraRepository.save(meta);
+                metaFinanceiraRepository.aplicarSaldo(meta.getId(), valorTransacao);
             }
+
+            default -> { }
         }
 
-        financeiro.setSaldoAtual(saldoAtual);
+        resumoMensalService.registrar(financeiro.getId(), YearMonth.from(transacao.getData()), transacao.getTipo(),
+                transacao.getCategoria(), valorTransacao.negate(), -1);
 
-        financeiro.getTransacoes().remove(transacao);
+        // O financeiro é um proxy lazy: tocar na coleção de um proxy não inicializado dispararia a sua carga
+        if (Hibernate.isInitialized(financeiro) && Hibernate.isInitialized(financeiro.getTransacoes())) {
+            financeiro.getTransacoes().remove(transacao);
+        }
 
         transacaoRepository.delete(transacao);
         transacaoRepository.flush();
@@ -188,15 +243,90 @@ public class TransacaoService {
                 .orElseThrow(() -> new EntityNotFoundException("Transação com id: " + id + " não encontrada"));
     }
 
-    public List<Transacao> buscarTransacoesPorFinanceiro(Financeiro financeiro) {
-        return transacaoRepository.findByFinanceiro(financeiro);
+    public int deletarTransacoesDaMeta(Long idFinanceiro, Long idMeta) {
+        // Desconta do resumo mensal, já agrupado no banco, o que a remoção em lote vai apagar
+        transacaoRepository.totalizarPorMeta(idMeta).forEach(total ->
+                resumoMensalService.registrar(idFinanceiro, YearMonth.of(total.ano(), total.mes()), total.tipo(),
+                        total.categoria(), total.total().negate(), -total.quantidade()));
+
+        return transacaoRepository.deletarDaMeta(idMeta);
+    }
+
+    private Transacao registrar(Transacao transacao, BigDecimal valorSinalizado, BigDecimal saldoApos) {
+        transacao.setData(LocalDateTime.now());
+        transacao.setValorSinalizado(valorSinalizado);
+        transacao.setSaldoApos(saldoApos);
+
+        var transacaoSalva = transacaoRepository.save(transacao);
+
+        resumoMensalService.registrar(transacao.getFinanceiro().getId(), YearMonth.from(transacao.getData()),
+                transacao.getTipo(), transacao.getCategoria(), transacao.getValor(), 1);
+
+        return transacaoSalva;
     }
 
-    public void atualizarVariasTransacoes(List<Transacao> transacoes) {
-        transacaoRepository.saveAll(transacoes);
+    private void atualizarResumoMensal(Transacao transacao, TipoTransacao tipoNovo, CategoriaTransacao categoriaNova, BigDecimal valorNovo) {
+        boolean mesmaChave = transacao.getTipo() == tipoNovo && transacao.getCategoria() == categoriaNova;
+        if (mesmaChave && transacao.getValor().compareTo(valorNovo) == 0) {
+            return;
+        }
+
+        Long idFinanceiro = transacao.getFinanceiro().getId();
+        YearMonth mes = YearMonth.from(transacao.getData());
+
+        if (mesmaChave) {
+            resumoMensalService.registrar(idFinanceiro, mes, tipoNovo, categoriaNova, valorNovo.subtract(transacao.getValor()), 0);
+            return;
+        }
+
+        resumoMensalService.registrar(idFinanceiro, mes, transacao.getTipo(), transacao.getCategoria(), transacao.getValor().negate(), -1);
+        resumoMensalService.registrar(idFinanceiro, mes, tipoNovo, categoriaNova, valorNovo, 1);
+    }
+
+    // O UPDATE em lote não passa pelo contexto de persistência: a entidade já carregada recebe o mesmo deslocamento
+    // para que o flush não grave de volta o valor antigo
+    private void deslocarSaldoApos(Transacao transacao, BigDecimal diferenca) {
+        transacaoRepository.deslocarSaldoApos(transacao.getFinanceiro().getId(), transacao.getData(), transacao.getId(), diferenca);
+        if (transacao.getSaldoApos() != null) {
+            transacao.setSaldoApos(transacao.getSaldoApos().add(diferenca));
+        }
+    }
+
+    // Transações anteriores ao livro-razão não têm o valor sinalizado gravado
+    private BigDecimal valorSinalizado(Transacao transacao) {
+        if (transacao.getValorSinalizado() != null) {
+            return transacao.getValorSinalizado();
+        }
+        return transacao.getTipo().aplicarSinal(transacao.getValor());
+    }
+
+    // Criar ou editar uma aplicação ou resgate por aqui moveria o saldo da conta sem mover o da meta
+    private void validarLancamentoAvulso(TipoTransacao tipo) {
+        if (tipo.isMovimentoDeMeta()) {
+            throw new BadRequestException("Aplicações e resgates só podem ser lançados ou alterados pela meta financeira.");
+        }
+    }
+
+    private void validarTamanhoDaPagina(int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA_CURSOR) {
+            throw new BadRequestException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA_CURSOR + ".");
+        }
     }
 
-    public void deletarVariasTransacoes(List<Transacao> transacoes) {
-        transacaoRepository.deleteAll(transacoes);
+    // Busca um registro a mais que o tamanho pedido só para saber se existe próxima página
+    private PaginaCursorDTO<TransacaoResponseDTO> montarPaginaCursor(List<Transacao> transacoes, int tamanho) {
+        boolean temProxima = transacoes.size() > tamanho;
+        var pagina = temProxima ? transacoes.subList(0, tamanho) : transacoes;
+
+        String proximoCursor = temProxima
+                ? CursorTransacao.de(pagina.get(pagina.size() - 1)).codificar()
+                : null;
+
+        return new PaginaCursorDTO<>(
+                pagina.stream().map(TransacaoMapper::toDTO).toList(),
+                pagina.size(),
+                temProxima,
+                proximoCursor
+        );
     }
 }
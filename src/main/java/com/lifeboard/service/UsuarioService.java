@@ -1,12 +1,16 @@
 package com.lifeboard.service;
 
+import com.lifeboard.dto.usuario.ExpansaoUsuario;
 import com.lifeboard.dto.usuario.UsuarioRequestDTO;
 import com.lifeboard.dto.usuario.UsuarioResponseDTO;
 import com.lifeboard.mapper.UsuarioMapper;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.Usuario;
+import com.lifeboard.persistencia.LeituraNaReplica;
+import com.lifeboard.persistencia.SomenteLeitura;
 import com.lifeboard.repository.FinanceiroRepository;
 import com.lifeboard.repository.UsuarioRepository;
+import com.lifeboard.security.UsuarioAutenticadoCache;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,9 +18,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Set;
 
 @Service
 public class UsuarioService {
@@ -30,15 +34,30 @@ public class UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public Page<UsuarioResponseDTO> listarTodos(Pageable pageable) {
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    @Autowired
+    private FotoPerfilService fotoPerfilService;
+
+    @Autowired
+    private TokenRenovacaoService tokenRenovacaoService;
+
+    @LeituraNaReplica
+    public Page<UsuarioResponseDTO> listarTodos(Pageable pageable, Set<ExpansaoUsuario> expandir) {
+        // As tarefas da página só são carregadas (em lote, pelo @BatchSize) quando pedidas
         return usuarioRepository.findAllByOrderByIdAsc(pageable)
-                .map(UsuarioMapper::toDTO);
+                .map(usuario -> UsuarioMapper.toDTO(usuario, expandir));
     }
 
-    public UsuarioResponseDTO buscarUsuarioDtoPorId(Long id) {
-        var usuario = buscarEntidadePorId(id);
+    @SomenteLeitura
+    public UsuarioResponseDTO buscarUsuarioDtoPorId(Long id, Set<ExpansaoUsuario> expandir) {
+        var usuario = expandir.contains(ExpansaoUsuario.TAREFAS)
+                ? usuarioRepository.buscarComFinanceiroETarefas(id)
+                        .orElseThrow(() -> new EntityNotFoundException("Usuário com id: " + id + " não encontrado"))
+                : buscarEntidadePorId(id);
 
-        return UsuarioMapper.toDTO(usuario);
+        return UsuarioMapper.toDTO(usuario, expandir);
     }
 
     @Transactional
@@ -53,7 +72,8 @@ public class UsuarioService {
             financeiro.setSalarioMensal(BigDecimal.ZERO);
             financeiro.setUsuario(usuarioSalvo);
 
-            financeiroRepository.save(financeiro);
+            // O lado inverso também é preenchido, para a resposta já trazer o id_financeiro
+            usuarioSalvo.setFinanceiro(financeiroRepository.save(financeiro));
         }
 
         return UsuarioMapper.toDTO(usuarioSalvo);
@@ -65,11 +85,15 @@ public class UsuarioService {
         Usuario usuarioExistente = buscarEntidadePorId(id);
         Usuario usuarioComNovosDados = UsuarioMapper.toEntity(usuarioDTO);
 
+        usuarioAutenticadoCache.invalidar(usuarioExistente.getEmail());
+
         usuarioExistente.setNome(usuarioComNovosDados.getNome());
         usuarioExistente.setEmail(usuarioComNovosDados.getEmail());
 
         if (usuarioComNovosDados.getSenha() != null && !usuarioComNovosDados.getSenha().isBlank()) {
             usuarioExistente.setSenha(usuarioComNovosDados.getSenha());
+            // Troca de senha encerra as sessões abertas: nenhum token de renovação antigo vale mais
+            tokenRenovacaoService.revogarTodos(id);
         }
 
         if (usuarioComNovosDados.getFinanceiro() != null) {
@@ -81,32 +105,15 @@ public class UsuarioService {
         return UsuarioMapper.toDTO(usuarioAtualizado);
     }
 
-    @Transactional
-    public void deletar(Long id) {
+    @Transactional(rollbackOn = IOException.class)
+    public void deletar(Long id) throws IOException {
         var usuario = buscarEntidadePorId(id);
+        usuarioAutenticadoCache.invalidar(usuario.getEmail());
+        fotoPerfilService.removerSeExistir(id);
+        tokenRenovacaoService.deletarDoUsuario(id);
         usuarioRepository.delete(usuario);
     }
 
-    public void atualizarFotoPerfil(Long id, MultipartFile file) throws IOException {
-        Usuario usuario = buscarEntidadePorId(id);
-
-        usuario.setFotoPerfil(file.getBytes());
-        usuarioRepository.save(usuario);
-    }
-
-    public byte[] buscarFotoPerfil(Long id) {
-        Usuario usuario = buscarEntidadePorId(id);
-
-        return usuario.getFotoPerfil();
-    }
-
-    public void removerFotoPerfil(Long id) {
-        Usuario usuario = buscarEntidadePorId(id);
-
-        usuario.setFotoPerfil(null);
-        usuarioRepository.save(usuario);
-    }
-
     public Usuario buscarEntidadePorId(Long id) {
         return usuarioRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuário com id: " + id + " não encontrado"));
@@ -0,0 +1,3 @@
+-- A entidade Transacao passou a reservar ids em blocos de 50 (otimizador pooled do Hibernate).
+-- O incremento da sequence precisa acompanhar o allocationSize, senão o Hibernate recusa a inicialização.
+ALTER SEQUENCE LB_TRANSACAO_SEQ INCREMENT BY 50;
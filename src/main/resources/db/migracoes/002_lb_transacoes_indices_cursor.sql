@@ -0,0 +1,4 @@
+-- Índices que sustentam a listagem de transações por cursor (keyset), ordenada por data desc, id desc.
+-- O primeiro atende a listagem por financeiro; o segundo, a listagem geral.
+CREATE INDEX IDX_TRANSACAO_FIN_DATA ON LB_TRANSACOES (ID_FINANCEIRO, DATA, ID_TRANSACAO);
+CREATE INDEX IDX_TRANSACAO_DATA ON LB_TRANSACOES (DATA, ID_TRANSACAO);
@@ -0,0 +1,33 @@
+-- Resumo mensal por financeiro, mês, tipo e categoria, mantido incrementalmente pelo TransacaoService.
+-- Rodar antes de subir a versão que contém a entidade ResumoMensal: cria a tabela e a sequence
+-- (incremento igual ao allocationSize) e carrega o histórico já existente.
+CREATE SEQUENCE LB_RESUMO_MENSAL_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE LB_RESUMOS_MENSAIS (
+    ID_RESUMO     NUMBER(19)    NOT NULL,
+    ID_FINANCEIRO NUMBER(19)    NOT NULL,
+    MES           DATE          NOT NULL,
+    TIPO          VARCHAR2(15)  NOT NULL,
+    CATEGORIA     VARCHAR2(50)  NOT NULL,
+    TOTAL         NUMBER(38, 2) NOT NULL,
+    QUANTIDADE    NUMBER(19)    NOT NULL,
+    CONSTRAINT PK_RESUMO_MENSAL PRIMARY KEY (ID_RESUMO),
+    CONSTRAINT UK_RESUMO_MENSAL UNIQUE (ID_FINANCEIRO, MES, TIPO, CATEGORIA),
+    CONSTRAINT FK_RESUMO_MENSAL_FINANCEIRO FOREIGN KEY (ID_FINANCEIRO) REFERENCES LB_FINANCEIROS (ID_FINANCEIRO)
+);
+
+-- Transações antigas sem categoria entram como OUTROS, igual ao ResumoMensalService
+INSERT INTO LB_RESUMOS_MENSAIS (ID_RESUMO, ID_FINANCEIRO, MES, TIPO, CATEGORIA, TOTAL, QUANTIDADE)
+SELECT LB_RESUMO_MENSAL_SEQ.NEXTVAL, r.ID_FINANCEIRO, r.MES, r.TIPO, r.CATEGORIA, r.TOTAL, r.QUANTIDADE
+FROM (
+    SELECT ID_FINANCEIRO,
+           TRUNC(DATA, 'MM') AS MES,
+           TIPO,
+           NVL(CATEGORIA, 'OUTROS') AS CATEGORIA,
+           SUM(VALOR) AS TOTAL,
+           COUNT(*) AS QUANTIDADE
+    FROM LB_TRANSACOES
+    GROUP BY ID_FINANCEIRO, TRUNC(DATA, 'MM'), TIPO, NVL(CATEGORIA, 'OUTROS')
+) r;
+
+COMMIT;
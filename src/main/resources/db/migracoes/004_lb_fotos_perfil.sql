@@ -0,0 +1,34 @@
+-- Fotos de perfil saem da linha do usuário (LB_USUARIOS.FOTO_PERFIL) para tabelas próprias:
+-- LB_FOTOS_PERFIL guarda os metadados (tipo, tamanho, SHA-256 usado como ETag) e
+-- LB_FOTOS_PERFIL_CONTEUDO o conteúdo, quando api.fotos.armazenamento=banco.
+-- O hash usa DBMS_CRYPTO (o usuário da aplicação precisa de EXECUTE nesse pacote durante a migração).
+CREATE TABLE LB_FOTOS_PERFIL (
+    ID_USUARIO    NUMBER(19)     NOT NULL,
+    CONTENT_TYPE  VARCHAR2(100)  NOT NULL,
+    TAMANHO       NUMBER(19)     NOT NULL,
+    HASH          VARCHAR2(64)   NOT NULL,
+    ATUALIZADA_EM TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT PK_FOTO_PERFIL PRIMARY KEY (ID_USUARIO)
+);
+
+CREATE TABLE LB_FOTOS_PERFIL_CONTEUDO (
+    ID_USUARIO NUMBER(19) NOT NULL,
+    CONTEUDO   BLOB       NOT NULL,
+    CONSTRAINT PK_FOTO_PERFIL_CONTEUDO PRIMARY KEY (ID_USUARIO)
+);
+
+-- As fotos antigas eram sempre servidas como PNG
+INSERT INTO LB_FOTOS_PERFIL (ID_USUARIO, CONTENT_TYPE, TAMANHO, HASH, ATUALIZADA_EM)
+SELECT ID_USUARIO, 'image/png', DBMS_LOB.GETLENGTH(FOTO_PERFIL),
+       LOWER(RAWTOHEX(DBMS_CRYPTO.HASH(FOTO_PERFIL, 4))), SYSTIMESTAMP
+FROM LB_USUARIOS
+WHERE FOTO_PERFIL IS NOT NULL;
+
+INSERT INTO LB_FOTOS_PERFIL_CONTEUDO (ID_USUARIO, CONTEUDO)
+SELECT ID_USUARIO, FOTO_PERFIL
+FROM LB_USUARIOS
+WHERE FOTO_PERFIL IS NOT NULL;
+
+COMMIT;
+
+ALTER TABLE LB_USUARIOS DROP COLUMN FOTO_PERFIL;
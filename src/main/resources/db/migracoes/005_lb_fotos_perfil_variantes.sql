@@ -0,0 +1,17 @@
+-- Versões reduzidas da foto de perfil (api.fotos.variantes, maior lado em pixels), geradas no upload.
+-- LB_FOTOS_PERFIL_CONTEUDO passa a guardar uma linha por versão: DIMENSAO = 0 é a original.
+-- Fotos enviadas antes desta migração ficam sem variantes e continuam servidas pela original até o próximo upload.
+CREATE TABLE LB_FOTOS_PERFIL_VARIANTES (
+    ID_USUARIO   NUMBER(19)    NOT NULL,
+    DIMENSAO     NUMBER(10)    NOT NULL,
+    CONTENT_TYPE VARCHAR2(100) NOT NULL,
+    TAMANHO      NUMBER(19)    NOT NULL,
+    HASH         VARCHAR2(64)  NOT NULL,
+    CONSTRAINT PK_FOTO_PERFIL_VARIANTE PRIMARY KEY (ID_USUARIO, DIMENSAO)
+);
+
+ALTER TABLE LB_FOTOS_PERFIL_CONTEUDO ADD DIMENSAO NUMBER(10) DEFAULT 0 NOT NULL;
+
+ALTER TABLE LB_FOTOS_PERFIL_CONTEUDO DROP CONSTRAINT PK_FOTO_PERFIL_CONTEUDO;
+
+ALTER TABLE LB_FOTOS_PERFIL_CONTEUDO ADD CONSTRAINT PK_FOTO_PERFIL_CONTEUDO PRIMARY KEY (ID_USUARIO, DIMENSAO);
@@ -0,0 +1,5 @@
+-- Controle de concorrência otimista (@Version) em LB_FINANCEIROS e LB_METAS_FINANCEIRAS.
+-- Linhas existentes começam na versão 0; os movimentos atômicos de saldo passam a incrementar a versão.
+ALTER TABLE LB_FINANCEIROS ADD VERSAO NUMBER(19) DEFAULT 0 NOT NULL;
+
+ALTER TABLE LB_METAS_FINANCEIRAS ADD VERSAO NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,24 @@
+-- Vínculo das transações de APLICACAO e RESGATE com a meta de origem (LB_TRANSACOES.ID_META).
+-- Rodar antes de subir a versão que contém Transacao.meta: cria a coluna, a chave estrangeira e o índice
+-- e preenche o histórico a partir da descrição ("Aplicação na meta: " / "Retirada da meta: " + nome).
+-- Só são vinculadas as transações cuja descrição aponta para exatamente uma meta do mesmo financeiro;
+-- as demais (metas excluídas ou nomes repetidos) ficam com ID_META nulo.
+ALTER TABLE LB_TRANSACOES ADD ID_META NUMBER(19);
+
+ALTER TABLE LB_TRANSACOES ADD CONSTRAINT FK_TRANSACAO_META
+    FOREIGN KEY (ID_META) REFERENCES LB_METAS_FINANCEIRAS (ID_META);
+
+CREATE INDEX IDX_TRANSACAO_META ON LB_TRANSACOES (ID_META);
+
+UPDATE LB_TRANSACOES t
+SET t.ID_META = (
+    SELECT MIN(m.ID_META)
+    FROM LB_METAS_FINANCEIRAS m
+    WHERE m.ID_FINANCEIRO = t.ID_FINANCEIRO
+      AND t.DESCRICAO = CASE t.TIPO WHEN 'APLICACAO' THEN 'Aplicação na meta: ' ELSE 'Retirada da meta: ' END || m.NOME
+    HAVING COUNT(*) = 1
+)
+WHERE t.TIPO IN ('APLICACAO', 'RESGATE')
+  AND t.ID_META IS NULL;
+
+COMMIT;
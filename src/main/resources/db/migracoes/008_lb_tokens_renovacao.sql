@@ -0,0 +1,17 @@
+-- Tokens de renovação (POST /auth/refresh): um por login ou renovação, guardados pelo SHA-256 do valor.
+-- Os revogados ficam até expirar para detectar reuso; os expirados são apagados no próximo login do usuário.
+CREATE SEQUENCE LB_TOKEN_RENOVACAO_SEQ START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE LB_TOKENS_RENOVACAO (
+    ID_TOKEN_RENOVACAO NUMBER(19)   NOT NULL,
+    HASH               VARCHAR2(64) NOT NULL,
+    USUARIO_ID         NUMBER(19)   NOT NULL,
+    CRIADO_EM          TIMESTAMP(6) NOT NULL,
+    EXPIRA_EM          TIMESTAMP(6) NOT NULL,
+    REVOGADO           NUMBER(1)    DEFAULT 0 NOT NULL,
+    CONSTRAINT PK_TOKEN_RENOVACAO PRIMARY KEY (ID_TOKEN_RENOVACAO),
+    CONSTRAINT UK_TOKEN_RENOVACAO_HASH UNIQUE (HASH),
+    CONSTRAINT FK_TOKEN_RENOVACAO_USUARIO FOREIGN KEY (USUARIO_ID) REFERENCES LB_USUARIOS (ID_USUARIO)
+);
+
+CREATE INDEX IX_TOKEN_RENOVACAO_USUARIO ON LB_TOKENS_RENOVACAO (USUARIO_ID, EXPIRA_EM);
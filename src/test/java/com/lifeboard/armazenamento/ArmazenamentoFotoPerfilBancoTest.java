@@ -0,0 +1,69 @@
+package com.lifeboard.armazenamento;
+
+import com.lifeboard.model.ChaveFotoPerfil;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ArmazenamentoFotoPerfilBancoTest {
+
+    private static final int TAMANHO = 8 * 1024 * 1024;
+
+    @Autowired
+    private ArmazenamentoFotoPerfil armazenamento;
+
+    @Autowired
+    @Qualifier("dataSourcePrimario")
+    private HikariDataSource pool;
+
+    @Test
+    void deveServirOConteudoAosPoucosSemCarregarOBlobInteiro() throws Exception {
+        var chave = new ChaveFotoPerfil(System.nanoTime(), ChaveFotoPerfil.ORIGINAL);
+        var conteudo = new byte[TAMANHO];
+        new Random(7).nextBytes(conteudo);
+        armazenamento.gravar(chave, conteudo);
+
+        var saida = new ByteArrayOutputStream(TAMANHO);
+        var memoria = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long conexoesAntes = pool.getHikariPoolMXBean().getActiveConnections();
+        long alocadoAntes = memoria.getCurrentThreadAllocatedBytes();
+
+        try (var entrada = armazenamento.abrir(chave, TAMANHO).getInputStream()) {
+            var inicio = entrada.readNBytes(16);
+
+            // Os primeiros bytes chegam sem que o BLOB inteiro tenha passado pelo heap
+            assertTrue(memoria.getCurrentThreadAllocatedBytes() - alocadoAntes < TAMANHO / 4);
+            assertArrayEquals(Arrays.copyOf(conteudo, 16), inicio);
+            // A conexão fica com o stream até ele ser fechado
+            assertEquals(conexoesAntes + 1, pool.getHikariPoolMXBean().getActiveConnections());
+
+            saida.write(inicio);
+            entrada.transferTo(saida);
+        }
+
+        assertArrayEquals(conteudo, saida.toByteArray());
+        assertEquals(conexoesAntes, pool.getHikariPoolMXBean().getActiveConnections());
+    }
+
+    @Test
+    void deveLiberarAConexaoQuandoOConteudoNaoExiste() {
+        long conexoesAntes = pool.getHikariPoolMXBean().getActiveConnections();
+
+        assertThrows(FileNotFoundException.class,
+                () -> armazenamento.abrir(new ChaveFotoPerfil(-1L, ChaveFotoPerfil.ORIGINAL), 10).getInputStream());
+        assertEquals(conexoesAntes, pool.getHikariPoolMXBean().getActiveConnections());
+    }
+}
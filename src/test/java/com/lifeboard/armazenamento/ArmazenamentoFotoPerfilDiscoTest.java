@@ -0,0 +1,91 @@
+package com.lifeboard.armazenamento;
+
+import com.lifeboard.model.ChaveFotoPerfil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArmazenamentoFotoPerfilDiscoTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void deveGravarSubstituirERemoverArquivoDoUsuario() throws Exception {
+        var armazenamento = new ArmazenamentoFotoPerfilDisco(diretorio);
+        var original = new ChaveFotoPerfil(7L, ChaveFotoPerfil.ORIGINAL);
+        var variante = new ChaveFotoPerfil(7L, 64);
+
+        armazenamento.gravar(original, "primeira".getBytes());
+        armazenamento.gravar(original, "segunda".getBytes());
+        armazenamento.gravar(variante, "mini".getBytes());
+
+        assertArrayEquals("segunda".getBytes(), armazenamento.abrir(original, 7).getContentAsByteArray());
+        assertArrayEquals("mini".getBytes(), armazenamento.abrir(variante, 4).getContentAsByteArray());
+        assertEquals(2, diretorio.toFile().list().length);
+
+        armazenamento.remover(variante);
+
+        assertFalse(armazenamento.abrir(variante, 4).exists());
+        assertTrue(armazenamento.abrir(original, 7).exists());
+    }
+
+    @Test
+    void deveSubstituirERemoverArquivosSomenteAposOCommit() throws Exception {
+        var armazenamento = new ArmazenamentoFotoPerfilDisco(diretorio);
+        var original = new ChaveFotoPerfil(7L, ChaveFotoPerfil.ORIGINAL);
+        var variante = new ChaveFotoPerfil(7L, 64);
+        armazenamento.gravar(original, "primeira".getBytes());
+        armazenamento.gravar(variante, "mini".getBytes());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            armazenamento.gravar(original, "segunda".getBytes());
+            armazenamento.remover(variante);
+
+            // Até o commit os arquivos continuam os que o banco ainda referencia
+            assertArrayEquals("primeira".getBytes(), armazenamento.abrir(original, 8).getContentAsByteArray());
+            assertTrue(armazenamento.abrir(variante, 4).exists());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertArrayEquals("segunda".getBytes(), armazenamento.abrir(original, 7).getContentAsByteArray());
+        assertFalse(armazenamento.abrir(variante, 4).exists());
+        assertEquals(1, diretorio.toFile().list().length);
+    }
+
+    @Test
+    void deveManterOsArquivosEApagarOTemporarioNoRollback() throws Exception {
+        var armazenamento = new ArmazenamentoFotoPerfilDisco(diretorio);
+        var original = new ChaveFotoPerfil(7L, ChaveFotoPerfil.ORIGINAL);
+        var nova = new ChaveFotoPerfil(8L, ChaveFotoPerfil.ORIGINAL);
+        armazenamento.gravar(original, "primeira".getBytes());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            armazenamento.gravar(nova, "sem commit".getBytes());
+            armazenamento.remover(original);
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Nenhum arquivo órfão da gravação desfeita, e a foto que o banco ainda referencia continua no disco
+        assertArrayEquals("primeira".getBytes(), armazenamento.abrir(original, 8).getContentAsByteArray());
+        assertFalse(armazenamento.abrir(nova, 10).exists());
+        assertEquals(1, diretorio.toFile().list().length);
+    }
+}
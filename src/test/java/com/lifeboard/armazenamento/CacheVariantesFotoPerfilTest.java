@@ -0,0 +1,69 @@
+package com.lifeboard.armazenamento;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheVariantesFotoPerfilTest {
+
+    private final CacheVariantesFotoPerfil cache = new CacheVariantesFotoPerfil(DataSize.ofKilobytes(64));
+
+    @Test
+    void deveLerDoArmazenamentoApenasNaPrimeiraVez() throws Exception {
+        var leituras = new AtomicInteger();
+        var origem = origem("mini", leituras);
+
+        var primeira = cache.abrir(1L, 64, "h1", origem).getContentAsByteArray();
+        var segunda = cache.abrir(1L, 64, "h1", origem).getContentAsByteArray();
+
+        assertArrayEquals(primeira, segunda);
+        assertEquals(1, leituras.get());
+        assertEquals(1, cache.estatisticas().hitCount());
+    }
+
+    @Test
+    void naoDeveLerNadaEnquantoOCorpoNaoForEscrito() {
+        var leituras = new AtomicInteger();
+
+        cache.abrir(1L, 64, "h1", origem("mini", leituras));
+
+        assertEquals(0, leituras.get());
+        assertEquals(0, cache.tamanho());
+    }
+
+    @Test
+    void deveTratarHashNovoComoOutraEntradaELiberarMemoriaAoInvalidar() throws Exception {
+        var leituras = new AtomicInteger();
+
+        cache.abrir(1L, 64, "h1", origem("antiga", leituras)).getContentAsByteArray();
+        var nova = cache.abrir(1L, 64, "h2", origem("nova", leituras)).getContentAsByteArray();
+
+        assertArrayEquals("nova".getBytes(), nova);
+        assertEquals(2, leituras.get());
+
+        cache.invalidar(1L);
+        assertEquals(0, cache.tamanho());
+    }
+
+    private static ByteArrayResource origem(String conteudo, AtomicInteger leituras) {
+        return new ByteArrayResource(conteudo.getBytes()) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                leituras.incrementAndGet();
+                return super.getInputStream();
+            }
+
+            @Override
+            public byte[] getContentAsByteArray() {
+                leituras.incrementAndGet();
+                return super.getByteArray();
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.lifeboard.armazenamento;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeradorVariantesFotoPerfilTest {
+
+    private final GeradorVariantesFotoPerfil gerador = new GeradorVariantesFotoPerfil(List.of(512, 64, 128));
+
+    @Test
+    void deveGerarApenasVariantesMenoresQueAOriginalMantendoProporcao() throws Exception {
+        var variantes = gerador.gerar(imagem(300, 150, BufferedImage.TYPE_INT_RGB, "png"));
+
+        assertEquals(List.of(64, 128), variantes.stream().map(GeradorVariantesFotoPerfil.VarianteGerada::dimensao).toList());
+
+        var reduzida = ImageIO.read(new ByteArrayInputStream(variantes.get(1).conteudo()));
+        assertEquals(128, reduzida.getWidth());
+        assertEquals(64, reduzida.getHeight());
+        assertEquals(MediaType.IMAGE_JPEG_VALUE, variantes.get(1).contentType());
+    }
+
+    @Test
+    void deveManterPngQuandoAImagemTemTransparencia() throws Exception {
+        var variantes = gerador.gerar(imagem(100, 100, BufferedImage.TYPE_INT_ARGB, "png"));
+
+        assertEquals(1, variantes.size());
+        assertEquals(MediaType.IMAGE_PNG_VALUE, variantes.get(0).contentType());
+    }
+
+    @Test
+    void naoDeveGerarVariantesDeFormatoDesconhecido() throws Exception {
+        assertTrue(gerador.gerar("nao e imagem".getBytes()).isEmpty());
+    }
+
+    private static byte[] imagem(int largura, int altura, int tipo, String formato) throws Exception {
+        var saida = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(largura, altura, tipo), formato, saida);
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package com.lifeboard.benchmark;
+
+import com.lifeboard.security.CodificadorSenhas;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Vazão da conferência de senha do login por custo do BCrypt, com todas as threads do JMH disputando a CPU:
+// direto na thread chamadora (como era antes) e pelo pool limitado do CodificadorSenhas (metade dos núcleos).
+// Cada unidade de custo deve dividir a vazão por dois; o pool troca vazão de login por núcleos livres para o resto.
+// Execução: rodar o main desta classe pela IDE ou "mvn test-compile" + org.openjdk.jmh.Main no classpath de testes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(Threads.MAX)
+@Fork(1)
+public class LoginBcryptBenchmark {
+
+    private static final String SENHA = "senha-benchmark";
+
+    @Param({"8", "10", "12"})
+    private int custo;
+
+    private BCryptPasswordEncoder direto;
+    private CodificadorSenhas pool;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        direto = new BCryptPasswordEncoder(custo);
+        // Fila grande: aqui interessa a vazão, não a recusa com 503
+        pool = new CodificadorSenhas(custo, Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 10_000);
+        hash = direto.encode(SENHA);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public boolean loginDireto() {
+        return direto.matches(SENHA, hash);
+    }
+
+    @Benchmark
+    public boolean loginPeloPool() {
+        return pool.matches(SENHA, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginBcryptBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+package com.lifeboard.benchmark;
+
+import com.lifeboard.LifeboardBackendJavaApplication;
+import com.lifeboard.dto.meta.MetaFinanceiraSaveRequestDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.model.MetaFinanceira;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.repository.MetaFinanceiraRepository;
+import com.lifeboard.service.MetaFinanceiraService;
+import com.lifeboard.service.TransacaoService;
+import com.lifeboard.service.UsuarioService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Compara a aplicação + resgate em meta como era feita antes (meta e financeiro carregados, meta salva inteira,
+// transação criada pelo TransacaoService.salvar) com a transferência por UPDATEs condicionais do MetaFinanceiraService.
+// Cada operação aplica e resgata o mesmo valor, para o estado não mudar entre as iterações.
+// Além da latência, o fim de cada trial mostra quantos comandos SQL e carregamentos de entidade cada operação
+// custou (Hibernate Statistics).
+// Execução: rodar o main desta classe pela IDE ou "mvn test-compile" + org.openjdk.jmh.Main no classpath de testes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovimentacaoMetaBenchmark {
+
+    private static final BigDecimal VALOR = new BigDecimal("10.00");
+
+    private ConfigurableApplicationContext contexto;
+    private MetaFinanceiraService metaService;
+    private MetaFinanceiraRepository metaRepository;
+    private TransacaoService transacaoService;
+    private TransactionTemplate transacao;
+    private Statistics estatisticas;
+    private Long idFinanceiro;
+    private Long idMeta;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexto = new SpringApplicationBuilder(LifeboardBackendJavaApplication.class)
+                .profiles("test")
+                .properties("spring.main.web-application-type=none", "logging.level.root=WARN")
+                .run();
+
+        metaService = contexto.getBean(MetaFinanceiraService.class);
+        metaRepository = contexto.getBean(MetaFinanceiraRepository.class);
+        transacaoService = contexto.getBean(TransacaoService.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        estatisticas = contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        var usuarioService = contexto.getBean(UsuarioService.class);
+        var usuario = usuarioService.salvar(new UsuarioRequestDTO("Benchmark", "benchmark-meta@lifeboard.com", "123456"));
+        idFinanceiro = usuarioService.buscarEntidadePorId(usuario.getId()).getFinanceiro().getId();
+
+        transacaoService.salvar(new TransacaoRequestDTO("Depósito", new BigDecimal("1000.00"), TipoTransacao.ENTRADA,
+                CategoriaTransacao.OUTROS, idFinanceiro));
+        idMeta = metaService.salvar(new MetaFinanceiraSaveRequestDTO("Benchmark", new BigDecimal("5000.00"),
+                BigDecimal.ZERO, LocalDate.now().plusYears(1), idFinanceiro)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nPor operação (aplicação + resgate): %.1f comandos SQL, %.1f entidades carregadas%n",
+                (double) estatisticas.getPrepareStatementCount() / operacoes,
+                (double) estatisticas.getEntityLoadCount() / operacoes);
+        contexto.close();
+    }
+
+    // Zera as estatísticas a cada iteração, para o total do trial contar só as operações medidas
+    @Setup(Level.Iteration)
+    public void zerarContadores() {
+        estatisticas.clear();
+        operacoes = 0;
+    }
+
+    private long operacoes;
+
+    @Benchmark
+    public void caminhoAnterior() {
+        transacao.executeWithoutResult(status -> movimentarComoAntes(TipoTransacao.APLICACAO));
+        transacao.executeWithoutResult(status -> movimentarComoAntes(TipoTransacao.RESGATE));
+        operacoes++;
+    }
+
+    @Benchmark
+    public void caminhoAtomico() {
+        metaService.adicionarSaldo(idMeta, VALOR);
+        metaService.retirarSaldo(idMeta, VALOR);
+        operacoes++;
+    }
+
+    // Reprodução do MetaFinanceiraService.adicionarSaldo/retirarSaldo anteriores
+    private void movimentarComoAntes(TipoTransacao tipo) {
+        MetaFinanceira meta = metaService.buscarEntidadePorId(idMeta);
+        boolean aplicacao = tipo == TipoTransacao.APLICACAO;
+
+        if (aplicacao && meta.getFinanceiro().getSaldoAtual().compareTo(VALOR) < 0) {
+            throw new BadRequestException("Saldo insuficiente");
+        }
+
+        meta.setValorAtual(aplicacao ? meta.getValorAtual().add(VALOR) : meta.getValorAtual().subtract(VALOR));
+        metaService.definirStatusMetaFinanceiro(meta);
+        metaRepository.save(meta);
+
+        String descricao = (aplicacao ? TransacaoService.DESCRICAO_APLICACAO : TransacaoService.DESCRICAO_RESGATE) + meta.getNome();
+        transacaoService.salvar(new TransacaoRequestDTO(descricao, VALOR, tipo, CategoriaTransacao.INVESTIMENTO, idFinanceiro));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MovimentacaoMetaBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
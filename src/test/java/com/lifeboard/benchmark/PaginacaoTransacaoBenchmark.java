@@ -0,0 +1,169 @@
+package com.lifeboard.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Compara a paginação por OFFSET + count(*) (Page do Spring Data) com a paginação por cursor (keyset)
+// sobre a mesma tabela e o mesmo índice (id_financeiro, data, id_transacao), da página 1 à 10.000.
+// O OFFSET cresce linearmente com a página; o cursor mantém a latência estável.
+// Execução: rodar o main desta classe pela IDE ou "mvn test-compile" + org.openjdk.jmh.Main no classpath de testes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginacaoTransacaoBenchmark {
+
+    private static final long ID_FINANCEIRO = 1L;
+    private static final int TAMANHO_PAGINA = 10;
+    private static final int TOTAL_TRANSACOES = 10_000 * TAMANHO_PAGINA;
+
+    private static final String SQL_OFFSET = """
+            select id_transacao, descricao, valor, tipo, data, categoria, id_financeiro
+            from lb_transacoes
+            where id_financeiro = ?
+            order by id_financeiro desc, data desc, id_transacao desc
+            offset ? rows fetch next ? rows only
+            """;
+
+    private static final String SQL_COUNT = "select count(*) from lb_transacoes where id_financeiro = ?";
+
+    private static final String SQL_CURSOR = """
+            select id_transacao, descricao, valor, tipo, data, categoria, id_financeiro
+            from lb_transacoes
+            where id_financeiro = ?
+              and data <= ? and (data < ? or id_transacao < ?)
+            order by id_financeiro desc, data desc, id_transacao desc
+            fetch first ? rows only
+            """;
+
+    @Param({"1", "100", "1000", "10000"})
+    public int pagina;
+
+    private Connection conexao;
+    private Timestamp dataDoCursor;
+    private long idDoCursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        conexao = DriverManager.getConnection("jdbc:h2:mem:paginacao;MODE=Oracle;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE;QUERY_CACHE_SIZE=0");
+
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("drop table if exists lb_transacoes");
+            ddl.execute("""
+                    create table lb_transacoes (
+                        id_transacao number(19) primary key,
+                        descricao varchar2(100) not null,
+                        valor number(38, 2) not null,
+                        tipo varchar2(15) not null,
+                        data timestamp not null,
+                        categoria varchar2(50),
+                        id_financeiro number(19) not null
+                    )
+                    """);
+            ddl.execute("create index idx_transacao_fin_data on lb_transacoes (id_financeiro, data, id_transacao)");
+        }
+
+        // Três transações por segundo, para haver empates de data desempatados pelo id
+        var inicio = LocalDateTime.of(2020, 1, 1, 0, 0);
+        conexao.setAutoCommit(false);
+        try (PreparedStatement insert = conexao.prepareStatement("insert into lb_transacoes values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= TOTAL_TRANSACOES; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "Transação " + i);
+                insert.setBigDecimal(3, BigDecimal.TEN);
+                insert.setString(4, "SAIDA");
+                insert.setTimestamp(5, Timestamp.valueOf(inicio.plusSeconds(i / 3)));
+                insert.setString(6, "OUTROS");
+                insert.setLong(7, ID_FINANCEIRO);
+                insert.addBatch();
+                if (i % 1_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+        conexao.commit();
+        conexao.setAutoCommit(true);
+
+        // O cliente chega à página N com o cursor da última linha da página N - 1
+        int linhasAnteriores = (pagina - 1) * TAMANHO_PAGINA;
+        if (linhasAnteriores == 0) {
+            dataDoCursor = Timestamp.valueOf(LocalDateTime.of(9999, 12, 31, 0, 0));
+            idDoCursor = Long.MAX_VALUE;
+            return;
+        }
+        try (PreparedStatement consulta = conexao.prepareStatement(SQL_OFFSET)) {
+            consulta.setLong(1, ID_FINANCEIRO);
+            consulta.setInt(2, linhasAnteriores - 1);
+            consulta.setInt(3, 1);
+            try (ResultSet rs = consulta.executeQuery()) {
+                rs.next();
+                idDoCursor = rs.getLong("id_transacao");
+                dataDoCursor = rs.getTimestamp("data");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("drop table lb_transacoes");
+        }
+        conexao.close();
+    }
+
+    @Benchmark
+    public void offsetComCount(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement consulta = conexao.prepareStatement(SQL_OFFSET)) {
+            consulta.setLong(1, ID_FINANCEIRO);
+            consulta.setInt(2, (pagina - 1) * TAMANHO_PAGINA);
+            consulta.setInt(3, TAMANHO_PAGINA);
+            consumir(consulta, blackhole);
+        }
+        try (PreparedStatement total = conexao.prepareStatement(SQL_COUNT)) {
+            total.setLong(1, ID_FINANCEIRO);
+            consumir(total, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void cursor(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement consulta = conexao.prepareStatement(SQL_CURSOR)) {
+            consulta.setLong(1, ID_FINANCEIRO);
+            consulta.setTimestamp(2, dataDoCursor);
+            consulta.setTimestamp(3, dataDoCursor);
+            consulta.setLong(4, idDoCursor);
+            consulta.setInt(5, TAMANHO_PAGINA + 1);
+            consumir(consulta, blackhole);
+        }
+    }
+
+    private static void consumir(PreparedStatement consulta, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = consulta.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PaginacaoTransacaoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
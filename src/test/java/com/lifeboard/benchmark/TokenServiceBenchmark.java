@@ -0,0 +1,66 @@
+package com.lifeboard.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.lifeboard.model.Usuario;
+import com.lifeboard.service.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Compara a verificação do JWT como era feita antes (Algorithm + JWTVerifier recriados a cada chamada)
+// com o verificador reaproveitado e o cache de tokens verificados do TokenService.
+// Execução: rodar o main desta classe pela IDE ou "mvn test-compile" + org.openjdk.jmh.Main no classpath de testes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "segredo-benchmark";
+
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "tamanhoMaximoCache", 10_000L);
+        ReflectionTestUtils.setField(tokenService, "expiracao", Duration.ofMinutes(15));
+        tokenService.inicializar();
+
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail("benchmark@lifeboard.com");
+        token = tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String caminhoAnterior() {
+        var algoritmo = Algorithm.HMAC256(SECRET);
+        return JWT.require(algoritmo)
+                .withIssuer("API LifeBoard")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String caminhoComCache() {
+        return tokenService.getSubject(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
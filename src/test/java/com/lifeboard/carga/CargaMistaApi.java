@@ -0,0 +1,297 @@
+package com.lifeboard.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.LifeboardBackendJavaApplication;
+import com.lifeboard.carga.GeradorDadosSinteticos.UsuarioGerado;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+// Teste de carga HTTP com o mix de operações do uso real sobre um volume de produção. Sobe a aplicação com o perfil
+// de teste (H2), popula o banco com o GeradorDadosSinteticos (propriedades gerador.*) e dispara N clientes
+// (padrão 200), cada um autenticado como um usuário gerado, que repetem em malha fechada, sorteadas pelos pesos de
+// carga.mix (padrão login:5,listagem:60,transacao:25,deposito:10):
+//   login     POST /auth/login
+//   listagem  GET  /api/transacoes/financeiro/{id}/cursor?tamanho=20
+//   transacao POST /api/transacoes
+//   deposito  POST /api/metas/{id}/adicionar-saldo
+// Mede por carga.duracao (30s) após carga.aquecimento (10s) e imprime vazão e latências p50/p99/p99.9 por operação.
+// Com -Dcarga.banco=<url> usa o H2 em arquivo já populado pelo main do gerador, sem gerar de novo.
+// Cada comando SQL pode esperar carga.latencia-banco milissegundos (padrão 0), como no CargaThreadsVirtuais.
+// Execução: "mvn test-compile" e rodar o main desta classe com o classpath de testes, por exemplo
+//   java -Xmx4g -Dgerador.transacoes=2000000 -Dcarga.clientes=200 -cp target/test-classes:target/classes:<dependências> \
+//        com.lifeboard.carga.CargaMistaApi
+public class CargaMistaApi {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final int clientes = Integer.getInteger("carga.clientes", 200);
+    private final Duration duracao = Duration.parse("PT" + System.getProperty("carga.duracao", "30s"));
+    private final Duration aquecimento = Duration.parse("PT" + System.getProperty("carga.aquecimento", "10s"));
+    private final long latenciaBancoEmMillis = Long.getLong("carga.latencia-banco", 0);
+    private final int pool = Integer.getInteger("carga.pool", 50);
+    private final String banco = System.getProperty("carga.banco");
+    private final Mix mix = Mix.de(System.getProperty("carga.mix", "login:5,listagem:60,transacao:25,deposito:10"));
+
+    // Poucas threads no cliente para não disputar a CPU com o servidor embutido
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(2))
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private enum Operacao { LOGIN, LISTAGEM, TRANSACAO, DEPOSITO }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        new CargaMistaApi().executar();
+        System.exit(0);
+    }
+
+    private void executar() throws Exception {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging.level.root=WARN",
+                "--carga.latencia-banco=" + latenciaBancoEmMillis,
+                "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                "--api.datasource.replica.maximum-pool-size=" + pool,
+                "--spring.jpa.properties.hibernate.generate_statistics=false"));
+        String[] argumentosDoContexto = banco != null
+                ? GeradorDadosSinteticos.argumentosDoBanco(banco, argumentos.toArray(String[]::new))
+                : argumentos.toArray(String[]::new);
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(LifeboardBackendJavaApplication.class,
+                CargaThreadsVirtuais.LatenciaBancoSimulada.class)
+                .profiles("test")
+                .run(argumentosDoContexto);
+
+        try {
+            List<UsuarioGerado> usuarios;
+            if (banco != null) {
+                usuarios = GeradorDadosSinteticos.carregarUsuarios(contexto.getBean("dataSourcePrimario", DataSource.class), clientes);
+                System.out.printf("%d usuários de carga carregados de %s%n", usuarios.size(), banco);
+            } else {
+                var dados = GeradorDadosSinteticos.doContexto(contexto).gerar(GeradorDadosSinteticos.Configuracao.dasPropriedades());
+                dados.imprimir();
+                usuarios = dados.usuarios();
+            }
+            if (usuarios.isEmpty()) {
+                throw new IllegalStateException("Nenhum usuário de carga no banco");
+            }
+
+            var url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            var execucao = new Execucao(url, System.nanoTime() + aquecimento.toNanos());
+            for (int i = 0; i < clientes; i++) {
+                var cliente = new Cliente(usuarios.get(i % usuarios.size()), i);
+                cliente.token = login(url, cliente.usuario.email());
+                execucao.enviar(cliente);
+            }
+            execucao.concluidos.await();
+
+            imprimir(execucao);
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private void imprimir(Execucao execucao) {
+        System.out.printf("%n%d clientes, %ds medidos após %ds de aquecimento, mix %s%n", clientes,
+                duracao.toSeconds(), aquecimento.toSeconds(), mix);
+        System.out.printf("%-12s %10s %10s %10s %10s %10s %8s%n", "operação", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "erros");
+
+        List<Latencias> todas = new ArrayList<>();
+        long erros = 0;
+        for (var operacao : Operacao.values()) {
+            var latencias = execucao.latencias.get(operacao);
+            todas.addAll(latencias);
+            erros += execucao.erros.get(operacao).sum();
+            imprimirLinha(operacao.name().toLowerCase(), Latencias.juntar(latencias), execucao.erros.get(operacao).sum());
+        }
+        imprimirLinha("total", Latencias.juntar(todas), erros);
+    }
+
+    private void imprimirLinha(String nome, long[] latencias, long erros) {
+        System.out.printf("%-12s %10.0f %10.1f %10.1f %10.1f %10.1f %8d%n", nome,
+                latencias.length / (duracao.toNanos() / 1e9), Latencias.percentil(latencias, 0.50),
+                Latencias.percentil(latencias, 0.99), Latencias.percentil(latencias, 0.999),
+                Latencias.percentil(latencias, 1.0), erros);
+    }
+
+    // Cada cliente mantém uma única requisição em andamento e envia a próxima assim que recebe a resposta
+    // (carga em malha fechada), sem uma thread por cliente
+    private class Execucao {
+        private final String url;
+        private final long inicioMedicao;
+        private final long fim;
+        private final Map<Operacao, List<Latencias>> latencias = new EnumMap<>(Operacao.class);
+        private final Map<Operacao, LongAdder> erros = new EnumMap<>(Operacao.class);
+        private final CountDownLatch concluidos = new CountDownLatch(clientes);
+
+        private Execucao(String url, long inicioMedicao) {
+            this.url = url;
+            this.inicioMedicao = inicioMedicao;
+            this.fim = inicioMedicao + duracao.toNanos();
+            for (var operacao : Operacao.values()) {
+                latencias.put(operacao, new ArrayList<>());
+                erros.put(operacao, new LongAdder());
+            }
+        }
+
+        private void enviar(Cliente cliente) {
+            if (System.nanoTime() >= fim) {
+                synchronized (latencias) {
+                    cliente.latencias.forEach((operacao, valores) -> latencias.get(operacao).add(valores));
+                }
+                concluidos.countDown();
+                return;
+            }
+
+            var operacao = mix.sortear(cliente.aleatorio);
+            if (operacao == Operacao.DEPOSITO && cliente.usuario.idsMetas().isEmpty()) {
+                operacao = Operacao.LISTAGEM;
+            }
+            var escolhida = operacao;
+
+            long inicio = System.nanoTime();
+            http.sendAsync(requisicao(cliente, escolhida), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((resposta, erro) -> {
+                        boolean sucesso = erro == null && resposta.statusCode() / 100 == 2;
+                        if (inicio >= inicioMedicao) {
+                            if (sucesso) {
+                                cliente.latencias.get(escolhida).adicionar(System.nanoTime() - inicio);
+                            } else {
+                                erros.get(escolhida).increment();
+                            }
+                        }
+                        if (sucesso && escolhida == Operacao.LOGIN) {
+                            cliente.token = token(resposta.body());
+                        }
+                        enviar(cliente);
+                    });
+        }
+
+        private HttpRequest requisicao(Cliente cliente, Operacao operacao) {
+            var usuario = cliente.usuario;
+            var aleatorio = cliente.aleatorio;
+            return switch (operacao) {
+                case LOGIN -> json(url + "/auth/login", credenciais(usuario.email())).build();
+                case LISTAGEM -> autenticada(HttpRequest.newBuilder(URI.create(url + "/api/transacoes/financeiro/"
+                        + usuario.idFinanceiro() + "/cursor?tamanho=20")), cliente).GET().build();
+                case TRANSACAO -> {
+                    boolean entrada = aleatorio.nextInt(4) == 0;
+                    var corpo = JSON.createObjectNode()
+                            .put("descricao", entrada ? "Recebimento" : "Pagamento")
+                            .put("valor", BigDecimal.valueOf(entrada ? 10_000 + aleatorio.nextInt(90_000) : 100 + aleatorio.nextInt(4_900), 2))
+                            .put("tipo", entrada ? "ENTRADA" : "SAIDA")
+                            .put("categoria", entrada ? "SALARIO" : "ALIMENTACAO")
+                            .put("id_financeiro", usuario.idFinanceiro());
+                    yield autenticada(json(url + "/api/transacoes", corpo.toString()), cliente).build();
+                }
+                case DEPOSITO -> {
+                    long idMeta = usuario.idsMetas().get(aleatorio.nextInt(usuario.idsMetas().size()));
+                    var corpo = JSON.createObjectNode().put("valor", BigDecimal.valueOf(100 + aleatorio.nextInt(1_900), 2));
+                    yield autenticada(json(url + "/api/metas/" + idMeta + "/adicionar-saldo", corpo.toString()), cliente).build();
+                }
+            };
+        }
+    }
+
+    private static class Cliente {
+        private final UsuarioGerado usuario;
+        private final SplittableRandom aleatorio;
+        private final Map<Operacao, Latencias> latencias = new EnumMap<>(Operacao.class);
+        private volatile String token;
+
+        private Cliente(UsuarioGerado usuario, long semente) {
+            this.usuario = usuario;
+            this.aleatorio = new SplittableRandom(semente);
+            for (var operacao : Operacao.values()) {
+                latencias.put(operacao, new Latencias());
+            }
+        }
+    }
+
+    // Pesos das operações, por exemplo "login:5,listagem:60,transacao:25,deposito:10"
+    private record Mix(Operacao[] operacoes, int[] acumulados, String descricao) {
+
+        static Mix de(String texto) {
+            List<Operacao> operacoes = new ArrayList<>();
+            List<Integer> acumulados = new ArrayList<>();
+            int soma = 0;
+            for (var parte : texto.split(",")) {
+                var pesoDaOperacao = parte.trim().split(":");
+                int peso = Integer.parseInt(pesoDaOperacao[1].trim());
+                if (peso > 0) {
+                    soma += peso;
+                    operacoes.add(Operacao.valueOf(pesoDaOperacao[0].trim().toUpperCase()));
+                    acumulados.add(soma);
+                }
+            }
+            if (operacoes.isEmpty()) {
+                throw new IllegalArgumentException("carga.mix sem nenhuma operação: " + texto);
+            }
+            return new Mix(operacoes.toArray(Operacao[]::new), acumulados.stream().mapToInt(Integer::intValue).toArray(), texto);
+        }
+
+        Operacao sortear(SplittableRandom aleatorio) {
+            int sorteio = aleatorio.nextInt(acumulados[acumulados.length - 1]);
+            for (int i = 0; i < acumulados.length; i++) {
+                if (sorteio < acumulados[i]) {
+                    return operacoes[i];
+                }
+            }
+            return operacoes[operacoes.length - 1];
+        }
+
+        @Override
+        public String toString() {
+            return descricao;
+        }
+    }
+
+    private String login(String url, String email) throws Exception {
+        var resposta = http.send(json(url + "/auth/login", credenciais(email)).build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Falha na preparação da carga: " + resposta.statusCode() + " " + resposta.body());
+        }
+        return token(resposta.body());
+    }
+
+    private static String credenciais(String email) {
+        return JSON.createObjectNode().put("email", email).put("senha", GeradorDadosSinteticos.SENHA).toString();
+    }
+
+    private static String token(String corpo) {
+        try {
+            return JSON.readTree(corpo).get("token").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException("Resposta de login inválida: " + corpo, e);
+        }
+    }
+
+    private static HttpRequest.Builder json(String url, String corpo) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo));
+    }
+
+    private static HttpRequest.Builder autenticada(HttpRequest.Builder requisicao, Cliente cliente) {
+        return requisicao.header("Authorization", "Bearer " + cliente.token).timeout(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,257 @@
+package com.lifeboard.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.LifeboardBackendJavaApplication;
+import com.lifeboard.concorrencia.MonitorFixacaoThreadsVirtuais;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+// Teste de carga HTTP que compara o modo padrão (pool de threads de plataforma do Tomcat) com o perfil "virtual".
+// Sobe a aplicação duas vezes com o perfil de teste (H2), cria um usuário, autentica e dispara N clientes simultâneos
+// (padrão 2.000) contra GET /api/financeiros/{id} por um tempo fixo, descartando o aquecimento.
+// O H2 em memória responde em microssegundos; para a comparação refletir o I/O do Oracle, cada comando SQL
+// espera "carga.latencia-banco" milissegundos (padrão 20) antes de executar.
+// Com -Dcarga.url=http://host:porta roda uma única vez contra uma instância já em execução (sem latência simulada).
+// Execução: "mvn test-compile" e rodar o main desta classe com o classpath de testes, por exemplo
+//   java -Dcarga.clientes=2000 -Dcarga.duracao=30s -cp target/test-classes:target/classes:<dependências> \
+//        com.lifeboard.carga.CargaThreadsVirtuais
+public class CargaThreadsVirtuais {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final int clientes = Integer.getInteger("carga.clientes", 2000);
+    private final Duration duracao = Duration.parse("PT" + System.getProperty("carga.duracao", "30s"));
+    private final Duration aquecimento = Duration.parse("PT" + System.getProperty("carga.aquecimento", "10s"));
+    private final long latenciaBancoEmMillis = Long.getLong("carga.latencia-banco", 20);
+    private final int pool = Integer.getInteger("carga.pool", 50);
+
+    // Poucas threads no cliente: no modo embutido, milhares de threads do cliente disputariam a CPU com o servidor
+    // e distorceriam a comparação
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(2))
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        // O restart do devtools só é desligado por propriedade de sistema, antes de a aplicação subir
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        var carga = new CargaThreadsVirtuais();
+        String url = System.getProperty("carga.url");
+
+        List<Resultado> resultados = new ArrayList<>();
+        if (url != null) {
+            resultados.add(carga.executar("externo", url));
+        } else {
+            resultados.add(carga.executarEmbutido("plataforma"));
+            resultados.add(carga.executarEmbutido("virtual"));
+        }
+
+        System.out.printf("%n%d clientes, %ds medidos após %ds de aquecimento%n", carga.clientes,
+                carga.duracao.toSeconds(), carga.aquecimento.toSeconds());
+        System.out.printf("%-12s %10s %10s %10s %10s %10s %8s%n", "modo", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "erros");
+        resultados.forEach(Resultado::imprimir);
+        System.exit(0);
+    }
+
+    private Resultado executarEmbutido(String modo) throws Exception {
+        List<String> perfis = new ArrayList<>(List.of("test"));
+        if (modo.equals("virtual")) {
+            perfis.add("virtual");
+        }
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(LifeboardBackendJavaApplication.class,
+                LatenciaBancoSimulada.class)
+                .profiles(perfis.toArray(String[]::new))
+                // Argumentos de linha de comando têm precedência sobre os arquivos de perfil (por exemplo, o tamanho do pool)
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--logging.level.root=WARN",
+                        "--carga.latencia-banco=" + latenciaBancoEmMillis,
+                        "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                        "--api.datasource.replica.maximum-pool-size=" + pool,
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+
+        try {
+            var resultado = executar(modo, "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port"));
+
+            contexto.getBeanProvider(MonitorFixacaoThreadsVirtuais.class).ifAvailable(monitor ->
+                    System.out.printf("[%s] fixações de threads virtuais: %d %s%n", modo, monitor.getFixacoes(), monitor.porOrigem()));
+
+            return resultado;
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private Resultado executar(String modo, String url) throws Exception {
+        String email = "carga-" + System.nanoTime() + "@lifeboard.com";
+        JsonNode usuario = enviar(HttpRequest.newBuilder(URI.create(url + "/api/usuarios"))
+                .POST(corpo("{\"nome\":\"Carga\",\"email\":\"" + email + "\",\"senha\":\"123456\"}")));
+        String token = enviar(HttpRequest.newBuilder(URI.create(url + "/auth/login"))
+                .POST(corpo("{\"email\":\"" + email + "\",\"senha\":\"123456\"}"))).get("token").asText();
+        long idFinanceiro = enviar(HttpRequest.newBuilder(URI.create(url + "/api/usuarios/" + usuario.get("id_usuario").asLong()))
+                .header("Authorization", "Bearer " + token)
+                .GET()).get("id_financeiro").asLong();
+
+        var requisicao = HttpRequest.newBuilder(URI.create(url + "/api/financeiros/" + idFinanceiro))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        System.out.printf("[%s] %d clientes contra %s%n", modo, clientes, url);
+
+        var carga = new Execucao(requisicao, System.nanoTime() + aquecimento.toNanos());
+        for (int i = 0; i < clientes; i++) {
+            carga.enviar(new Latencias());
+        }
+        carga.concluidos.await();
+
+        return new Resultado(modo, duracao, Latencias.juntar(carga.latencias), carga.erros.sum());
+    }
+
+    // Cada cliente mantém uma única requisição em andamento e envia a próxima assim que recebe a resposta
+    // (carga em malha fechada), sem uma thread por cliente
+    private class Execucao {
+        private final HttpRequest requisicao;
+        private final long inicioMedicao;
+        private final long fim;
+        private final LongAdder erros = new LongAdder();
+        private final List<Latencias> latencias = new CopyOnWriteArrayList<>();
+        private final CountDownLatch concluidos = new CountDownLatch(clientes);
+
+        private Execucao(HttpRequest requisicao, long inicioMedicao) {
+            this.requisicao = requisicao;
+            this.inicioMedicao = inicioMedicao;
+            this.fim = inicioMedicao + duracao.toNanos();
+        }
+
+        private void enviar(Latencias latenciasDoCliente) {
+            if (System.nanoTime() >= fim) {
+                latencias.add(latenciasDoCliente);
+                concluidos.countDown();
+                return;
+            }
+
+            long inicio = System.nanoTime();
+            http.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        if (inicio >= inicioMedicao) {
+                            if (erro == null && resposta.statusCode() == 200) {
+                                latenciasDoCliente.adicionar(System.nanoTime() - inicio);
+                            } else {
+                                erros.increment();
+                            }
+                        }
+                        enviar(latenciasDoCliente);
+                    });
+        }
+    }
+
+    private JsonNode enviar(HttpRequest.Builder requisicao) throws Exception {
+        requisicao.header("Content-Type", "application/json");
+        var resposta = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() >= 300) {
+            throw new IllegalStateException("Falha na preparação da carga: " + resposta.statusCode() + " " + resposta.body());
+        }
+        return JSON.readTree(resposta.body());
+    }
+
+    private static HttpRequest.BodyPublisher corpo(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+
+    private record Resultado(String modo, Duration duracao, long[] latencias, long erros) {
+
+        void imprimir() {
+            System.out.printf("%-12s %10.0f %10.1f %10.1f %10.1f %10.1f %8d%n", modo,
+                    latencias.length / (duracao.toNanos() / 1e9), Latencias.percentil(latencias, 0.50),
+                    Latencias.percentil(latencias, 0.99), Latencias.percentil(latencias, 0.999),
+                    Latencias.percentil(latencias, 1.0), erros);
+        }
+    }
+
+    // Atrasa a execução de cada comando SQL, como a ida e volta de rede até o Oracle.
+    // Usa Thread.sleep, que libera a portadora em threads virtuais, assim como o I/O de socket do driver.
+    public static class LatenciaBancoSimulada implements BeanPostProcessor {
+
+        private final long latenciaEmMillis;
+
+        public LatenciaBancoSimulada(Environment ambiente) {
+            this.latenciaEmMillis = ambiente.getProperty("carga.latencia-banco", Long.class, 0L);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nome) {
+            // Só o DataSource usado pela aplicação: os pools e o roteamento por trás dele são tipados pela configuração
+            // e não podem virar proxies de DataSource (nem atrasar o mesmo comando duas vezes)
+            if (latenciaEmMillis <= 0 || !"dataSource".equals(nome) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return envolver(DataSource.class, dataSource, (alvo, metodo, argumentos) -> {
+                Object resultado = metodo.invoke(alvo, argumentos);
+                return resultado instanceof Connection conexao ? envolverConexao(conexao) : resultado;
+            });
+        }
+
+        private Connection envolverConexao(Connection conexao) {
+            return envolver(Connection.class, conexao, (alvo, metodo, argumentos) -> {
+                Object resultado = metodo.invoke(alvo, argumentos);
+                if (resultado instanceof PreparedStatement comando) {
+                    return envolver(PreparedStatement.class, comando, this::executarComAtraso);
+                }
+                if (resultado instanceof Statement comando) {
+                    return envolver(Statement.class, comando, this::executarComAtraso);
+                }
+                return resultado;
+            });
+        }
+
+        private Object executarComAtraso(Object alvo, Method metodo, Object[] argumentos) throws Exception {
+            if (metodo.getName().startsWith("execute")) {
+                Thread.sleep(latenciaEmMillis);
+            }
+            return metodo.invoke(alvo, argumentos);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T envolver(Class<T> tipo, T alvo, Chamada chamada) {
+            InvocationHandler manipulador = (proxy, metodo, argumentos) -> {
+                try {
+                    return chamada.invocar(alvo, metodo, argumentos);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, manipulador);
+        }
+
+        @FunctionalInterface
+        private interface Chamada {
+            Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Exception;
+        }
+    }
+}
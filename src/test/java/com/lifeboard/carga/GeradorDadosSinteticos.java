@@ -0,0 +1,441 @@
+package com.lifeboard.carga;
+
+import com.lifeboard.LifeboardBackendJavaApplication;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.Prioridade;
+import com.lifeboard.model.enums.StatusMeta;
+import com.lifeboard.model.enums.StatusTarefa;
+import com.lifeboard.model.enums.TipoTransacao;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Popula o banco embutido com um volume de produção: usuários (cada um com o seu financeiro), milhões de transações
+// com saldo e resumos mensais coerentes, metas e tarefas. Grava por INSERTs em lote via JDBC, direto no pool primário,
+// sem passar pelo Hibernate. Os ids partem do próximo valor de cada sequência, e as sequências são reposicionadas
+// no final, então a aplicação continua gravando sem colisão.
+// Quantidades por propriedade de sistema: gerador.usuarios (padrão 1.000), gerador.transacoes (total, 1.000.000),
+// gerador.metas (3.000), gerador.tarefas (5.000), gerador.meses (período das transações, 24) e gerador.semente.
+// O main grava num H2 em arquivo (gerador.banco), que o CargaMistaApi reaproveita com -Dcarga.banco=<mesma url>:
+//   java -Xmx4g -Dgerador.transacoes=5000000 -cp target/test-classes:target/classes:<dependências> \
+//        com.lifeboard.carga.GeradorDadosSinteticos
+public class GeradorDadosSinteticos {
+
+    public static final String SENHA = "123456";
+    public static final String PREFIXO_EMAIL = "carga-";
+    public static final String BANCO_PADRAO = "jdbc:h2:file:./target/carga/lifeboard;MODE=Oracle";
+
+    private static final int LOTE = 1_000;
+    private static final int LOTES_POR_COMMIT = 20;
+
+    private static final CategoriaTransacao[] CATEGORIAS_ENTRADA = {
+            CategoriaTransacao.SALARIO, CategoriaTransacao.INVESTIMENTO, CategoriaTransacao.OUTROS};
+    private static final CategoriaTransacao[] CATEGORIAS_SAIDA = {
+            CategoriaTransacao.ALIMENTACAO, CategoriaTransacao.TRANSPORTE, CategoriaTransacao.LAZER,
+            CategoriaTransacao.SAUDE, CategoriaTransacao.MORADIA, CategoriaTransacao.OUTROS};
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+
+    public GeradorDadosSinteticos(DataSource dataSource, PasswordEncoder passwordEncoder) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    // Grava no pool primário, sem passar pelo roteamento de leitura
+    public static GeradorDadosSinteticos doContexto(ApplicationContext contexto) {
+        return new GeradorDadosSinteticos(contexto.getBean("dataSourcePrimario", DataSource.class),
+                contexto.getBean(PasswordEncoder.class));
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String banco = System.getProperty("gerador.banco", BANCO_PADRAO);
+
+        var contexto = new SpringApplicationBuilder(LifeboardBackendJavaApplication.class)
+                .profiles("test")
+                .run(argumentosDoBanco(banco, "--server.port=0", "--management.server.port=0",
+                        "--logging.level.root=WARN"));
+        try {
+            var dados = doContexto(contexto).gerar(Configuracao.dasPropriedades());
+            System.out.printf("%nBanco %s populado%n", banco);
+            dados.imprimir();
+        } finally {
+            contexto.close();
+        }
+        System.exit(0);
+    }
+
+    // Aponta o primário e a réplica do perfil de teste para o banco informado, preservando o esquema entre execuções
+    static String[] argumentosDoBanco(String banco, String... outros) {
+        var argumentos = new ArrayList<>(List.of(outros));
+        argumentos.add("--spring.datasource.url=" + banco);
+        argumentos.add("--api.datasource.replica.jdbc-url=" + banco);
+        argumentos.add("--spring.jpa.hibernate.ddl-auto=update");
+        return argumentos.toArray(String[]::new);
+    }
+
+    public DadosGerados gerar(Configuracao configuracao) throws SQLException {
+        long inicio = System.nanoTime();
+        var aleatorio = new SplittableRandom(configuracao.semente());
+        // Um único hash para todos: o custo do BCrypt não entra no tempo de geração
+        String hash = passwordEncoder.encode(SENHA);
+
+        try (Connection conexao = dataSource.getConnection()) {
+            conexao.setAutoCommit(false);
+
+            var usuarios = inserirUsuarios(conexao, configuracao, hash, aleatorio);
+            long metas = inserirMetas(conexao, configuracao, usuarios, aleatorio);
+            long tarefas = inserirTarefas(conexao, configuracao, usuarios, aleatorio);
+            long transacoes = inserirTransacoes(conexao, configuracao, usuarios, aleatorio);
+
+            conexao.commit();
+            return new DadosGerados(List.copyOf(usuarios), transacoes, metas, tarefas,
+                    Duration.ofNanos(System.nanoTime() - inicio));
+        }
+    }
+
+    // Usuários com login de carga já gravados no banco, para rodar a carga sobre um banco populado antes
+    public static List<UsuarioGerado> carregarUsuarios(DataSource dataSource, int limite) throws SQLException {
+        Map<Long, UsuarioGerado> porFinanceiro = new LinkedHashMap<>();
+        try (Connection conexao = dataSource.getConnection()) {
+            try (var comando = conexao.prepareStatement("select u.id_usuario, u.email, f.id_financeiro "
+                    + "from lb_usuarios u join lb_financeiros f on f.id_usuario = u.id_usuario "
+                    + "where u.email like ? order by u.id_usuario fetch first ? rows only")) {
+                comando.setString(1, PREFIXO_EMAIL + "%");
+                comando.setInt(2, limite);
+                try (var linhas = comando.executeQuery()) {
+                    while (linhas.next()) {
+                        porFinanceiro.put(linhas.getLong(3), new UsuarioGerado(linhas.getLong(1), linhas.getString(2),
+                                linhas.getLong(3), new ArrayList<>()));
+                    }
+                }
+            }
+            try (var comando = conexao.prepareStatement("select m.id_financeiro, m.id_meta from lb_metas_financeiras m "
+                    + "join lb_financeiros f on f.id_financeiro = m.id_financeiro "
+                    + "join lb_usuarios u on u.id_usuario = f.id_usuario where u.email like ?")) {
+                comando.setString(1, PREFIXO_EMAIL + "%");
+                try (var linhas = comando.executeQuery()) {
+                    while (linhas.next()) {
+                        var usuario = porFinanceiro.get(linhas.getLong(1));
+                        if (usuario != null) {
+                            usuario.idsMetas().add(linhas.getLong(2));
+                        }
+                    }
+                }
+            }
+        }
+        return List.copyOf(porFinanceiro.values());
+    }
+
+    private List<UsuarioGerado> inserirUsuarios(Connection conexao, Configuracao configuracao, String hash,
+                                                SplittableRandom aleatorio) throws SQLException {
+        var sequenciaUsuario = new Sequencia(conexao, "LB_USUARIO_SEQ");
+        var sequenciaFinanceiro = new Sequencia(conexao, "LB_FINANCEIRO_SEQ");
+        List<UsuarioGerado> usuarios = new ArrayList<>(configuracao.usuarios());
+
+        try (var lote = new Lote(conexao, "insert into lb_usuarios (id_usuario, nome, email, senha) values (?, ?, ?, ?)")) {
+            for (int i = 0; i < configuracao.usuarios(); i++) {
+                long id = sequenciaUsuario.proximo();
+                var email = PREFIXO_EMAIL + id + "@lifeboard.com";
+                var comando = lote.comando();
+                comando.setLong(1, id);
+                comando.setString(2, "Usuário de carga " + id);
+                comando.setString(3, email);
+                comando.setString(4, hash);
+                lote.adicionar();
+                usuarios.add(new UsuarioGerado(id, email, sequenciaFinanceiro.proximo(), new ArrayList<>()));
+            }
+        }
+
+        // O saldo é atualizado depois das transações
+        try (var lote = new Lote(conexao, "insert into lb_financeiros (id_financeiro, saldo_atual, salario, versao, id_usuario) "
+                + "values (?, 0, ?, 0, ?)")) {
+            for (var usuario : usuarios) {
+                var comando = lote.comando();
+                comando.setLong(1, usuario.idFinanceiro());
+                comando.setBigDecimal(2, valor(aleatorio, 1_500, 15_000));
+                comando.setLong(3, usuario.idUsuario());
+                lote.adicionar();
+            }
+        }
+
+        sequenciaUsuario.reposicionar();
+        sequenciaFinanceiro.reposicionar();
+        return usuarios;
+    }
+
+    // Metas distribuídas em rodízio: com metas >= usuarios, todo usuário tem ao menos uma
+    private long inserirMetas(Connection conexao, Configuracao configuracao, List<UsuarioGerado> usuarios,
+                              SplittableRandom aleatorio) throws SQLException {
+        if (usuarios.isEmpty()) {
+            return 0;
+        }
+        var sequencia = new Sequencia(conexao, "LB_META_SEQ");
+        var hoje = LocalDate.now();
+
+        try (var lote = new Lote(conexao, "insert into lb_metas_financeiras "
+                + "(id_meta, nome, valor_meta, valor_atual, data_limite, status, versao, id_financeiro) "
+                + "values (?, ?, ?, 0, ?, ?, 0, ?)")) {
+            for (int i = 0; i < configuracao.metas(); i++) {
+                var usuario = usuarios.get(i % usuarios.size());
+                long id = sequencia.proximo();
+                var comando = lote.comando();
+                comando.setLong(1, id);
+                comando.setString(2, "Meta " + id);
+                comando.setBigDecimal(3, valor(aleatorio, 1_000, 50_000));
+                comando.setObject(4, hoje.plusDays(30 + aleatorio.nextInt(3 * 365)));
+                comando.setString(5, StatusMeta.EM_ANDAMENTO.name());
+                comando.setLong(6, usuario.idFinanceiro());
+                lote.adicionar();
+                usuario.idsMetas().add(id);
+            }
+        }
+
+        sequencia.reposicionar();
+        return configuracao.metas();
+    }
+
+    private long inserirTarefas(Connection conexao, Configuracao configuracao, List<UsuarioGerado> usuarios,
+                                SplittableRandom aleatorio) throws SQLException {
+        if (usuarios.isEmpty()) {
+            return 0;
+        }
+        var sequencia = new Sequencia(conexao, "LB_TAREFA_SEQ");
+        var prioridades = Prioridade.values();
+        var status = StatusTarefa.values();
+        var hoje = LocalDate.now();
+
+        try (var lote = new Lote(conexao, "insert into lb_tarefas "
+                + "(id_tarefa, titulo, descricao, prioridade, status, data_limite, usuario_id) values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < configuracao.tarefas(); i++) {
+                long id = sequencia.proximo();
+                var comando = lote.comando();
+                comando.setLong(1, id);
+                comando.setString(2, "Tarefa " + id);
+                comando.setString(3, "Tarefa gerada para teste de carga");
+                comando.setString(4, prioridades[aleatorio.nextInt(prioridades.length)].name());
+                comando.setString(5, status[aleatorio.nextInt(status.length)].name());
+                comando.setObject(6, hoje.plusDays(aleatorio.nextInt(-30, 90)));
+                comando.setLong(7, usuarios.get(aleatorio.nextInt(usuarios.size())).idUsuario());
+                lote.adicionar();
+            }
+        }
+
+        sequencia.reposicionar();
+        return configuracao.tarefas();
+    }
+
+    // Cada financeiro recebe a sua parte do total em ordem cronológica ao longo do período: o saldo corrente define
+    // saldo_apos e evita saídas maiores que o saldo, e os resumos mensais são acumulados em memória por financeiro
+    private long inserirTransacoes(Connection conexao, Configuracao configuracao, List<UsuarioGerado> usuarios,
+                                   SplittableRandom aleatorio) throws SQLException {
+        if (usuarios.isEmpty()) {
+            return 0;
+        }
+        var sequenciaTransacao = new Sequencia(conexao, "LB_TRANSACAO_SEQ");
+        var sequenciaResumo = new Sequencia(conexao, "LB_RESUMO_MENSAL_SEQ");
+        var fimPeriodo = LocalDateTime.now().withNano(0);
+        var inicioPeriodo = fimPeriodo.minusMonths(configuracao.meses());
+        long segundosNoPeriodo = Duration.between(inicioPeriodo, fimPeriodo).toSeconds();
+        long total = 0;
+
+        try (var transacoes = new Lote(conexao, "insert into lb_transacoes (id_transacao, descricao, valor, tipo, data, "
+                + "categoria, valor_sinalizado, saldo_apos, id_financeiro) values (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             var resumos = new Lote(conexao, "insert into lb_resumos_mensais "
+                     + "(id_resumo, mes, tipo, categoria, total, quantidade, id_financeiro) values (?, ?, ?, ?, ?, ?, ?)");
+             var saldos = new Lote(conexao, "update lb_financeiros set saldo_atual = ? where id_financeiro = ?")) {
+
+            for (int i = 0; i < usuarios.size(); i++) {
+                long idFinanceiro = usuarios.get(i).idFinanceiro();
+                long quantidade = configuracao.transacoes() / usuarios.size()
+                        + (i < configuracao.transacoes() % usuarios.size() ? 1 : 0);
+                long passo = Math.max(segundosNoPeriodo / Math.max(quantidade, 1), 1);
+                Map<ChaveResumo, Acumulado> resumosDoFinanceiro = new HashMap<>();
+                BigDecimal saldo = BigDecimal.ZERO;
+
+                for (long k = 0; k < quantidade; k++) {
+                    var data = inicioPeriodo.plusSeconds(k * passo + aleatorio.nextLong(passo));
+                    boolean entrada = aleatorio.nextInt(4) == 0;
+                    BigDecimal valor = entrada ? valor(aleatorio, 500, 5_000) : valor(aleatorio, 5, 300);
+                    if (!entrada && saldo.compareTo(valor) < 0) {
+                        entrada = true;
+                    }
+                    var tipo = entrada ? TipoTransacao.ENTRADA : TipoTransacao.SAIDA;
+                    var categorias = entrada ? CATEGORIAS_ENTRADA : CATEGORIAS_SAIDA;
+                    var categoria = categorias[aleatorio.nextInt(categorias.length)];
+                    BigDecimal valorSinalizado = tipo.aplicarSinal(valor);
+                    saldo = saldo.add(valorSinalizado);
+
+                    var comando = transacoes.comando();
+                    comando.setLong(1, sequenciaTransacao.proximo());
+                    comando.setString(2, (entrada ? "Recebimento " : "Pagamento ") + categoria.name().toLowerCase());
+                    comando.setBigDecimal(3, valor);
+                    comando.setString(4, tipo.name());
+                    comando.setObject(5, data);
+                    comando.setString(6, categoria.name());
+                    comando.setBigDecimal(7, valorSinalizado);
+                    comando.setBigDecimal(8, saldo);
+                    comando.setLong(9, idFinanceiro);
+                    transacoes.adicionar();
+
+                    resumosDoFinanceiro.computeIfAbsent(new ChaveResumo(data.toLocalDate().withDayOfMonth(1), tipo, categoria),
+                            chave -> new Acumulado()).somar(valor);
+                }
+
+                for (var resumo : resumosDoFinanceiro.entrySet()) {
+                    var comando = resumos.comando();
+                    comando.setLong(1, sequenciaResumo.proximo());
+                    comando.setObject(2, resumo.getKey().mes());
+                    comando.setString(3, resumo.getKey().tipo().name());
+                    comando.setString(4, resumo.getKey().categoria().name());
+                    comando.setBigDecimal(5, resumo.getValue().total);
+                    comando.setLong(6, resumo.getValue().quantidade);
+                    comando.setLong(7, idFinanceiro);
+                    resumos.adicionar();
+                }
+
+                saldos.comando().setBigDecimal(1, saldo);
+                saldos.comando().setLong(2, idFinanceiro);
+                saldos.adicionar();
+
+                total += quantidade;
+            }
+        }
+
+        sequenciaTransacao.reposicionar();
+        sequenciaResumo.reposicionar();
+        return total;
+    }
+
+    private static BigDecimal valor(SplittableRandom aleatorio, long minimo, long maximo) {
+        return BigDecimal.valueOf(minimo * 100 + aleatorio.nextLong((maximo - minimo) * 100), 2);
+    }
+
+    public record Configuracao(int usuarios, long transacoes, int metas, int tarefas, int meses, long semente) {
+
+        public static Configuracao dasPropriedades() {
+            return new Configuracao(Integer.getInteger("gerador.usuarios", 1_000),
+                    Long.getLong("gerador.transacoes", 1_000_000), Integer.getInteger("gerador.metas", 3_000),
+                    Integer.getInteger("gerador.tarefas", 5_000), Integer.getInteger("gerador.meses", 24),
+                    Long.getLong("gerador.semente", 42));
+        }
+    }
+
+    public record UsuarioGerado(long idUsuario, String email, long idFinanceiro, List<Long> idsMetas) { }
+
+    public record DadosGerados(List<UsuarioGerado> usuarios, long transacoes, long metas, long tarefas, Duration tempo) {
+
+        void imprimir() {
+            System.out.printf("%d usuários, %d transações, %d metas e %d tarefas em %.1fs (%.0f transações/s)%n",
+                    usuarios.size(), transacoes, metas, tarefas, tempo.toMillis() / 1e3,
+                    transacoes / Math.max(tempo.toNanos() / 1e9, 1e-9));
+        }
+    }
+
+    private record ChaveResumo(LocalDate mes, TipoTransacao tipo, CategoriaTransacao categoria) { }
+
+    private static class Acumulado {
+        private BigDecimal total = BigDecimal.ZERO;
+        private long quantidade;
+
+        void somar(BigDecimal valor) {
+            total = total.add(valor);
+            quantidade++;
+        }
+    }
+
+    // Ids atribuídos a partir do próximo valor da sequência (acima de qualquer bloco já reservado pelo Hibernate);
+    // no final, a sequência volta a entregar ids depois do último gerado, respeitando o incremento do allocationSize
+    private static class Sequencia {
+        private final Connection conexao;
+        private final String nome;
+        private final long incremento;
+        private long proximo;
+
+        Sequencia(Connection conexao, String nome) throws SQLException {
+            this.conexao = conexao;
+            this.nome = nome;
+            try (var comando = conexao.prepareStatement(
+                    "select base_value, increment from information_schema.sequences where sequence_name = ?")) {
+                comando.setString(1, nome);
+                try (var linha = comando.executeQuery()) {
+                    if (!linha.next()) {
+                        throw new IllegalStateException("Sequência " + nome + " não encontrada");
+                    }
+                    this.proximo = linha.getLong(1);
+                    this.incremento = linha.getLong(2);
+                }
+            }
+        }
+
+        long proximo() {
+            return proximo++;
+        }
+
+        void reposicionar() throws SQLException {
+            try (var comando = conexao.createStatement()) {
+                comando.execute("alter sequence " + nome + " restart with " + (proximo - 1 + incremento));
+            }
+        }
+    }
+
+    // PreparedStatement em lote: executa a cada LOTE linhas e confirma a cada LOTES_POR_COMMIT lotes
+    private static class Lote implements AutoCloseable {
+        private final Connection conexao;
+        private final PreparedStatement comando;
+        private int pendentes;
+        private long linhas;
+
+        Lote(Connection conexao, String sql) throws SQLException {
+            this.conexao = conexao;
+            this.comando = conexao.prepareStatement(sql);
+        }
+
+        PreparedStatement comando() {
+            return comando;
+        }
+
+        void adicionar() throws SQLException {
+            comando.addBatch();
+            linhas++;
+            if (++pendentes == LOTE) {
+                executar();
+            }
+            if (linhas % ((long) LOTE * LOTES_POR_COMMIT) == 0) {
+                conexao.commit();
+            }
+        }
+
+        private void executar() throws SQLException {
+            comando.executeBatch();
+            pendentes = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pendentes > 0) {
+                    executar();
+                }
+            } finally {
+                comando.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.lifeboard.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.carga.GeradorDadosSinteticos.Configuracao;
+import com.lifeboard.dto.auth.AutenticacaoDTO;
+import com.lifeboard.dto.resumo.ResumoMensalResponseDTO;
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.service.FinanceiroService;
+import com.lifeboard.service.MetaFinanceiraService;
+import com.lifeboard.service.ResumoMensalService;
+import com.lifeboard.service.TransacaoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GeradorDadosSinteticosTest {
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private FinanceiroService financeiroService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private MetaFinanceiraService metaService;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deveGerarDadosCoerentesComAAplicacao() throws Exception {
+        var dados = GeradorDadosSinteticos.doContexto(contexto).gerar(new Configuracao(3, 2_501, 4, 5, 6, 7));
+
+        assertEquals(3, dados.usuarios().size());
+        assertEquals(2_501, dados.transacoes());
+
+        long transacoes = 0;
+        for (var usuario : dados.usuarios()) {
+            var financeiro = financeiroService.buscarDTOPorId(usuario.idFinanceiro());
+            assertEquals(usuario.idsMetas().size(), financeiro.getQuantidadeMetas());
+            transacoes += financeiro.getQuantidadeTransacoes();
+
+            // Saldo e resumos mensais contam a mesma história
+            var resumos = resumoMensalService.listar(usuario.idFinanceiro(), YearMonth.now().minusMonths(7), YearMonth.now());
+            assertEquals(financeiro.getQuantidadeTransacoes(), resumos.stream().mapToLong(ResumoMensalResponseDTO::getQuantidade).sum());
+            var saldoDosResumos = resumos.stream()
+                    .map(resumo -> resumo.getTipo().aplicarSinal(resumo.getTotal()))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertEquals(0, saldoDosResumos.compareTo(financeiro.getSaldoAtual()));
+            assertTrue(financeiro.getSaldoAtual().signum() > 0);
+        }
+        assertEquals(2_501, transacoes);
+
+        // O usuário gerado faz login com a senha padrão
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AutenticacaoDTO(
+                                dados.usuarios().get(0).email(), GeradorDadosSinteticos.SENHA))))
+                .andExpect(status().isOk());
+
+        // Com as sequências reposicionadas, a aplicação continua gravando sem colidir com os ids gerados
+        var usuario = dados.usuarios().get(1);
+        var nova = transacaoService.salvar(new TransacaoRequestDTO("Depois da carga", new BigDecimal("10.00"),
+                TipoTransacao.ENTRADA, CategoriaTransacao.OUTROS, usuario.idFinanceiro()));
+        metaService.adicionarSaldo(usuario.idsMetas().get(0), new BigDecimal("5.00"));
+
+        assertEquals(nova.getId(), transacaoService.buscarDTOPorId(nova.getId()).getId());
+        // 834 geradas (2.501 divididas por 3, com o resto nos primeiros), a nova e a aplicação na meta
+        assertEquals(836, transacaoService.filtrarPorFinanceiro(usuario.idFinanceiro(), FiltroTransacaoDTO.SEM_FILTROS, Pageable.ofSize(1)).getTotalElements());
+    }
+}
@@ -0,0 +1,37 @@
+package com.lifeboard.carga;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Latências de um único cliente, sem sincronização: cada cliente tem no máximo uma resposta sendo tratada
+class Latencias {
+    private long[] valores = new long[1024];
+    private int tamanho;
+
+    void adicionar(long nanos) {
+        if (tamanho == valores.length) {
+            valores = Arrays.copyOf(valores, tamanho * 2);
+        }
+        valores[tamanho++] = nanos;
+    }
+
+    static long[] juntar(List<Latencias> todas) {
+        long[] resultado = new long[todas.stream().mapToInt(latencias -> latencias.tamanho).sum()];
+        int posicao = 0;
+        for (var latencias : todas) {
+            System.arraycopy(latencias.valores, 0, resultado, posicao, latencias.tamanho);
+            posicao += latencias.tamanho;
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    // Percentil, em milissegundos, de latências já ordenadas
+    static double percentil(long[] ordenadas, double fracao) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(fracao * ordenadas.length) - 1;
+        return ordenadas[Math.max(posicao, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,67 @@
+package com.lifeboard.concorrencia;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitorFixacaoThreadsVirtuaisTest {
+
+    private final Object monitor = new Object();
+
+    private MonitorFixacaoThreadsVirtuais diagnostico;
+
+    @BeforeEach
+    void setup() {
+        diagnostico = new MonitorFixacaoThreadsVirtuais(Duration.ofMillis(5));
+        diagnostico.start();
+    }
+
+    @AfterEach
+    void encerrar() {
+        diagnostico.stop();
+    }
+
+    @Test
+    void deveRegistrarFixacaoComAOrigemDoBlocoSincronizado() throws Exception {
+        Thread.ofVirtual().start(this::bloquearDentroDoMonitor).join();
+
+        // O JFR entrega os eventos em lotes, com atraso de até alguns segundos
+        long limite = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (diagnostico.getFixacoes() == 0 && System.nanoTime() < limite) {
+            Thread.sleep(100);
+        }
+
+        assertEquals(1, diagnostico.getFixacoes());
+        assertTrue(diagnostico.getTempoFixado().toMillis() >= 50);
+        assertTrue(diagnostico.porOrigem().keySet().stream()
+                        .anyMatch(origem -> origem.startsWith(getClass().getName() + ".")),
+                "origens: " + diagnostico.porOrigem());
+    }
+
+    @Test
+    void naoDeveRegistrarBloqueioForaDeMonitor() throws Exception {
+        Thread.ofVirtual().start(() -> dormir(100)).join();
+        Thread.sleep(1500);
+
+        assertEquals(0, diagnostico.getFixacoes());
+        assertTrue(diagnostico.isRunning());
+    }
+
+    private void bloquearDentroDoMonitor() {
+        synchronized (monitor) {
+            dormir(100);
+        }
+    }
+
+    private static void dormir(long milissegundos) {
+        try {
+            Thread.sleep(milissegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.lifeboard.concorrencia;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepeticaoEmConflitoAspectTest {
+
+    private MetricasConflito metricas;
+    private Operacoes alvo;
+    private Operacoes operacoes;
+
+    @BeforeEach
+    void setup() {
+        metricas = new MetricasConflito();
+        var aspect = new RepeticaoEmConflitoAspect(metricas, 3, Duration.ofMillis(1), Duration.ofMillis(4), 2);
+
+        alvo = new Operacoes();
+        var fabrica = new AspectJProxyFactory(alvo);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(aspect);
+        operacoes = fabrica.getProxy();
+    }
+
+    @Test
+    void deveRepetirAteConcluirERegistrarConflitos() {
+        var resultado = operacoes.conflitar(2);
+
+        assertEquals("ok", resultado);
+        assertEquals(3, alvo.chamadas.get());
+        assertEquals(2, metricas.getConflitos());
+        assertEquals(1, metricas.getRecuperadas());
+        assertEquals(0, metricas.getEsgotadas());
+    }
+
+    @Test
+    void deveDesistirAposTentativasMaximas() {
+        assertThrows(OptimisticLockingFailureException.class, () -> operacoes.conflitar(10));
+
+        assertEquals(3, alvo.chamadas.get());
+        assertEquals(1, metricas.getEsgotadas());
+        assertEquals(3, metricas.porOperacao().get("Operacoes.conflitar(..)").conflitos());
+    }
+
+    @Test
+    void naoDeveRepetirOutrosErros() {
+        assertThrows(IllegalStateException.class, () -> operacoes.falhar());
+
+        assertEquals(1, alvo.chamadas.get());
+        assertEquals(0, metricas.getConflitos());
+    }
+
+    static class Operacoes {
+
+        private final AtomicInteger chamadas = new AtomicInteger();
+
+        @RepetirEmConflito
+        public String conflitar(int conflitos) {
+            if (chamadas.incrementAndGet() <= conflitos) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "ok";
+        }
+
+        @RepetirEmConflito
+        public void falhar() {
+            chamadas.incrementAndGet();
+            throw new IllegalStateException("erro");
+        }
+    }
+}
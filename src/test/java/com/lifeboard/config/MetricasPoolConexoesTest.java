@@ -0,0 +1,54 @@
+package com.lifeboard.config;
+
+import com.lifeboard.model.Usuario;
+import com.lifeboard.repository.UsuarioRepository;
+import com.lifeboard.service.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MetricasPoolConexoesTest {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Test
+    void deveExportarUsoEsperaETimeoutsDoPool() {
+        // A listagem geral (@LeituraNaReplica) vai para a réplica; a gravação, para o primário
+        usuarioService.listarTodos(Pageable.ofSize(10), Set.of());
+        var usuario = new Usuario();
+        usuario.setNome("Pool");
+        usuario.setEmail("pool" + System.nanoTime() + "@test.com");
+        usuario.setSenha("123456");
+        usuarioRepository.save(usuario);
+
+        for (var pool : new String[]{"primario", "replica"}) {
+            assertNotNull(registry.find("hikaricp.connections.active").tag("pool", pool).gauge(), pool);
+            assertNotNull(registry.find("hikaricp.connections.pending").tag("pool", pool).gauge(), pool);
+            assertNotNull(registry.find("hikaricp.connections.max").tag("pool", pool).gauge(), pool);
+            assertNotNull(registry.find("hikaricp.connections.timeout").tag("pool", pool).counter(), pool);
+
+            var espera = registry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+            var uso = registry.find("hikaricp.connections.usage").tag("pool", pool).timer();
+            assertNotNull(espera, pool);
+            assertNotNull(uso, pool);
+            assertTrue(espera.count() > 0, pool);
+            assertTrue(uso.count() > 0, pool);
+        }
+    }
+}
@@ -3,9 +3,18 @@ package com.lifeboard.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lifeboard.dto.financeiro.FinanceiroRequestDTO;
 import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
+import com.lifeboard.dto.meta.MetaFinanceiraResponseDTO;
+import com.lifeboard.dto.resumo.ResumoMensalResponseDTO;
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
+import com.lifeboard.dto.transacao.TransacaoResponseDTO;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
 import com.lifeboard.security.SecurityFilter;
 import com.lifeboard.service.FinanceiroService;
+import com.lifeboard.service.MetaFinanceiraService;
+import com.lifeboard.service.ResumoMensalService;
 import com.lifeboard.service.TokenService;
+import com.lifeboard.service.TransacaoService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
@@ -19,6 +28,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -35,6 +45,15 @@ class FinanceiroControllerTest {
     @MockitoBean
     private FinanceiroService financeiroService;
 
+    @MockitoBean
+    private TransacaoService transacaoService;
+
+    @MockitoBean
+    private MetaFinanceiraService metaFinanceiraService;
+
+    @MockitoBean
+    private ResumoMensalService resumoMensalService;
+
     @MockitoBean
     private TokenService tokenService;
 
@@ -75,8 +94,8 @@ class FinanceiroControllerTest {
                 new BigDecimal("500.00"),
                 new BigDecimal("200.00"),
                 10L,
-                null,
-                null
+                4L,
+                1L
         );
 
         Mockito.when(financeiroService.buscarDTOPorId(1L))
@@ -85,7 +104,62 @@ class FinanceiroControllerTest {
         mockMvc.perform(get("/api/financeiros/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id_financeiro").value(1))
-                .andExpect(jsonPath("$.saldo_atual").value(500.0));
+                .andExpect(jsonPath("$.saldo_atual").value(500.0))
+                .andExpect(jsonPath("$.quantidade_transacoes").value(4))
+                .andExpect(jsonPath("$.quantidade_metas").value(1))
+                .andExpect(jsonPath("$.transacoes").doesNotExist())
+                .andExpect(jsonPath("$.metas").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve listar transações do financeiro paginadas")
+    void listarTransacoes() throws Exception {
+        var transacao = new TransacaoResponseDTO();
+        transacao.setId(7L);
+        transacao.setIdFinanceiro(1L);
+
+        var filtro = new FiltroTransacaoDTO(null, null, TipoTransacao.SAIDA, null);
+        Mockito.when(transacaoService.filtrarPorFinanceiro(eq(1L), eq(filtro), any()))
+                .thenReturn(new PageImpl<>(List.of(transacao), PageRequest.of(0, 10), 1));
+
+        // Mesma consulta do endpoint de filtro de transações, com os mesmos parâmetros
+        mockMvc.perform(get("/api/financeiros/1/transacoes?tipo=SAIDA&page=0&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id_transacao").value(7))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("Deve listar metas do financeiro paginadas")
+    void listarMetas() throws Exception {
+        var meta = new MetaFinanceiraResponseDTO();
+        meta.setId(3L);
+        meta.setIdFinanceiro(1L);
+
+        Mockito.when(metaFinanceiraService.listarPorFinanceiro(eq(1L), any()))
+                .thenReturn(new PageImpl<>(List.of(meta), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/financeiros/1/metas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id_meta").value(3))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("Deve retornar o resumo mensal do financeiro")
+    void listarResumosMensais() throws Exception {
+        var resumo = new ResumoMensalResponseDTO(YearMonth.of(2025, 1), TipoTransacao.SAIDA,
+                CategoriaTransacao.ALIMENTACAO, new BigDecimal("850.00"), 6L);
+
+        Mockito.when(resumoMensalService.listar(1L, YearMonth.of(2025, 1), YearMonth.of(2025, 12)))
+                .thenReturn(List.of(resumo));
+
+        mockMvc.perform(get("/api/financeiros/1/resumos-mensais?inicio=2025-01&fim=2025-12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].mes").value("2025-01"))
+                .andExpect(jsonPath("$[0].categoria").value("ALIMENTACAO"))
+                .andExpect(jsonPath("$[0].total").value(850.0))
+                .andExpect(jsonPath("$[0].quantidade").value(6));
     }
 
     @Test
@@ -1,24 +1,37 @@
 package com.lifeboard.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.dto.paginacao.PaginaCursorDTO;
+import com.lifeboard.dto.transacao.ErroImportacaoDTO;
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
+import com.lifeboard.dto.transacao.ImportacaoTransacaoResponseDTO;
 import com.lifeboard.dto.transacao.TransacaoRequestDTO;
 import com.lifeboard.dto.transacao.TransacaoResponseDTO;
 import com.lifeboard.model.enums.CategoriaTransacao;
 import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.exception.ServicoIndisponivelException;
 import com.lifeboard.security.SecurityFilter;
+import com.lifeboard.service.ExportacaoTransacaoService;
+import com.lifeboard.service.ImportacaoTransacaoService;
 import com.lifeboard.service.TokenService;
 import com.lifeboard.service.TransacaoService;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -41,6 +54,12 @@ class TransacaoControllerTest {
     @MockitoBean
     private TransacaoService transacaoService;
 
+    @MockitoBean
+    private ImportacaoTransacaoService importacaoTransacaoService;
+
+    @MockitoBean
+    private ExportacaoTransacaoService exportacaoTransacaoService;
+
     @MockitoBean
     private TokenService tokenService;
 
@@ -74,6 +93,59 @@ class TransacaoControllerTest {
                 .andExpect(jsonPath("$.content[0].descricao").value("Salário"));
     }
 
+    @Test
+    @DisplayName("Deve filtrar transações do financeiro por período, tipo e categoria")
+    void filtrarPorFinanceiro() throws Exception {
+        var transacao = new TransacaoResponseDTO(
+                3L,
+                "Mercado",
+                new BigDecimal("320.00"),
+                TipoTransacao.SAIDA,
+                LocalDateTime.of(2025, 1, 15, 18, 0),
+                CategoriaTransacao.ALIMENTACAO,
+                5L
+        );
+
+        var filtro = new FiltroTransacaoDTO(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31),
+                TipoTransacao.SAIDA, CategoriaTransacao.ALIMENTACAO);
+
+        Mockito.when(transacaoService.filtrarPorFinanceiro(eq(5L), eq(filtro), any()))
+                .thenReturn(new PageImpl<>(List.of(transacao), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/transacoes/financeiro/5")
+                        .param("data_inicio", "2025-01-01")
+                        .param("data_fim", "2025-01-31")
+                        .param("tipo", "SAIDA")
+                        .param("categoria", "ALIMENTACAO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id_transacao").value(3))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("Deve retornar página de transações por cursor")
+    void listarPorCursor() throws Exception {
+        var transacao = new TransacaoResponseDTO(
+                9L,
+                "Salário",
+                new BigDecimal("2500.00"),
+                TipoTransacao.ENTRADA,
+                LocalDateTime.now(),
+                CategoriaTransacao.SALARIO,
+                5L
+        );
+
+        Mockito.when(transacaoService.listarPorFinanceiroComCursor(5L, "abc", 1))
+                .thenReturn(new PaginaCursorDTO<>(List.of(transacao), 1, true, "def"));
+
+        mockMvc.perform(get("/api/transacoes/financeiro/5/cursor?cursor=abc&tamanho=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].id_transacao").value(9))
+                .andExpect(jsonPath("$.tem_proxima").value(true))
+                .andExpect(jsonPath("$.proximo_cursor").value("def"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     @Test
     @DisplayName("Deve buscar transação por id")
     void buscarPorId() throws Exception {
@@ -167,4 +239,91 @@ class TransacaoControllerTest {
         mockMvc.perform(delete("/api/transacoes/1"))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve importar transações em CSV e relatar linhas rejeitadas")
+    void importarCsv() throws Exception {
+        var csv = """
+                descricao,valor,tipo,categoria,id_financeiro
+                Mercado,120.50,SAIDA,ALIMENTACAO,5
+                Inválida,-1,SAIDA,ALIMENTACAO,5
+                """;
+        var resultado = new ImportacaoTransacaoResponseDTO(2, 1, 1,
+                List.of(new ErroImportacaoDTO(2, "O valor da transação deve ser maior que zero.")));
+
+        Mockito.when(importacaoTransacaoService.importar(any(), eq(MediaType.parseMediaType("text/csv"))))
+                .thenReturn(resultado);
+
+        mockMvc.perform(post("/api/transacoes/importacao")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total_linhas").value(2))
+                .andExpect(jsonPath("$.importadas").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve iniciar a exportação em CSV por padrão")
+    void exportarCsv() throws Exception {
+        Mockito.when(exportacaoTransacaoService.reservar(1L)).thenReturn(Mockito.mock(ExportacaoTransacaoService.Reserva.class));
+
+        mockMvc.perform(get("/api/transacoes/financeiro/1/exportacao"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transacoes-financeiro-1.csv\""));
+
+        Mockito.verify(exportacaoTransacaoService).reservar(1L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para formato de exportação desconhecido")
+    void exportarFormatoInvalido() throws Exception {
+        mockMvc.perform(get("/api/transacoes/financeiro/1/exportacao").param("formato", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(exportacaoTransacaoService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 503 quando houver muitas exportações em andamento")
+    void exportarComLimiteAtingido() throws Exception {
+        Mockito.when(exportacaoTransacaoService.reservar(1L))
+                .thenThrow(new ServicoIndisponivelException("Muitas exportações em andamento. Tente novamente em instantes."));
+
+        mockMvc.perform(get("/api/transacoes/financeiro/1/exportacao"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Nested
+    @Import(ExecutorQueRecusaTarefas.class)
+    class ComExecutorSaturado {
+
+        @Test
+        @DisplayName("Deve devolver a vaga da exportação quando o corpo nunca é executado")
+        void exportarSemExecutarOCorpo() throws Exception {
+            var reserva = Mockito.mock(ExportacaoTransacaoService.Reserva.class);
+            Mockito.when(exportacaoTransacaoService.reservar(1L)).thenReturn(reserva);
+
+            var resultado = mockMvc.perform(get("/api/transacoes/financeiro/1/exportacao"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            // Com a tarefa recusada não há resultado para o MockMvc; o container encerra a requisição assíncrona
+            resultado.getRequest().getAsyncContext().complete();
+
+            Mockito.verify(exportacaoTransacaoService, Mockito.never()).exportar(any(), any(), any());
+            Mockito.verify(reserva).close();
+        }
+    }
+
+    @TestConfiguration
+    static class ExecutorQueRecusaTarefas implements WebMvcConfigurer {
+
+        @Override
+        public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+            configurer.setTaskExecutor(tarefa -> {
+                throw new TaskRejectedException("Executor saturado");
+            });
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.lifeboard.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
+import com.lifeboard.dto.usuario.ExpansaoUsuario;
 import com.lifeboard.dto.usuario.UsuarioRequestDTO;
 import com.lifeboard.dto.usuario.UsuarioResponseDTO;
+import com.lifeboard.dto.usuario.ArquivoFotoPerfil;
+import com.lifeboard.exception.ServicoIndisponivelException;
+import com.lifeboard.model.FotoPerfil;
 import com.lifeboard.security.SecurityFilter;
+import com.lifeboard.service.FotoPerfilService;
 import com.lifeboard.service.TokenService;
 import com.lifeboard.service.UsuarioService;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +18,8 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
@@ -19,7 +27,11 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -36,6 +48,9 @@ class UsuarioControllerTest {
     @MockitoBean
     private UsuarioService usuarioService;
 
+    @MockitoBean
+    private FotoPerfilService fotoPerfilService;
+
     @MockitoBean
     private TokenService tokenService;
 
@@ -45,6 +60,8 @@ class UsuarioControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final byte[] IMAGEM = "imagem".getBytes();
+
     @Test
     @DisplayName("Deve retornar página de usuários")
     void listarTodos() throws Exception {
@@ -52,19 +69,23 @@ class UsuarioControllerTest {
                 1L,
                 "Felipe",
                 "felipe@test.com",
-                "123456",
+                10L,
                 null,
-                List.of()
+                null
         );
         var page = new PageImpl<>(List.of(usuario), PageRequest.of(0, 10), 1);
 
-        Mockito.when(usuarioService.listarTodos(any()))
+        Mockito.when(usuarioService.listarTodos(any(), eq(Set.of())))
                 .thenReturn(page);
 
         mockMvc.perform(get("/api/usuarios?page=0&size=10"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].id_usuario").value(1))
-                .andExpect(jsonPath("$.content[0].nome").value("Felipe"));
+                .andExpect(jsonPath("$.content[0].nome").value("Felipe"))
+                .andExpect(jsonPath("$.content[0].id_financeiro").value(10))
+                .andExpect(jsonPath("$.content[0].senha").doesNotExist())
+                .andExpect(jsonPath("$.content[0].financeiro").doesNotExist())
+                .andExpect(jsonPath("$.content[0].tarefas").doesNotExist());
     }
 
     @Test
@@ -74,18 +95,43 @@ class UsuarioControllerTest {
                 1L,
                 "Felipe",
                 "felipe@test.com",
-                "123456",
+                10L,
                 null,
-                List.of()
+                null
         );
 
-        Mockito.when(usuarioService.buscarUsuarioDtoPorId(1L))
+        Mockito.when(usuarioService.buscarUsuarioDtoPorId(1L, Set.of()))
                 .thenReturn(usuario);
 
         mockMvc.perform(get("/api/usuarios/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id_usuario").value(1))
-                .andExpect(jsonPath("$.nome").value("Felipe"));
+                .andExpect(jsonPath("$.nome").value("Felipe"))
+                .andExpect(jsonPath("$.senha").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve buscar usuário com financeiro e tarefas expandidos")
+    void buscarPorIdExpandido() throws Exception {
+        var financeiro = new FinanceiroResponseDTO(10L, BigDecimal.TEN, BigDecimal.ZERO, 1L, null, null);
+        var usuario = new UsuarioResponseDTO(1L, "Felipe", "felipe@test.com", 10L, financeiro, List.of());
+
+        Mockito.when(usuarioService.buscarUsuarioDtoPorId(1L, EnumSet.allOf(ExpansaoUsuario.class)))
+                .thenReturn(usuario);
+
+        mockMvc.perform(get("/api/usuarios/1").param("expand", "Financeiro,tarefas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.financeiro.id_financeiro").value(10))
+                .andExpect(jsonPath("$.tarefas").isArray());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para expansão desconhecida")
+    void buscarPorIdComExpansaoInvalida() throws Exception {
+        mockMvc.perform(get("/api/usuarios/1").param("expand", "senha"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(usuarioService);
     }
 
     @Test
@@ -96,9 +142,9 @@ class UsuarioControllerTest {
                 1L,
                 "Felipe",
                 "felipe@test.com",
-                "123456",
+                10L,
                 null,
-                List.of()
+                null
         );
 
         Mockito.when(usuarioService.salvar(any())).thenReturn(response);
@@ -108,7 +154,23 @@ class UsuarioControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
                 .andExpect(header().exists("Location"))
-                .andExpect(jsonPath("$.id_usuario").value(1));
+                .andExpect(jsonPath("$.id_usuario").value(1))
+                .andExpect(jsonPath("$.id_financeiro").value(10));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 503 quando o pool de hash de senhas estiver saturado")
+    void salvarComPoolDeSenhasSaturado() throws Exception {
+        var request = new UsuarioRequestDTO("Felipe", "felipe@test.com", "123456");
+
+        Mockito.when(usuarioService.salvar(any()))
+                .thenThrow(new ServicoIndisponivelException("Muitas autenticações simultâneas. Tente novamente em instantes."));
+
+        mockMvc.perform(post("/api/usuarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
     }
 
     @Test
@@ -119,9 +181,9 @@ class UsuarioControllerTest {
                 1L,
                 "Atualizado",
                 "update@test.com",
-                "123456",
+                10L,
                 null,
-                List.of()
+                null
         );
 
         Mockito.when(usuarioService.atualizar(eq(1L), any()))
@@ -153,34 +215,83 @@ class UsuarioControllerTest {
                 "imagemfake".getBytes()
         );
 
-        Mockito.doNothing().when(usuarioService).atualizarFotoPerfil(eq(1L), any());
+        Mockito.when(fotoPerfilService.salvar(eq(1L), any()))
+                .thenReturn(foto());
 
         mockMvc.perform(multipart("/api/usuarios/1/foto")
                         .file(file)
                         .with(request -> { request.setMethod("PUT"); return request; })) // Multipart default é POST
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123\""));
     }
 
     @Test
-    @DisplayName("Deve retornar foto de perfil")
+    @DisplayName("Deve retornar foto de perfil com ETag e Cache-Control")
     void buscarFoto() throws Exception {
-        byte[] img = "imagem".getBytes();
-
-        Mockito.when(usuarioService.buscarFotoPerfil(1L))
-                .thenReturn(img);
+        Mockito.when(fotoPerfilService.buscar(1L, null)).thenReturn(arquivo(new ByteArrayResource(IMAGEM)));
 
         mockMvc.perform(get("/api/usuarios/1/foto"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.IMAGE_PNG))
-                .andExpect(content().bytes(img));
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().bytes(IMAGEM));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem ler o conteúdo quando o ETag não mudou")
+    void buscarFotoNaoModificada() throws Exception {
+        var conteudo = Mockito.spy(new ByteArrayResource(IMAGEM));
+        Mockito.when(fotoPerfilService.buscar(1L, null)).thenReturn(arquivo(conteudo));
+
+        mockMvc.perform(get("/api/usuarios/1/foto").header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(content().bytes(new byte[0]));
+
+        Mockito.verify(conteudo, Mockito.never()).getInputStream();
+        Mockito.verify(usuarioService, Mockito.never()).buscarEntidadePorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas o trecho pedido no Range")
+    void buscarFotoParcial() throws Exception {
+        Mockito.when(fotoPerfilService.buscar(1L, null)).thenReturn(arquivo(new ByteArrayResource(IMAGEM)));
+
+        mockMvc.perform(get("/api/usuarios/1/foto").header("Range", "bytes=0-2"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 0-2/" + IMAGEM.length))
+                .andExpect(content().bytes("ima".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Deve repassar o tamanho pedido para escolher a variante")
+    void buscarFotoReduzida() throws Exception {
+        var variante = new ArquivoFotoPerfil(MediaType.IMAGE_JPEG_VALUE, "def456", LocalDateTime.of(2025, 1, 1, 10, 0),
+                new ByteArrayResource("mini".getBytes()));
+        Mockito.when(fotoPerfilService.buscar(1L, 64)).thenReturn(variante);
+
+        mockMvc.perform(get("/api/usuarios/1/foto").param("size", "64"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(header().string("ETag", "\"def456\""))
+                .andExpect(content().bytes("mini".getBytes()));
     }
 
     @Test
     @DisplayName("Deve remover foto de perfil")
     void removerFoto() throws Exception {
-        Mockito.doNothing().when(usuarioService).removerFotoPerfil(1L);
+        Mockito.doNothing().when(fotoPerfilService).remover(1L);
 
         mockMvc.perform(delete("/api/usuarios/1/foto"))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private ArquivoFotoPerfil arquivo(Resource conteudo) {
+        return new ArquivoFotoPerfil(MediaType.IMAGE_PNG_VALUE, "abc123", LocalDateTime.of(2025, 1, 1, 10, 0), conteudo);
+    }
+
+    private FotoPerfil foto() {
+        return new FotoPerfil(1L, MediaType.IMAGE_PNG_VALUE, (long) IMAGEM.length, "abc123", LocalDateTime.of(2025, 1, 1, 10, 0));
+    }
+}
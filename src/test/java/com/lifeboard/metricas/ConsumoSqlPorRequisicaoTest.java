@@ -0,0 +1,157 @@
+package com.lifeboard.metricas;
+
+import com.lifeboard.dto.tarefa.TarefaRequestDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.Prioridade;
+import com.lifeboard.model.enums.StatusTarefa;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.service.TarefaService;
+import com.lifeboard.service.TokenService;
+import com.lifeboard.service.TransacaoService;
+import com.lifeboard.service.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL dos endpoints de leitura mais usados. O custo de cada um não pode crescer com
+ * o volume de dados do usuário: é aí que aparecem os N+1 dos mappers.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConsumoSqlPorRequisicaoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private TarefaService tarefaService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Long idUsuario;
+    private Long idFinanceiro;
+    private String token;
+
+    @BeforeEach
+    void setup() {
+        var email = "consumo-sql" + System.nanoTime() + "@test.com";
+        idUsuario = usuarioService.salvar(new UsuarioRequestDTO("Consumo", email, "123456")).getId();
+        var usuario = usuarioService.buscarEntidadePorId(idUsuario);
+        idFinanceiro = usuario.getFinanceiro().getId();
+        token = "Bearer " + tokenService.gerarToken(usuario);
+
+        popular(2);
+    }
+
+    @Test
+    void deveExporComandosETempoNosCabecalhos() throws Exception {
+        var resposta = mockMvc.perform(get("/api/usuarios/{id}", idUsuario).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(MetricasSqlPorRequisicaoFilter.CABECALHO_COMANDOS))
+                .andExpect(header().exists(MetricasSqlPorRequisicaoFilter.CABECALHO_TEMPO))
+                .andReturn().getResponse();
+
+        assertTrue(Integer.parseInt(resposta.getHeader(MetricasSqlPorRequisicaoFilter.CABECALHO_COMANDOS)) > 0);
+        assertTrue(Double.parseDouble(resposta.getHeader(MetricasSqlPorRequisicaoFilter.CABECALHO_TEMPO)) >= 0);
+
+        var tempo = registry.get(MetricasSqlPorRequisicaoFilter.METRICA_TEMPO).tag("uri", "/api/usuarios/{id}").timer();
+        assertTrue(tempo.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void custoDosEndpointsNaoDeveCrescerComOsDados() throws Exception {
+        // Rota e orçamento de comandos; páginas maiores que os dados evitam a consulta de contagem do Spring Data
+        Map<String, Integer> orcamentos = new LinkedHashMap<>();
+        orcamentos.put("/api/usuarios/" + idUsuario, 1);
+        orcamentos.put("/api/usuarios/" + idUsuario + "?expand=financeiro,tarefas", 1);
+        orcamentos.put("/api/financeiros/" + idFinanceiro, 1);
+        orcamentos.put("/api/financeiros/" + idFinanceiro + "/transacoes?size=50", 2);
+        orcamentos.put("/api/financeiros/" + idFinanceiro + "/metas?size=50", 2);
+
+        // A primeira requisição também carrega o usuário autenticado, depois servido pelo cache
+        comandos("/api/usuarios/" + idUsuario);
+
+        Map<String, Integer> antes = new LinkedHashMap<>();
+        for (var rota : orcamentos.keySet()) {
+            antes.put(rota, comandos(rota));
+        }
+
+        popular(8);
+
+        for (var orcamento : orcamentos.entrySet()) {
+            var rota = orcamento.getKey();
+            assertTrue(antes.get(rota) <= orcamento.getValue(), rota + " executou " + antes.get(rota) + " comandos");
+            assertEquals(antes.get(rota), comandos(rota), rota);
+        }
+    }
+
+    @Test
+    void custoDasListagensNaoDeveCrescerComOTamanhoDaPagina() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            var email = "consumo-sql-lista" + System.nanoTime() + "@test.com";
+            var outro = usuarioService.salvar(new UsuarioRequestDTO("Lista " + i, email, "123456")).getId();
+            var idOutroFinanceiro = usuarioService.buscarEntidadePorId(outro).getFinanceiro().getId();
+            transacaoService.salvar(new TransacaoRequestDTO("Depósito", new BigDecimal("10.00"),
+                    TipoTransacao.ENTRADA, CategoriaTransacao.OUTROS, idOutroFinanceiro));
+            tarefaService.salvar(new TarefaRequestDTO("Tarefa", "Descrição", Prioridade.MEDIA,
+                    StatusTarefa.A_FAZER, LocalDate.now().plusDays(1), outro));
+        }
+        comandos("/api/usuarios/" + idUsuario);
+
+        // As duas páginas ficam cheias, então ambas incluem a consulta de contagem
+        for (var rota : new String[]{"/api/usuarios", "/api/usuarios?expand=tarefas", "/api/financeiros",
+                "/api/transacoes", "/api/tarefas"}) {
+            var separador = rota.contains("?") ? "&" : "?";
+            assertEquals(comandos(rota + separador + "size=2"), comandos(rota + separador + "size=8"), rota);
+        }
+        // Sem expand: página e contagem; com expand=tarefas, mais um único SELECT para as tarefas da página inteira
+        assertEquals(2, comandos("/api/usuarios?size=8"));
+        assertEquals(3, comandos("/api/usuarios?expand=tarefas&size=8"));
+    }
+
+    private int comandos(String rota) throws Exception {
+        var resposta = mockMvc.perform(get(rota).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        return Integer.parseInt(resposta.getHeader(MetricasSqlPorRequisicaoFilter.CABECALHO_COMANDOS));
+    }
+
+    private void popular(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            transacaoService.salvar(new TransacaoRequestDTO("Depósito " + i, new BigDecimal("10.00"),
+                    TipoTransacao.ENTRADA, CategoriaTransacao.OUTROS, idFinanceiro));
+            tarefaService.salvar(new TarefaRequestDTO("Tarefa " + i, "Descrição", Prioridade.MEDIA,
+                    StatusTarefa.A_FAZER, LocalDate.now().plusDays(1), idUsuario));
+        }
+    }
+}
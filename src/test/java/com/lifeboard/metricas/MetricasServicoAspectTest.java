@@ -0,0 +1,60 @@
+package com.lifeboard.metricas;
+
+import com.lifeboard.model.Usuario;
+import com.lifeboard.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasServicoAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private TokenService service;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+
+        var alvo = new TokenService();
+        ReflectionTestUtils.setField(alvo, "secret", "segredo-teste");
+        ReflectionTestUtils.setField(alvo, "tamanhoMaximoCache", 100L);
+        ReflectionTestUtils.setField(alvo, "expiracao", Duration.ofMinutes(15));
+        alvo.inicializar();
+
+        var fabrica = new AspectJProxyFactory(alvo);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MetricasServicoAspect(registry));
+        service = fabrica.getProxy();
+    }
+
+    @Test
+    void deveMedirChamadasConcluidas() {
+        var usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setEmail("felipe@test.com");
+
+        service.gerarToken(usuario);
+        service.gerarToken(usuario);
+
+        var timer = registry.get(MetricasServicoAspect.METRICA)
+                .tags("classe", "TokenService", "metodo", "gerarToken", "excecao", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void deveMarcarAExcecaoLancada() {
+        assertThrows(RuntimeException.class, () -> service.validar("token-invalido"));
+
+        var timer = registry.get(MetricasServicoAspect.METRICA)
+                .tags("classe", "TokenService", "metodo", "validar", "excecao", "RuntimeException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,191 @@
+package com.lifeboard.metricas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasSqlPorRequisicaoFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private MetricasSqlPorRequisicaoFilter filter;
+    private ContadorComandosSql inspetor;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        filter = new MetricasSqlPorRequisicaoFilter(registry, 5, Duration.ofSeconds(1), false, true);
+        inspetor = new ContadorComandosSql();
+    }
+
+    @Test
+    void deveRegistrarComandosDaRequisicaoPelaRota() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/transacoes/10");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transacoes/{id}");
+            inspetor.inspect("select 1");
+            inspetor.inspect("select 2");
+            inspetor.inspect("select 3");
+        });
+
+        var resumo = registry.get(MetricasSqlPorRequisicaoFilter.METRICA)
+                .tags("method", "GET", "uri", "/api/transacoes/{id}")
+                .summary();
+        assertEquals(1, resumo.count());
+        assertEquals(3, resumo.totalAmount());
+        assertEquals(1, registry.get(MetricasSqlPorRequisicaoFilter.METRICA_TEMPO)
+                .tags("method", "GET", "uri", "/api/transacoes/{id}")
+                .timer().count());
+    }
+
+    @Test
+    void naoDeveAcumularEntreRequisicoes() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/x"), new MockHttpServletResponse(),
+                (req, res) -> inspetor.inspect("select 1"));
+        filter.doFilter(new MockHttpServletRequest("GET", "/x"), new MockHttpServletResponse(), (req, res) -> { });
+
+        var resumo = registry.get(MetricasSqlPorRequisicaoFilter.METRICA)
+                .tags("method", "GET", "uri", "UNKNOWN")
+                .summary();
+        assertEquals(2, resumo.count());
+        assertEquals(1, resumo.max());
+    }
+
+    @Test
+    void deveEscreverCabecalhosAntesDoCommit() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/x"), response, (req, res) -> {
+            inspetor.inspect("select 1");
+            inspetor.inspect("select 2");
+            res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            // Depois do commit não há mais como alterar os cabeçalhos
+            inspetor.inspect("select 3");
+        });
+
+        assertTrue(response.isCommitted());
+        assertEquals("2", response.getHeader(MetricasSqlPorRequisicaoFilter.CABECALHO_COMANDOS));
+        assertNotNull(response.getHeader(MetricasSqlPorRequisicaoFilter.CABECALHO_TEMPO));
+    }
+
+    @Test
+    void deveEscreverCabecalhosEmRespostaSemCorpo() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/x"), response, (req, res) -> inspetor.inspect("delete"));
+
+        assertEquals("1", response.getHeader(MetricasSqlPorRequisicaoFilter.CABECALHO_COMANDOS));
+    }
+
+    @Test
+    void naoDeveExporCabecalhosQuandoDesabilitado() throws Exception {
+        filter = new MetricasSqlPorRequisicaoFilter(registry, 5, Duration.ofSeconds(1), false, false);
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/x"), response, (req, res) -> inspetor.inspect("select 1"));
+
+        assertNull(response.getHeader(MetricasSqlPorRequisicaoFilter.CABECALHO_COMANDOS));
+    }
+
+    @Test
+    void deveApenasAvisarAcimaDoOrcamentoPorPadrao() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        assertDoesNotThrow(() -> filter.doFilter(new MockHttpServletRequest("GET", "/x"), response,
+                (req, res) -> executar(6)));
+        assertEquals("6", response.getHeader(MetricasSqlPorRequisicaoFilter.CABECALHO_COMANDOS));
+    }
+
+    @Test
+    void deveFalharAcimaDoOrcamentoQuandoConfigurado() throws Exception {
+        filter = new MetricasSqlPorRequisicaoFilter(registry, 5, Duration.ofSeconds(1), true, true);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/x"), new MockHttpServletResponse(), (req, res) -> executar(5));
+        var erro = assertThrows(IllegalStateException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/x"),
+                new MockHttpServletResponse(), (req, res) -> executar(6)));
+
+        assertTrue(erro.getMessage().contains("6 comandos SQL"));
+        // A requisição que estourou o orçamento continua registrada na métrica
+        assertEquals(2, registry.get(MetricasSqlPorRequisicaoFilter.METRICA).summary().count());
+    }
+
+    @Test
+    void naoDeveMascararExcecaoDaRequisicao() {
+        filter = new MetricasSqlPorRequisicaoFilter(registry, 0, Duration.ofSeconds(1), true, true);
+
+        assertThrows(IllegalArgumentException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/x"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    executar(3);
+                    throw new IllegalArgumentException("falha no controller");
+                }));
+    }
+
+    @Test
+    void deveSomarTarefasPropagadasSemDeixarContadoresNaThread() throws Exception {
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/x"), new MockHttpServletResponse(), (req, res) -> {
+                inspetor.inspect("select 1");
+                aguardar(executor.submit(ContadorComandosSql.propagar(() -> inspetor.inspect("select 2"))));
+            });
+
+            // A mesma thread do pool, em uma tarefa sem requisição, não herda nem acumula nada
+            var depois = executor.submit(() -> {
+                inspetor.inspect("select 3");
+                return ContadorComandosSql.total();
+            });
+            assertEquals(0, depois.get());
+        }
+
+        assertEquals(2, registry.get(MetricasSqlPorRequisicaoFilter.METRICA).summary().totalAmount());
+    }
+
+    @Test
+    void deveRegistrarRequisicaoAssincronaQuandoConcluir() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/x");
+        request.setAsyncSupported(true);
+        var streaming = new Runnable[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            inspetor.inspect("select 1");
+            req.startAsync();
+            streaming[0] = ContadorComandosSql.propagar(() -> executar(2));
+        });
+
+        // O corpo ainda vai ser escrito por outra thread: nada registrado até a requisição terminar
+        assertNull(registry.find(MetricasSqlPorRequisicaoFilter.METRICA).summary());
+
+        var thread = new Thread(streaming[0]);
+        thread.start();
+        thread.join();
+        request.getAsyncContext().complete();
+
+        var resumo = registry.get(MetricasSqlPorRequisicaoFilter.METRICA).summary();
+        assertEquals(1, resumo.count());
+        assertEquals(3, resumo.totalAmount());
+    }
+
+    private static void aguardar(Future<?> tarefa) {
+        try {
+            tarefa.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void executar(int comandos) {
+        for (int i = 0; i < comandos; i++) {
+            inspetor.inspect("select " + i);
+        }
+    }
+}
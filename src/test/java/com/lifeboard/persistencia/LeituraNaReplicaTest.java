@@ -0,0 +1,98 @@
+package com.lifeboard.persistencia;
+
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.service.FinanceiroService;
+import com.lifeboard.service.TransacaoService;
+import com.lifeboard.service.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// No perfil de teste a réplica é o próprio banco do primário; os contadores do roteamento mostram qual pool
+// atendeu cada operação
+@SpringBootTest
+@ActiveProfiles("test")
+class LeituraNaReplicaTest {
+
+    @Autowired
+    private RoteamentoDataSource roteamento;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private FinanceiroService financeiroService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Long idFinanceiro;
+
+    @BeforeEach
+    void setup() {
+        var email = "replica" + System.nanoTime() + "@test.com";
+        var idUsuario = usuarioService.salvar(new UsuarioRequestDTO("Réplica", email, "123456")).getId();
+        idFinanceiro = usuarioService.buscarEntidadePorId(idUsuario).getFinanceiro().getId();
+    }
+
+    @Test
+    void deveAtenderListagensGeraisPelaReplica() {
+        long primario = roteamento.getConexoesPrimario();
+        long replica = roteamento.getConexoesReplica();
+
+        transacaoService.listarTodos(Pageable.ofSize(10));
+        financeiroService.listarTodos(Pageable.ofSize(10));
+
+        assertTrue(roteamento.isPossuiReplica());
+        assertEquals(primario, roteamento.getConexoesPrimario());
+        assertEquals(replica + 2, roteamento.getConexoesReplica());
+        assertEquals(roteamento.getConexoesReplica(),
+                registry.get("lifeboard.datasource.conexoes").tag("destino", "replica").functionCounter().count());
+    }
+
+    @Test
+    void deveManterLeiturasDoFinanceiroNoPrimario() {
+        long primario = roteamento.getConexoesPrimario();
+        long replica = roteamento.getConexoesReplica();
+
+        // Lidas logo depois de um lançamento; a réplica atrasada devolveria a conta sem ele
+        transacaoService.filtrarPorFinanceiro(idFinanceiro, FiltroTransacaoDTO.SEM_FILTROS, Pageable.ofSize(10));
+        financeiroService.buscarDTOPorId(idFinanceiro);
+
+        assertEquals(primario + 2, roteamento.getConexoesPrimario());
+        assertEquals(replica, roteamento.getConexoesReplica());
+    }
+
+    @Test
+    void deveAtenderEscritasPeloPrimario() {
+        long primario = roteamento.getConexoesPrimario();
+        long replica = roteamento.getConexoesReplica();
+
+        var transacao = transacaoService.salvar(new TransacaoRequestDTO("Salário", new BigDecimal("100.00"),
+                TipoTransacao.ENTRADA, CategoriaTransacao.OUTROS, idFinanceiro));
+
+        // A transação de escrita roda inteira numa só conexão do primário, inclusive as leituras que faz
+        assertEquals(primario + 1, roteamento.getConexoesPrimario());
+        assertEquals(replica, roteamento.getConexoesReplica());
+
+        // A leitura por id logo em seguida também vai ao primário e já vê o que foi gravado
+        assertEquals(transacao.getId(), transacaoService.buscarDTOPorId(transacao.getId()).getId());
+        assertEquals(primario + 2, roteamento.getConexoesPrimario());
+        assertEquals(replica, roteamento.getConexoesReplica());
+    }
+}
@@ -0,0 +1,85 @@
+package com.lifeboard.persistencia;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dois bancos H2 em memória, cada um com uma linha que identifica a origem da leitura
+class RoteamentoDataSourceTest {
+
+    private DataSource primario;
+    private DataSource replica;
+
+    @BeforeEach
+    void setup() {
+        primario = banco("primario", "primario");
+        replica = banco("replica", "replica");
+    }
+
+    @Test
+    void deveLerDaReplicaApenasEmTransacaoSomenteLeitura() {
+        var roteamento = new RoteamentoDataSource(primario, replica);
+
+        assertEquals("primario", origem(roteamento, false, true));
+        assertEquals("replica", origem(roteamento, true, true));
+        assertEquals(1, roteamento.getConexoesReplica());
+    }
+
+    @Test
+    void deveUsarOPrimarioQuandoALeituraNaoPermiteReplica() {
+        var roteamento = new RoteamentoDataSource(primario, replica);
+
+        assertEquals("primario", origem(roteamento, true, false));
+        assertEquals(0, roteamento.getConexoesReplica());
+    }
+
+    @Test
+    void deveUsarOPrimarioSemReplica() {
+        var roteamento = new RoteamentoDataSource(primario, null);
+
+        assertEquals("primario", origem(roteamento, true, true));
+        assertFalse(roteamento.isPossuiReplica());
+        assertEquals(0, roteamento.getConexoesReplica());
+    }
+
+    @Test
+    void deveCairParaOPrimarioQuandoAReplicaRecusaAConexao() {
+        var foraDoAr = new DriverManagerDataSource("jdbc:h2:mem:replica-fora-" + System.nanoTime() + ";IFEXISTS=TRUE");
+        var roteamento = new RoteamentoDataSource(primario, foraDoAr);
+
+        assertEquals("primario", origem(roteamento, true, true));
+        assertEquals(1, roteamento.getFalhasReplica());
+        assertEquals(0, roteamento.getConexoesReplica());
+    }
+
+    // Mesma montagem da aplicação: o proxy preguiçoso só escolhe o destino no primeiro comando
+    private static String origem(RoteamentoDataSource roteamento, boolean somenteLeitura, boolean replicaPermitida) {
+        var dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        var transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transacao.setReadOnly(somenteLeitura);
+
+        boolean anterior = RoteamentoDataSource.permitirReplica(replicaPermitida);
+        try {
+            return transacao.execute(status ->
+                    new JdbcTemplate(dataSource).queryForObject("select nome from origem", String.class));
+        } finally {
+            RoteamentoDataSource.permitirReplica(anterior);
+        }
+    }
+
+    private static DataSource banco(String nome, String origem) {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table origem (nome varchar(20))");
+        jdbc.update("insert into origem values (?)", origem);
+        return dataSource;
+    }
+}
@@ -0,0 +1,65 @@
+package com.lifeboard.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.dto.auth.AutenticacaoDTO;
+import com.lifeboard.model.Usuario;
+import com.lifeboard.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AtualizacaoHashSenhaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CodificadorSenhas codificadorSenhas;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deveRefazerHashComCustoAntigoNoLogin() throws Exception {
+        var email = "rehash" + System.nanoTime() + "@test.com";
+        var usuario = new Usuario();
+        usuario.setNome("Rehash");
+        usuario.setEmail(email);
+        usuario.setSenha(new BCryptPasswordEncoder(codificadorSenhas.getCusto() - 1).encode("123456"));
+        var id = usuarioRepository.save(usuario).getId();
+
+        login(email, "123456");
+
+        var hash = usuarioRepository.findById(id).orElseThrow().getSenha();
+        assertTrue(hash.startsWith(String.format("$2a$%02d$", codificadorSenhas.getCusto())), hash);
+        assertTrue(codificadorSenhas.matches("123456", hash));
+
+        // O novo hash continua aceito e não é refeito de novo
+        login(email, "123456");
+        assertEquals(hash, usuarioRepository.findById(id).orElseThrow().getSenha());
+    }
+
+    private void login(String email, String senha) throws Exception {
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AutenticacaoDTO(email, senha))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists());
+    }
+}
@@ -0,0 +1,87 @@
+package com.lifeboard.security;
+
+import com.lifeboard.exception.ServicoIndisponivelException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodificadorSenhasTest {
+
+    private CodificadorSenhas codificador;
+
+    @AfterEach
+    void fechar() {
+        if (codificador != null) {
+            codificador.close();
+        }
+    }
+
+    @Test
+    void deveGerarEConferirHashNoPool() {
+        codificador = new CodificadorSenhas(4, 2, 10);
+
+        var hash = codificador.encode("123456");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(codificador.matches("123456", hash));
+        assertFalse(codificador.matches("654321", hash));
+    }
+
+    @Test
+    void deveRecusarComFilaCheia() throws Exception {
+        var liberar = new CountDownLatch(1);
+        var iniciou = new CountDownLatch(1);
+        PasswordEncoder lento = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence senha) {
+                iniciou.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(senha);
+            }
+        };
+        codificador = new CodificadorSenhas(lento, 4, 1, 1);
+
+        // Uma tarefa ocupa a única thread e outra a única vaga da fila
+        var emExecucao = CompletableFuture.supplyAsync(() -> codificador.encode("a"));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        var naFila = CompletableFuture.supplyAsync(() -> codificador.encode("b"));
+        while (codificador.getNaFila() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServicoIndisponivelException.class, () -> codificador.encode("c"));
+        assertEquals(1, codificador.getRejeitadas());
+
+        liberar.countDown();
+        assertNotNull(emExecucao.get(5, TimeUnit.SECONDS));
+        assertNotNull(naFila.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deveIndicarRehashParaCustoMenorQueOAtual() {
+        codificador = new CodificadorSenhas(5, 1, 10);
+
+        assertTrue(codificador.upgradeEncoding(new BCryptPasswordEncoder(4).encode("123456")));
+        assertFalse(codificador.upgradeEncoding(new BCryptPasswordEncoder(5).encode("123456")));
+    }
+
+    @Test
+    void deveCalibrarCustoDentroDosLimites() {
+        assertEquals(4, CodificadorSenhas.calibrar(Duration.ofNanos(1), 4));
+
+        int custo = CodificadorSenhas.calibrar(Duration.ofMillis(50), 4);
+        assertTrue(custo > 4 && custo <= CodificadorSenhas.CUSTO_MAXIMO, "custo " + custo);
+    }
+}
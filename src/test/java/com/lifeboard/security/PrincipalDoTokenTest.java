@@ -0,0 +1,133 @@
+package com.lifeboard.security;
+
+import com.auth0.jwt.JWT;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.dto.auth.AutenticacaoDTO;
+import com.lifeboard.dto.auth.RenovacaoTokenDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "api.security.principal-do-token=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PrincipalDoTokenTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    private Long idUsuario;
+    private String email;
+
+    @BeforeEach
+    void setup() {
+        email = "principal-token" + System.nanoTime() + "@test.com";
+        idUsuario = usuarioService.salvar(new UsuarioRequestDTO("Token", email, "123456")).getId();
+    }
+
+    @Test
+    void deveAutenticarPelasClaimsSemCarregarOUsuario() throws Exception {
+        var tokens = login();
+
+        mockMvc.perform(get("/api/usuarios/{id}", idUsuario)
+                        .header("Authorization", "Bearer " + tokens.get("token").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email));
+
+        verify(usuarioAutenticadoCache, never()).buscar(any(), any());
+    }
+
+    @Test
+    void deveEmitirTokenDeAcessoCurto() throws Exception {
+        var expiracao = JWT.decode(login().get("token").asText()).getExpiresAtAsInstant();
+
+        // Sem consulta ao banco, o token de acesso é o que limita um usuário removido ou deslogado
+        assertTrue(expiracao.isBefore(Instant.now().plus(Duration.ofMinutes(16))));
+    }
+
+    @Test
+    void deveRenovarUmaVezEEncerrarSessoesAoReutilizar() throws Exception {
+        var primeiro = login().get("token_renovacao").asText();
+
+        var renovado = ler(renovar(primeiro).andExpect(status().isOk()));
+        var segundo = renovado.get("token_renovacao").asText();
+        assertNotEquals(primeiro, segundo);
+
+        mockMvc.perform(get("/api/usuarios/{id}", idUsuario)
+                        .header("Authorization", "Bearer " + renovado.get("token").asText()))
+                .andExpect(status().isOk());
+
+        // Reusar o token já trocado revoga também o que foi emitido na troca
+        renovar(primeiro).andExpect(status().isUnauthorized());
+        renovar(segundo).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deveRevogarTokenNoLogout() throws Exception {
+        var token = login().get("token_renovacao").asText();
+
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RenovacaoTokenDTO(token))))
+                .andExpect(status().isNoContent());
+
+        renovar(token).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deveRecusarLoginComSenhaErrada() throws Exception {
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AutenticacaoDTO(email, "errada"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private JsonNode login() throws Exception {
+        return ler(mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AutenticacaoDTO(email, "123456"))))
+                .andExpect(status().isOk()));
+    }
+
+    private ResultActions renovar(String token) throws Exception {
+        return mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RenovacaoTokenDTO(token))));
+    }
+
+    private JsonNode ler(ResultActions resultado) throws Exception {
+        return objectMapper.readTree(resultado.andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,97 @@
+package com.lifeboard.security;
+
+import com.lifeboard.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsuarioAutenticadoCacheTest {
+
+    private UsuarioAutenticadoCache cache;
+    private AtomicInteger consultas;
+
+    @BeforeEach
+    void setup() {
+        cache = new UsuarioAutenticadoCache(100, Duration.ofMinutes(10));
+        consultas = new AtomicInteger();
+    }
+
+    private Usuario carregar(String email) {
+        consultas.incrementAndGet();
+        Usuario usuario = new Usuario();
+        usuario.setEmail(email);
+        return usuario;
+    }
+
+    @Test
+    void deveConsultarBancoApenasNaPrimeiraRequisicao() {
+        var primeiro = cache.buscar("felipe@test.com", this::carregar);
+        var segundo = cache.buscar("felipe@test.com", this::carregar);
+
+        assertSame(primeiro, segundo);
+        assertEquals(1, consultas.get());
+        assertEquals(1, cache.getAcertos());
+        assertEquals(1, cache.getFalhas());
+    }
+
+    @Test
+    void deveRecarregarUsuarioAposInvalidacao() {
+        cache.buscar("felipe@test.com", this::carregar);
+
+        cache.invalidar("felipe@test.com");
+        cache.buscar("felipe@test.com", this::carregar);
+
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void deveInvalidarSomenteAposOCommit() {
+        cache.buscar("felipe@test.com", this::carregar);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidar("felipe@test.com");
+
+            // Até o commit a entrada continua valendo: nada recarrega a linha ainda não confirmada
+            cache.buscar("felipe@test.com", this::carregar);
+            assertEquals(1, consultas.get());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.buscar("felipe@test.com", this::carregar);
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void naoDeveInvalidarQuandoATransacaoFazRollback() {
+        cache.buscar("felipe@test.com", this::carregar);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidar("felipe@test.com");
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.buscar("felipe@test.com", this::carregar);
+        assertEquals(1, consultas.get());
+    }
+
+    @Test
+    void naoDeveArmazenarUsuarioInexistente() {
+        assertNull(cache.buscar("inexistente@test.com", email -> null));
+        assertEquals(0, cache.tamanho());
+    }
+}
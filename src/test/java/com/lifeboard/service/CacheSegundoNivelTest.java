@@ -0,0 +1,118 @@
+package com.lifeboard.service;
+
+import com.lifeboard.config.CacheSegundoNivelConfiguration;
+import com.lifeboard.dto.meta.MetaFinanceiraSaveRequestDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.metricas.ContadorComandosSql;
+import com.lifeboard.model.Financeiro;
+import com.lifeboard.model.MetaFinanceira;
+import com.lifeboard.model.Usuario;
+import com.lifeboard.repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private FinanceiroService financeiroService;
+
+    @Autowired
+    private MetaFinanceiraService metaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Long idUsuario;
+    private Long idFinanceiro;
+    private String email;
+
+    @BeforeEach
+    void setup() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        email = "cache-l2" + System.nanoTime() + "@test.com";
+        idUsuario = usuarioService.salvar(new UsuarioRequestDTO("Cache", email, "123456")).getId();
+        idFinanceiro = usuarioService.buscarEntidadePorId(idUsuario).getFinanceiro().getId();
+    }
+
+    @Test
+    void deveServirUsuarioDoCacheELerSoOFinanceiroDoBanco() {
+        usuarioService.buscarEntidadePorId(idUsuario);
+        long acertos = acertos(Usuario.REGIAO_CACHE);
+
+        ContadorComandosSql.zerar();
+        var usuario = usuarioService.buscarEntidadePorId(idUsuario);
+
+        // Só o financeiro, fora do cache, é lido do banco
+        assertEquals(1, ContadorComandosSql.total());
+        assertEquals(acertos + 1, acertos(Usuario.REGIAO_CACHE));
+        assertEquals(idUsuario, usuario.getId());
+    }
+
+    @Test
+    void deveManterUsuarioNoCacheQuandoSaldoEMetaSaoMovimentados() {
+        financeiroService.movimentarSaldo(idFinanceiro, new BigDecimal("500.00"), null);
+        var idMeta = metaService.salvar(new MetaFinanceiraSaveRequestDTO("Viagem", new BigDecimal("1000.00"),
+                BigDecimal.ZERO, LocalDate.now().plusYears(1), idFinanceiro)).getId();
+        usuarioService.buscarEntidadePorId(idUsuario);
+        long acertos = acertos(Usuario.REGIAO_CACHE);
+
+        financeiroService.movimentarSaldo(idFinanceiro, new BigDecimal("150.00"), null);
+        metaService.adicionarSaldo(idMeta, new BigDecimal("200.00"));
+
+        // Os UPDATEs em lote de saldo e meta não tocam a região dos usuários
+        usuarioService.buscarEntidadePorId(idUsuario);
+        assertEquals(acertos + 1, acertos(Usuario.REGIAO_CACHE));
+
+        var cache = entityManagerFactory.getCache();
+        assertFalse(cache.contains(Financeiro.class, idFinanceiro));
+        assertFalse(cache.contains(MetaFinanceira.class, idMeta));
+        assertEquals(0, new BigDecimal("450.00").compareTo(financeiroService.buscarEntidadePorId(idFinanceiro).getSaldoAtual()));
+        assertEquals(0, new BigDecimal("200.00").compareTo(metaService.buscarEntidadePorId(idMeta).getValorAtual()));
+    }
+
+    @Test
+    void deveCachearLoginPorEmailAteAlteracaoDoUsuario() {
+        usuarioRepository.findByEmail(email);
+        long acertos = acertosDeConsulta();
+
+        var usuario = usuarioRepository.findByEmail(email);
+
+        assertNotNull(usuario);
+        assertEquals(acertos + 1, acertosDeConsulta());
+
+        var novoEmail = "alterado-" + email;
+        usuarioService.atualizar(idUsuario, new UsuarioRequestDTO("Cache", novoEmail, null));
+
+        assertNull(usuarioRepository.findByEmail(email));
+        assertEquals(novoEmail, usuarioRepository.findByEmail(novoEmail).getUsername());
+    }
+
+    private long acertos(String regiao) {
+        return estatisticas.getDomainDataRegionStatistics(regiao).getHitCount();
+    }
+
+    private long acertosDeConsulta() {
+        return estatisticas.getQueryRegionStatistics(CacheSegundoNivelConfiguration.USUARIO_POR_EMAIL).getHitCount();
+    }
+}
@@ -0,0 +1,164 @@
+package com.lifeboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeboard.dto.transacao.FormatoExportacao;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.exception.ServicoIndisponivelException;
+import com.lifeboard.metricas.ContadorComandosSql;
+import com.lifeboard.metricas.MetricasSqlPorRequisicaoFilter;
+import com.lifeboard.model.Transacao;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.repository.FinanceiroRepository;
+import com.lifeboard.repository.TransacaoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportacaoTransacaoTest {
+
+    // Mais de dois lotes, com um lote incompleto no final
+    private static final int QUANTIDADE = TransacaoRepository.TAMANHO_LOTE_EXPORTACAO * 2 + 3;
+
+    @Autowired
+    private ExportacaoTransacaoService exportacaoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private FinanceiroRepository financeiroRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Long idFinanceiro;
+    private String token;
+
+    @BeforeEach
+    void setup() {
+        var email = "exportacao" + System.nanoTime() + "@test.com";
+        var idUsuario = usuarioService.salvar(new UsuarioRequestDTO("Exportação", email, "123456")).getId();
+        var usuario = usuarioService.buscarEntidadePorId(idUsuario);
+        idFinanceiro = usuario.getFinanceiro().getId();
+        token = "Bearer " + tokenService.gerarToken(usuario);
+
+        var financeiro = financeiroRepository.getReferenceById(idFinanceiro);
+        var inicio = LocalDateTime.of(2024, 1, 1, 8, 0);
+        var transacoes = new ArrayList<Transacao>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            var transacao = new Transacao();
+            transacao.setDescricao(i == 0 ? "Mercado, \"promoção\"" : "Lançamento " + i);
+            transacao.setValor(new BigDecimal("10.50"));
+            transacao.setTipo(TipoTransacao.ENTRADA);
+            transacao.setCategoria(i % 2 == 0 ? CategoriaTransacao.OUTROS : null);
+            transacao.setData(inicio.plusMinutes(i));
+            transacao.setFinanceiro(financeiro);
+            transacoes.add(transacao);
+        }
+        transacaoRepository.saveAll(transacoes);
+    }
+
+    @Test
+    void deveExportarCsvEmUmaUnicaConsulta() throws Exception {
+        var saida = new ByteArrayOutputStream();
+
+        ContadorComandosSql.zerar();
+        long linhas = exportacaoService.exportar(idFinanceiro, FormatoExportacao.CSV, saida);
+
+        assertEquals(1, ContadorComandosSql.total());
+        assertEquals(QUANTIDADE, linhas);
+
+        var conteudo = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(QUANTIDADE + 1, conteudo.length);
+        assertEquals("id_transacao,descricao,valor,tipo,data,categoria,id_financeiro", conteudo[0]);
+        assertTrue(conteudo[1].contains(",\"Mercado, \"\"promoção\"\"\",10.50,ENTRADA,2024-01-01T08:00,OUTROS," + idFinanceiro));
+        assertTrue(conteudo[2].endsWith(",ENTRADA,2024-01-01T08:01,," + idFinanceiro));
+    }
+
+    @Test
+    void deveExportarNdjsonEmOrdemCronologica() throws Exception {
+        var saida = new ByteArrayOutputStream();
+
+        exportacaoService.exportar(idFinanceiro, FormatoExportacao.NDJSON, saida);
+
+        var conteudo = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(QUANTIDADE, conteudo.length);
+
+        var primeira = objectMapper.readTree(conteudo[0]);
+        var ultima = objectMapper.readTree(conteudo[QUANTIDADE - 1]);
+        assertEquals("Mercado, \"promoção\"", primeira.get("descricao").asText());
+        assertEquals(idFinanceiro, primeira.get("id_financeiro").asLong());
+        assertTrue(primeira.get("id_transacao").asLong() < ultima.get("id_transacao").asLong());
+    }
+
+    @Test
+    void deveTransmitirExportacaoPelaApi() throws Exception {
+        // Carrega o usuário autenticado no cache antes, para o consumo medido ser só o da exportação
+        mockMvc.perform(get("/api/financeiros/{id}", idFinanceiro).header("Authorization", token))
+                .andExpect(status().isOk());
+
+        var resultado = mockMvc.perform(get("/api/transacoes/financeiro/{id}/exportacao", idFinanceiro)
+                        .param("formato", "ndjson")
+                        .header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var resposta = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"transacoes-financeiro-" + idFinanceiro + ".ndjson\""))
+                .andReturn().getResponse();
+
+        assertEquals(QUANTIDADE, resposta.getContentAsString(StandardCharsets.UTF_8).split("\n").length);
+
+        var comandos = registry.get(MetricasSqlPorRequisicaoFilter.METRICA)
+                .tags("method", "GET", "uri", "/api/transacoes/financeiro/{idFinanceiro}/exportacao")
+                .summary();
+        // Na thread da requisição só a validação do financeiro; a consulta da exportação vem da thread do executor
+        assertEquals(1, comandos.count());
+        assertEquals(2, comandos.max());
+    }
+
+    @Test
+    void deveLimitarExportacoesSimultaneas() {
+        try (var primeira = exportacaoService.reservar(idFinanceiro);
+             var segunda = exportacaoService.reservar(idFinanceiro)) {
+            assertThrows(ServicoIndisponivelException.class, () -> exportacaoService.reservar(idFinanceiro));
+        }
+
+        // Liberadas as vagas, uma nova exportação é aceita
+        exportacaoService.reservar(idFinanceiro).close();
+    }
+}
@@ -1,6 +1,8 @@
 package com.lifeboard.service;
 
 import com.lifeboard.dto.financeiro.FinanceiroRequestDTO;
+import com.lifeboard.dto.financeiro.FinanceiroResponseDTO;
+import com.lifeboard.exception.BadRequestException;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.Usuario;
 import com.lifeboard.repository.FinanceiroRepository;
@@ -56,29 +58,33 @@ class FinanceiroServiceTest {
     @Test
     void deveListarFinanceiros() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Financeiro> page = new PageImpl<>(List.of(financeiro));
+        Page<FinanceiroResponseDTO> page = new PageImpl<>(List.of(resumo()));
 
-        when(repository.findAllByOrderByIdAsc(pageable)).thenReturn(page);
+        when(repository.listarResumos(pageable)).thenReturn(page);
 
         var result = service.listarTodos(pageable);
 
         assertEquals(1, result.getTotalElements());
-        verify(repository, times(1)).findAllByOrderByIdAsc(pageable);
+        verify(repository, times(1)).listarResumos(pageable);
+        verify(repository, never()).findAllByOrderByIdAsc(any());
     }
 
     @Test
     void deveBuscarPorIdComSucesso() {
-        when(repository.findById(1L)).thenReturn(Optional.of(financeiro));
+        when(repository.buscarResumoPorId(1L)).thenReturn(Optional.of(resumo()));
 
         var result = service.buscarDTOPorId(1L);
 
         assertEquals(financeiro.getSaldoAtual(), result.getSaldoAtual());
-        verify(repository).findById(1L);
+        assertEquals(3L, result.getQuantidadeTransacoes());
+        assertEquals(2L, result.getQuantidadeMetas());
+        verify(repository).buscarResumoPorId(1L);
+        verify(repository, never()).findById(any());
     }
 
     @Test
     void deveLancarErroQuandoNaoEncontrarId() {
-        when(repository.findById(99L)).thenReturn(Optional.empty());
+        when(repository.buscarResumoPorId(99L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> service.buscarDTOPorId(99L));
@@ -120,10 +126,56 @@ class FinanceiroServiceTest {
 
     @Test
     void deveDeletarFinanceiro() {
-        when(repository.findById(1L)).thenReturn(Optional.of(financeiro));
+        when(repository.buscarComMetas(1L)).thenReturn(Optional.of(financeiro));
 
         service.deletar(1L);
 
         verify(repository).delete(financeiro);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveDebitarSaldoComUpdateCondicional() {
+        when(repository.debitarSaldo(1L, new BigDecimal("200.00"))).thenReturn(1);
+        when(repository.buscarSaldoAtual(1L)).thenReturn(Optional.of(new BigDecimal("800.00")));
+
+        var saldo = service.movimentarSaldo(1L, new BigDecimal("-200.00"), "Saldo insuficiente");
+
+        assertEquals(new BigDecimal("800.00"), saldo);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void deveCreditarSaldoSemCondicao() {
+        when(repository.creditarSaldo(1L, new BigDecimal("200.00"))).thenReturn(1);
+        when(repository.buscarSaldoAtual(1L)).thenReturn(Optional.of(new BigDecimal("1200.00")));
+
+        var saldo = service.movimentarSaldo(1L, new BigDecimal("200.00"), "Saldo insuficiente");
+
+        assertEquals(new BigDecimal("1200.00"), saldo);
+        verify(repository, never()).debitarSaldo(any(), any());
+    }
+
+    @Test
+    void deveLancarErroQuandoDebitoExcederSaldo() {
+        when(repository.debitarSaldo(1L, new BigDecimal("5000.00"))).thenReturn(0);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        var erro = assertThrows(BadRequestException.class,
+                () -> service.movimentarSaldo(1L, new BigDecimal("-5000.00"), "Saldo insuficiente"));
+
+        assertEquals("Saldo insuficiente", erro.getMessage());
+    }
+
+    @Test
+    void deveLancarErroAoMovimentarSaldoDeFinanceiroInexistente() {
+        when(repository.creditarSaldo(99L, BigDecimal.TEN)).thenReturn(0);
+        when(repository.existsById(99L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> service.movimentarSaldo(99L, BigDecimal.TEN, "Saldo insuficiente"));
+    }
+
+    private FinanceiroResponseDTO resumo() {
+        return new FinanceiroResponseDTO(1L, financeiro.getSaldoAtual(), financeiro.getSalarioMensal(), 1L, 3L, 2L);
+    }
+}
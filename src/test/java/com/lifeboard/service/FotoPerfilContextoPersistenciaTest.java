@@ -0,0 +1,95 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.repository.FotoPerfilVarianteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FotoPerfilContextoPersistenciaTest {
+
+    @Autowired
+    private FotoPerfilService fotoPerfilService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private FotoPerfilVarianteRepository fotoPerfilVarianteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transacao;
+    private Long idUsuario;
+
+    @BeforeEach
+    void setup() {
+        transacao = new TransactionTemplate(transactionManager);
+        var email = "foto-contexto" + System.nanoTime() + "@test.com";
+        idUsuario = usuarioService.salvar(new UsuarioRequestDTO("Foto", email, "123456")).getId();
+    }
+
+    @Test
+    void deveManterUsuarioEFinanceiroGerenciadosAoRemoverAsVariantes() {
+        transacao.executeWithoutResult(status -> {
+            var usuario = usuarioService.buscarEntidadePorId(idUsuario);
+
+            executar(() -> fotoPerfilService.removerSeExistir(idUsuario));
+
+            assertTrue(entityManager.contains(usuario));
+            assertTrue(entityManager.contains(usuario.getFinanceiro()));
+        });
+    }
+
+    @Test
+    void deveSubstituirAsVariantesAoReenviarAFotoNaMesmaTransacao() {
+        transacao.executeWithoutResult(status -> {
+            executar(() -> fotoPerfilService.salvar(idUsuario, png()));
+            // As variantes gravadas acima continuam no contexto; as novas têm as mesmas chaves
+            executar(() -> fotoPerfilService.salvar(idUsuario, png()));
+        });
+
+        assertEquals(3, fotoPerfilVarianteRepository.findByChaveIdUsuario(idUsuario).size());
+    }
+
+    private static MockMultipartFile png() throws IOException {
+        var saida = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(600, 600, BufferedImage.TYPE_INT_RGB), "png", saida);
+        return new MockMultipartFile("file", "foto.png", MediaType.IMAGE_PNG_VALUE, saida.toByteArray());
+    }
+
+    private static void executar(Operacao operacao) {
+        try {
+            operacao.executar();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operacao {
+        void executar() throws IOException;
+    }
+}
@@ -0,0 +1,196 @@
+package com.lifeboard.service;
+
+import com.lifeboard.armazenamento.ArmazenamentoFotoPerfil;
+import com.lifeboard.armazenamento.CacheVariantesFotoPerfil;
+import com.lifeboard.armazenamento.GeradorVariantesFotoPerfil;
+import com.lifeboard.armazenamento.GeradorVariantesFotoPerfil.VarianteGerada;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.model.ChaveFotoPerfil;
+import com.lifeboard.model.FotoPerfil;
+import com.lifeboard.model.FotoPerfilVariante;
+import com.lifeboard.repository.FotoPerfilRepository;
+import com.lifeboard.repository.FotoPerfilVarianteRepository;
+import com.lifeboard.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FotoPerfilServiceTest {
+
+    @Mock
+    private FotoPerfilRepository fotoPerfilRepository;
+
+    @Mock
+    private FotoPerfilVarianteRepository fotoPerfilVarianteRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private ArmazenamentoFotoPerfil armazenamento;
+
+    @Mock
+    private GeradorVariantesFotoPerfil geradorVariantes;
+
+    @Mock
+    private CacheVariantesFotoPerfil cacheVariantes;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private FotoPerfilService service;
+
+    private static final ChaveFotoPerfil ORIGINAL = new ChaveFotoPerfil(1L, ChaveFotoPerfil.ORIGINAL);
+
+    @Test
+    void deveGravarConteudoEMetadadosComHashDoConteudo() throws Exception {
+        var file = new MockMultipartFile("file", "foto.png", MediaType.IMAGE_PNG_VALUE, "abc".getBytes());
+
+        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(geradorVariantes.gerar(any())).thenReturn(List.of());
+        when(fotoPerfilRepository.findById(1L)).thenReturn(Optional.empty());
+        when(fotoPerfilRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        var foto = service.salvar(1L, file);
+
+        verify(armazenamento).gravar(ORIGINAL, "abc".getBytes());
+        assertEquals(MediaType.IMAGE_PNG_VALUE, foto.getContentType());
+        assertEquals(3L, foto.getTamanho());
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", foto.getHash());
+        verify(usuarioRepository, never()).findById(any());
+    }
+
+    @Test
+    void deveGravarVariantesGeradasESubstituirAsAnteriores() throws Exception {
+        var file = new MockMultipartFile("file", "foto.png", MediaType.IMAGE_PNG_VALUE, "abc".getBytes());
+        var antiga = new FotoPerfilVariante(new ChaveFotoPerfil(1L, 512), MediaType.IMAGE_JPEG_VALUE, 10L, "antigo");
+
+        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(geradorVariantes.gerar(any())).thenReturn(List.of(new VarianteGerada(64, MediaType.IMAGE_JPEG_VALUE, "mini".getBytes())));
+        when(fotoPerfilVarianteRepository.findByChaveIdUsuario(1L)).thenReturn(List.of(antiga));
+        when(fotoPerfilRepository.findById(1L)).thenReturn(Optional.empty());
+        when(fotoPerfilRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        service.salvar(1L, file);
+
+        verify(armazenamento).remover(new ChaveFotoPerfil(1L, 512));
+        verify(fotoPerfilVarianteRepository).deletarDoUsuario(1L);
+        verify(entityManager).detach(antiga);
+        verify(entityManager, never()).clear();
+        verify(cacheVariantes).invalidar(1L);
+        verify(armazenamento).gravar(new ChaveFotoPerfil(1L, 64), "mini".getBytes());
+
+        var captor = ArgumentCaptor.forClass(FotoPerfilVariante.class);
+        verify(fotoPerfilVarianteRepository).save(captor.capture());
+        assertEquals(64, captor.getValue().getChave().getDimensao());
+        assertEquals(4L, captor.getValue().getTamanho());
+    }
+
+    @Test
+    void deveRecusarArquivoQueNaoEImagem() throws Exception {
+        var file = new MockMultipartFile("file", "foto.txt", MediaType.TEXT_PLAIN_VALUE, "abc".getBytes());
+
+        when(usuarioRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> service.salvar(1L, file));
+        verify(armazenamento, never()).gravar(any(), any());
+    }
+
+    @Test
+    void deveLancarErroQuandoUsuarioNaoTemFoto() {
+        when(fotoPerfilRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.buscar(1L, null));
+        verifyNoInteractions(usuarioRepository, armazenamento);
+    }
+
+    @Test
+    void deveServirOriginalSemTamanhoPedido() {
+        var original = new ByteArrayResource("abc".getBytes());
+        when(fotoPerfilRepository.findById(1L)).thenReturn(Optional.of(foto()));
+        when(armazenamento.abrir(ORIGINAL, 3L)).thenReturn(original);
+
+        var arquivo = service.buscar(1L, null);
+
+        assertSame(original, arquivo.conteudo());
+        assertEquals("hash-original", arquivo.hash());
+        verifyNoInteractions(fotoPerfilVarianteRepository, cacheVariantes);
+    }
+
+    @Test
+    void deveServirMenorVarianteQueCobreOTamanhoPeloCache() {
+        var chave = new ChaveFotoPerfil(1L, 128);
+        var variante = new FotoPerfilVariante(chave, MediaType.IMAGE_JPEG_VALUE, 4L, "hash-128");
+        Resource noArmazenamento = new ByteArrayResource("mini".getBytes());
+        Resource emCache = new ByteArrayResource("mini".getBytes());
+
+        when(fotoPerfilRepository.findById(1L)).thenReturn(Optional.of(foto()));
+        when(fotoPerfilVarianteRepository.findFirstByChaveIdUsuarioAndChaveDimensaoGreaterThanEqualOrderByChaveDimensaoAsc(1L, 100))
+                .thenReturn(Optional.of(variante));
+        when(armazenamento.abrir(chave, 4L)).thenReturn(noArmazenamento);
+        when(cacheVariantes.abrir(1L, 128, "hash-128", noArmazenamento)).thenReturn(emCache);
+
+        var arquivo = service.buscar(1L, 100);
+
+        assertSame(emCache, arquivo.conteudo());
+        assertEquals(MediaType.IMAGE_JPEG_VALUE, arquivo.contentType());
+        assertEquals("hash-128", arquivo.hash());
+    }
+
+    @Test
+    void deveServirOriginalQuandoNenhumaVarianteCobreOTamanho() {
+        when(fotoPerfilRepository.findById(1L)).thenReturn(Optional.of(foto()));
+        when(fotoPerfilVarianteRepository.findFirstByChaveIdUsuarioAndChaveDimensaoGreaterThanEqualOrderByChaveDimensaoAsc(1L, 2000))
+                .thenReturn(Optional.empty());
+
+        var arquivo = service.buscar(1L, 2000);
+
+        assertEquals("hash-original", arquivo.hash());
+        verify(armazenamento).abrir(ORIGINAL, 3L);
+        verifyNoInteractions(cacheVariantes);
+    }
+
+    @Test
+    void deveRecusarTamanhoInvalido() {
+        assertThrows(BadRequestException.class, () -> service.buscar(1L, 0));
+        verifyNoInteractions(fotoPerfilRepository);
+    }
+
+    @Test
+    void deveRemoverMetadadosEConteudo() throws Exception {
+        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(fotoPerfilRepository.existsById(1L)).thenReturn(true);
+        when(fotoPerfilVarianteRepository.findByChaveIdUsuario(1L)).thenReturn(List.of());
+
+        service.remover(1L);
+
+        verify(fotoPerfilRepository).deleteById(1L);
+        verify(armazenamento).remover(ORIGINAL);
+        verify(fotoPerfilVarianteRepository).deletarDoUsuario(eq(1L));
+        verify(cacheVariantes).invalidar(1L);
+    }
+
+    private FotoPerfil foto() {
+        return new FotoPerfil(1L, MediaType.IMAGE_PNG_VALUE, 3L, "hash-original", LocalDateTime.of(2025, 1, 1, 10, 0));
+    }
+}
@@ -0,0 +1,181 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.transacao.ErroImportacaoDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.repository.FinanceiroRepository;
+import com.lifeboard.repository.TransacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ImportacaoTransacaoServiceTest {
+
+    @Autowired
+    private ImportacaoTransacaoService service;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private FinanceiroRepository financeiroRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    private Long idFinanceiro;
+
+    @BeforeEach
+    void setup() {
+        var email = "importacao" + System.nanoTime() + "@test.com";
+        var usuario = usuarioService.salvar(new UsuarioRequestDTO("Importação", email, "123456"));
+        idFinanceiro = usuarioService.buscarEntidadePorId(usuario.getId()).getFinanceiro().getId();
+    }
+
+    @Test
+    void deveImportarArrayJsonAplicandoUmUnicoMovimentoDeSaldo() throws Exception {
+        var json = """
+                [
+                  {"descricao": "Salário", "valor": 3000, "tipo": "ENTRADA", "categoria": "SALARIO", "id_financeiro": %d},
+                  {"descricao": "Aluguel", "valor": 1200, "tipo": "SAIDA", "categoria": "MORADIA", "id_financeiro": %d},
+                  {"descricao": "Mercado", "valor": 300, "tipo": "SAIDA", "categoria": "ALIMENTACAO", "id_financeiro": %d}
+                ]
+                """.formatted(idFinanceiro, idFinanceiro, idFinanceiro);
+
+        var resultado = service.importar(corpo(json), MediaType.APPLICATION_JSON);
+
+        assertEquals(3, resultado.getTotalLinhas());
+        assertEquals(3, resultado.getImportadas());
+        assertEquals(0, resultado.getRejeitadas());
+        assertEquals(0, new BigDecimal("1500").compareTo(saldoAtual()));
+    }
+
+    @Test
+    void deveRejeitarItensQueNaoSaoObjetosSemInterromperOArrayJson() throws Exception {
+        var json = """
+                [
+                  {"descricao": "Salário", "valor": 3000, "tipo": "ENTRADA", "categoria": "SALARIO", "id_financeiro": %d},
+                  null,
+                  42,
+                  [{"descricao": "Aninhado", "valor": 1, "tipo": "ENTRADA", "categoria": "OUTROS", "id_financeiro": %d}],
+                  {"descricao": "Mercado", "valor": 300, "tipo": "SAIDA", "categoria": "ALIMENTACAO", "id_financeiro": %d}
+                ]
+                """.formatted(idFinanceiro, idFinanceiro, idFinanceiro);
+
+        var resultado = service.importar(corpo(json), MediaType.APPLICATION_JSON);
+
+        assertEquals(5, resultado.getTotalLinhas());
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(3, resultado.getRejeitadas());
+        assertEquals(List.of(2L, 3L, 4L), resultado.getErros().stream().map(ErroImportacaoDTO::linha).toList());
+        assertEquals(0, new BigDecimal("2700").compareTo(saldoAtual()));
+    }
+
+    @Test
+    void deveRejeitarAplicacoesEResgatesSemMeta() throws Exception {
+        var ndjson = """
+                {"descricao": "Salário", "valor": 3000, "tipo": "ENTRADA", "categoria": "SALARIO", "id_financeiro": %d}
+                {"descricao": "Aplicação", "valor": 500, "tipo": "APLICACAO", "categoria": "INVESTIMENTO", "id_financeiro": %d}
+                {"descricao": "Resgate", "valor": 200, "tipo": "RESGATE", "categoria": "INVESTIMENTO", "id_financeiro": %d}
+                """.formatted(idFinanceiro, idFinanceiro, idFinanceiro);
+
+        var resultado = service.importar(corpo(ndjson), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(1, resultado.getImportadas());
+        assertEquals(List.of(2L, 3L), resultado.getErros().stream().map(ErroImportacaoDTO::linha).toList());
+        assertEquals(0, new BigDecimal("3000").compareTo(saldoAtual()));
+    }
+
+    @Test
+    void deveRejeitarLinhasInvalidasSemAbortarImportacaoNdjson() throws Exception {
+        var ndjson = """
+                {"descricao": "Freela", "valor": 500, "tipo": "ENTRADA", "categoria": "OUTROS", "id_financeiro": %d}
+                {"descricao": "Sem valor", "tipo": "SAIDA", "categoria": "OUTROS", "id_financeiro": %d}
+                {isto não é json}
+                {"descricao": "Viagem", "valor": 900, "tipo": "SAIDA", "categoria": "LAZER", "id_financeiro": %d}
+                {"descricao": "Cinema", "valor": 50, "tipo": "SAIDA", "categoria": "LAZER", "id_financeiro": %d}
+                {"descricao": "Outra conta", "valor": 10, "tipo": "ENTRADA", "categoria": "OUTROS", "id_financeiro": 999999}
+                """.formatted(idFinanceiro, idFinanceiro, idFinanceiro, idFinanceiro);
+
+        var resultado = service.importar(corpo(ndjson), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(6, resultado.getTotalLinhas());
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(4, resultado.getRejeitadas());
+        assertEquals(2, resultado.getErros().get(0).linha());
+        assertEquals(3, resultado.getErros().get(1).linha());
+        assertEquals("Saldo insuficiente para realizar a transação de SAIDA!", resultado.getErros().get(2).mensagem());
+        assertEquals(0, new BigDecimal("450").compareTo(saldoAtual()));
+    }
+
+    @Test
+    void deveLimitarOsErrosDevolvidosMantendoAContagemDeRejeitadas() throws Exception {
+        var ndjson = new StringBuilder();
+        ndjson.append("""
+                {"descricao": "Salário", "valor": 3000, "tipo": "ENTRADA", "categoria": "SALARIO", "id_financeiro": %d}
+                """.formatted(idFinanceiro));
+        for (int i = 0; i < 250; i++) {
+            ndjson.append("{isto não é json}\n");
+        }
+
+        var resultado = service.importar(corpo(ndjson.toString()), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(251, resultado.getTotalLinhas());
+        assertEquals(1, resultado.getImportadas());
+        assertEquals(250, resultado.getRejeitadas());
+        assertEquals(100, resultado.getErros().size());
+        assertEquals(2, resultado.getErros().get(0).linha());
+        assertEquals(101, resultado.getErros().get(99).linha());
+    }
+
+    @Test
+    void deveImportarCsvComCamposEntreAspasGravandoSaldoApos() throws Exception {
+        var csv = """
+                descricao,valor,tipo,categoria,id_financeiro
+                "Salário, bônus incluso",2000.00,ENTRADA,SALARIO,%d
+                Farmácia,150.25,SAIDA,SAUDE,%d
+                Mercado,abc,SAIDA,ALIMENTACAO,%d
+                """.formatted(idFinanceiro, idFinanceiro, idFinanceiro);
+
+        var resultado = service.importar(corpo(csv), ImportacaoTransacaoService.TEXT_CSV);
+
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(1, resultado.getRejeitadas());
+        assertEquals(0, new BigDecimal("1849.75").compareTo(saldoAtual()));
+
+        var importadas = transacaoRepository.findAll().stream()
+                .filter(t -> t.getFinanceiro().getId().equals(idFinanceiro))
+                .toList();
+        assertTrue(importadas.stream().anyMatch(t -> t.getDescricao().equals("Salário, bônus incluso")));
+        assertTrue(importadas.stream().anyMatch(t -> new BigDecimal("1849.75").compareTo(t.getSaldoApos()) == 0));
+    }
+
+    @Test
+    void deveRecusarCsvSemCabecalhoEsperado() {
+        var csv = "nome,quantia\nMercado,10\n";
+
+        assertThrows(BadRequestException.class,
+                () -> service.importar(corpo(csv), ImportacaoTransacaoService.TEXT_CSV));
+    }
+
+    private BigDecimal saldoAtual() {
+        return financeiroRepository.buscarSaldoAtual(idFinanceiro).orElseThrow();
+    }
+
+    private InputStream corpo(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
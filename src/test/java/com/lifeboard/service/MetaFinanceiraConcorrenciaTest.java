@@ -0,0 +1,93 @@
+package com.lifeboard.service;
+
+import com.lifeboard.concorrencia.MetricasConflito;
+import com.lifeboard.dto.meta.MetaFinanceiraSaveRequestDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.repository.FinanceiroRepository;
+import com.lifeboard.repository.MetaFinanceiraRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MetaFinanceiraConcorrenciaTest {
+
+    private static final int THREADS = 6;
+    private static final int OPERACOES_POR_THREAD = 5;
+
+    @Autowired
+    private MetaFinanceiraService metaService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private MetaFinanceiraRepository metaRepository;
+
+    @Autowired
+    private FinanceiroRepository financeiroRepository;
+
+    @Autowired
+    private MetricasConflito metricas;
+
+    private Long idFinanceiro;
+    private Long idMeta;
+
+    @BeforeEach
+    void setup() {
+        var email = "meta-concorrencia" + System.nanoTime() + "@test.com";
+        var usuario = usuarioService.salvar(new UsuarioRequestDTO("Concorrência", email, "123456"));
+        idFinanceiro = usuarioService.buscarEntidadePorId(usuario.getId()).getFinanceiro().getId();
+
+        transacaoService.salvar(new TransacaoRequestDTO("Depósito", new BigDecimal("1000.00"), TipoTransacao.ENTRADA,
+                CategoriaTransacao.OUTROS, idFinanceiro));
+        idMeta = metaService.salvar(new MetaFinanceiraSaveRequestDTO("Viagem", new BigDecimal("5000.00"),
+                BigDecimal.ZERO, LocalDate.now().plusYears(1), idFinanceiro)).getId();
+    }
+
+    @Test
+    void naoDevePerderAplicacoesConcorrentesNaMesmaMeta() throws Exception {
+        var tarefas = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < THREADS; i++) {
+            tarefas.add(() -> {
+                for (int j = 0; j < OPERACOES_POR_THREAD; j++) {
+                    metaService.adicionarSaldo(idMeta, new BigDecimal("5.00"));
+                }
+                return null;
+            });
+        }
+
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<Void> resultado : executor.invokeAll(tarefas)) {
+                resultado.get();
+            }
+        }
+
+        var aplicado = new BigDecimal("5.00").multiply(BigDecimal.valueOf(THREADS * OPERACOES_POR_THREAD));
+        var meta = metaRepository.findById(idMeta).orElseThrow();
+        assertEquals(0, aplicado.compareTo(meta.getValorAtual()));
+
+        var saldo = financeiroRepository.buscarSaldoAtual(idFinanceiro).orElseThrow();
+        assertEquals(0, new BigDecimal("1000.00").subtract(aplicado).compareTo(saldo));
+
+        assertEquals(0, metricas.getEsgotadas());
+    }
+}
@@ -0,0 +1,191 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.meta.MetaFinanceiraSaveRequestDTO;
+import com.lifeboard.dto.meta.MetaFinanceiraUpdateRequestDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.model.Transacao;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.StatusMeta;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.repository.FinanceiroRepository;
+import com.lifeboard.repository.MetaFinanceiraRepository;
+import com.lifeboard.repository.TransacaoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MetaFinanceiraSaldoTest {
+
+    // Consulta da meta, movimento e leitura do saldo do financeiro, UPDATE da meta, INSERT da transação e UPDATE do resumo.
+    // A tolerância de um comando cobre a busca de um novo bloco da sequência de transações.
+    private static final long COMANDOS_POR_MOVIMENTO = 6;
+
+    @Autowired
+    private MetaFinanceiraService metaService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private MetaFinanceiraRepository metaRepository;
+
+    @Autowired
+    private FinanceiroRepository financeiroRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long idFinanceiro;
+    private Long idMeta;
+
+    @BeforeEach
+    void setup() {
+        var email = "meta-saldo" + System.nanoTime() + "@test.com";
+        var usuario = usuarioService.salvar(new UsuarioRequestDTO("Meta", email, "123456"));
+        idFinanceiro = usuarioService.buscarEntidadePorId(usuario.getId()).getFinanceiro().getId();
+
+        transacaoService.salvar(new TransacaoRequestDTO("Depósito", new BigDecimal("1000.00"), TipoTransacao.ENTRADA,
+                CategoriaTransacao.OUTROS, idFinanceiro));
+        idMeta = metaService.salvar(new MetaFinanceiraSaveRequestDTO("Reserva", new BigDecimal("300.00"),
+                BigDecimal.ZERO, LocalDate.now().plusYears(1), idFinanceiro)).getId();
+    }
+
+    @Test
+    void deveConcluirMetaEVoltarParaEmAndamentoRecalculandoStatusNoBanco() {
+        metaService.adicionarSaldo(idMeta, new BigDecimal("300.00"));
+
+        var meta = metaRepository.findById(idMeta).orElseThrow();
+        assertEquals(StatusMeta.CONCLUIDA, meta.getStatus());
+        assertEquals(0, new BigDecimal("300.00").compareTo(meta.getValorAtual()));
+        assertEquals(0, new BigDecimal("700.00").compareTo(saldo()));
+
+        metaService.retirarSaldo(idMeta, new BigDecimal("50.00"));
+
+        meta = metaRepository.findById(idMeta).orElseThrow();
+        assertEquals(StatusMeta.EM_ANDAMENTO, meta.getStatus());
+        assertEquals(0, new BigDecimal("250.00").compareTo(meta.getValorAtual()));
+        assertEquals(0, new BigDecimal("750.00").compareTo(saldo()));
+
+        var ultima = transacaoRepository.buscarPrimeiraPaginaDoFinanceiro(idFinanceiro, Limit.of(1)).get(0);
+        assertEquals(TipoTransacao.RESGATE, ultima.getTipo());
+        assertEquals("Retirada da meta: Reserva", ultima.getDescricao());
+        assertEquals(0, new BigDecimal("750.00").compareTo(ultima.getSaldoApos()));
+    }
+
+    @Test
+    void deveDesfazerCreditoDoFinanceiroQuandoAMetaNaoTemSaldo() {
+        metaService.adicionarSaldo(idMeta, new BigDecimal("100.00"));
+
+        assertThrows(BadRequestException.class, () -> metaService.retirarSaldo(idMeta, new BigDecimal("150.00")));
+
+        assertEquals(0, new BigDecimal("900.00").compareTo(saldo()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(metaRepository.findById(idMeta).orElseThrow().getValorAtual()));
+    }
+
+    @Test
+    void deveMovimentarMetaSemCarregarEntidades() {
+        // Primeiro movimento do mês cria a linha do resumo mensal; os seguintes só a acumulam
+        metaService.adicionarSaldo(idMeta, new BigDecimal("10.00"));
+        metaService.retirarSaldo(idMeta, new BigDecimal("10.00"));
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        metaService.adicionarSaldo(idMeta, new BigDecimal("10.00"));
+
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertTrue(estatisticas.getPrepareStatementCount() <= COMANDOS_POR_MOVIMENTO + 1,
+                "comandos executados: " + estatisticas.getPrepareStatementCount());
+
+        estatisticas.clear();
+
+        metaService.retirarSaldo(idMeta, new BigDecimal("10.00"));
+
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertTrue(estatisticas.getPrepareStatementCount() <= COMANDOS_POR_MOVIMENTO + 1,
+                "comandos executados: " + estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void deveManterVinculoDasTransacoesAoRenomearAMeta() {
+        metaService.adicionarSaldo(idMeta, new BigDecimal("100.00"));
+        var aplicacao = ultimaTransacao();
+        assertEquals(idMeta, aplicacao.getMeta().getId());
+
+        var dto = new MetaFinanceiraUpdateRequestDTO();
+        dto.setNome("Intercâmbio");
+        dto.setValorMeta(new BigDecimal("300.00"));
+        dto.setDataLimite(LocalDate.now().plusYears(1));
+        dto.setIdFinanceiro(idFinanceiro);
+        metaService.atualizar(idMeta, dto);
+
+        // A descrição guarda o nome da época; o desfazer encontra a meta pelo id_meta
+        assertEquals("Aplicação na meta: Reserva", transacaoRepository.findById(aplicacao.getId()).orElseThrow().getDescricao());
+
+        transacaoService.deletar(aplicacao.getId());
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(metaRepository.findById(idMeta).orElseThrow().getValorAtual()));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(saldo()));
+    }
+
+    @Test
+    void deveDistinguirMetasComMesmoNome() {
+        Long idOutraMeta = metaService.salvar(new MetaFinanceiraSaveRequestDTO("Reserva", new BigDecimal("500.00"),
+                BigDecimal.ZERO, LocalDate.now().plusYears(1), idFinanceiro)).getId();
+
+        metaService.adicionarSaldo(idMeta, new BigDecimal("100.00"));
+        metaService.adicionarSaldo(idOutraMeta, new BigDecimal("40.00"));
+
+        transacaoService.deletar(ultimaTransacao().getId());
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(metaRepository.findById(idMeta).orElseThrow().getValorAtual()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(metaRepository.findById(idOutraMeta).orElseThrow().getValorAtual()));
+
+        metaService.adicionarSaldo(idOutraMeta, new BigDecimal("40.00"));
+        metaService.deletar(idOutraMeta);
+
+        var restante = ultimaTransacao();
+        assertEquals(idMeta, restante.getMeta().getId());
+        assertEquals(0, new BigDecimal("900.00").compareTo(saldo()));
+    }
+
+    @Test
+    void deveExcluirUsuarioComTransacoesVinculadasAMeta() throws Exception {
+        metaService.adicionarSaldo(idMeta, new BigDecimal("100.00"));
+        Long idUsuario = financeiroRepository.findById(idFinanceiro).orElseThrow().getUsuario().getId();
+
+        usuarioService.deletar(idUsuario);
+
+        assertFalse(metaRepository.existsById(idMeta));
+        assertTrue(transacaoRepository.buscarPrimeiraPaginaDoFinanceiro(idFinanceiro, Limit.of(1)).isEmpty());
+    }
+
+    private Transacao ultimaTransacao() {
+        return transacaoRepository.buscarPrimeiraPaginaDoFinanceiro(idFinanceiro, Limit.of(1)).get(0);
+    }
+
+    private BigDecimal saldo() {
+        return financeiroRepository.buscarSaldoAtual(idFinanceiro).orElseThrow();
+    }
+}
@@ -1,14 +1,14 @@
 package com.lifeboard.service;
 
-import com.lifeboard.dto.financeiro.FinanceiroRequestDTO;
 import com.lifeboard.dto.meta.MetaFinanceiraSaveRequestDTO;
 import com.lifeboard.dto.meta.MetaFinanceiraUpdateRequestDTO;
+import com.lifeboard.dto.meta.ReferenciaMeta;
 import com.lifeboard.exception.BadRequestException;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.MetaFinanceira;
-import com.lifeboard.model.Transacao;
 import com.lifeboard.model.Usuario;
 import com.lifeboard.model.enums.StatusMeta;
+import com.lifeboard.model.enums.TipoTransacao;
 import com.lifeboard.repository.MetaFinanceiraRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +17,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -65,6 +68,18 @@ class MetaFinanceiraServiceTest {
         meta.setValorAtual(BigDecimal.valueOf(500));
     }
 
+    @Test
+    void deveListarMetasDoFinanceiro() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(metaRepository.findByFinanceiroId(1L, pageable)).thenReturn(new PageImpl<>(List.of(meta)));
+
+        var result = service.listarPorFinanceiro(1L, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(meta.getNome(), result.getContent().get(0).getNome());
+        verify(financeiroService).validarExistencia(1L);
+    }
+
     @Test
     void deveCriarMetaDescontandoDoSaldo() {
         MetaFinanceiraSaveRequestDTO dto = new MetaFinanceiraSaveRequestDTO();
@@ -72,14 +87,13 @@ class MetaFinanceiraServiceTest {
         dto.setValorMeta(BigDecimal.valueOf(2000));
         dto.setValorAtual(BigDecimal.valueOf(300));
 
-        when(financeiroService.buscarEntidadePorId(1L)).thenReturn(financeiro);
+        when(financeiroService.buscarReferenciaPorId(1L)).thenReturn(financeiro);
         when(metaRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         service.salvar(dto);
 
-        assertEquals(BigDecimal.valueOf(700), financeiro.getSaldoAtual());
+        verify(financeiroService).movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(-300)), anyString());
         verify(metaRepository).save(any(MetaFinanceira.class));
-        verify(financeiroService).atualizar(eq(1L), any(FinanceiroRequestDTO.class));
     }
 
     @Test
@@ -88,72 +102,83 @@ class MetaFinanceiraServiceTest {
         dto.setIdFinanceiro(1L);
         dto.setValorAtual(BigDecimal.valueOf(2000));
 
-        when(financeiroService.buscarEntidadePorId(1L)).thenReturn(financeiro);
+        when(financeiroService.movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(-2000)), anyString()))
+                .thenThrow(new BadRequestException("Saldo insuficiente para criar esta Meta Financeira!"));
 
         assertThrows(BadRequestException.class, () -> service.salvar(dto));
+        verify(metaRepository, never()).save(any());
     }
 
     @Test
-    void deveAdicionarSaldoNaMetaCriandoTransacaoEAtualizandoFinanceiro() {
-        when(metaRepository.findById(1L)).thenReturn(Optional.of(meta));
+    void deveAdicionarSaldoNaMetaCriandoTransacaoDeAplicacao() {
+        when(metaRepository.buscarReferencia(1L)).thenReturn(Optional.of(referencia()));
+        when(financeiroService.movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(-200)), anyString())).thenReturn(BigDecimal.valueOf(800));
+        when(metaRepository.aplicarSaldo(1L, BigDecimal.valueOf(200))).thenReturn(1);
 
         service.adicionarSaldo(1L, BigDecimal.valueOf(200));
 
-        assertEquals(BigDecimal.valueOf(800), financeiro.getSaldoAtual());
-        assertEquals(BigDecimal.valueOf(700), meta.getValorAtual());
-
-        verify(transacaoService).salvar(any());
-        verify(financeiroService).atualizar(eq(1L), any());
-        verify(metaRepository).save(meta);
+        verify(transacaoService).registrarMovimentoDaMeta(1L, 1L, TipoTransacao.APLICACAO, "Aplicação na meta: Viagem",
+                BigDecimal.valueOf(200), BigDecimal.valueOf(800));
+        verify(metaRepository, never()).findById(any());
+        verify(metaRepository, never()).save(any());
     }
 
     @Test
     void naoDeveAdicionarSaldoQuandoFinanceiroNaoTemSaldo() {
-        financeiro.setSaldoAtual(BigDecimal.valueOf(100));
-
-        when(metaRepository.findById(1L)).thenReturn(Optional.of(meta));
+        when(metaRepository.buscarReferencia(1L)).thenReturn(Optional.of(referencia()));
+        when(financeiroService.movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(-5000)), anyString()))
+                .thenThrow(new BadRequestException("Saldo insuficiente para realizar a adição de saldo à meta financeira!"));
 
         assertThrows(BadRequestException.class,
-                () -> service.adicionarSaldo(1L, BigDecimal.valueOf(500)));
+                () -> service.adicionarSaldo(1L, BigDecimal.valueOf(5000)));
+        verify(metaRepository, never()).aplicarSaldo(any(), any());
+        verifyNoInteractions(transacaoService);
     }
 
     @Test
-    void deveRetirarSaldoDaMetaCriandoTransacaoEAtualizandoFinanceiro() {
-        when(metaRepository.findById(1L)).thenReturn(Optional.of(meta));
+    void deveRetirarSaldoDaMetaCriandoTransacaoDeResgate() {
+        when(metaRepository.buscarReferencia(1L)).thenReturn(Optional.of(referencia()));
+        when(financeiroService.movimentarSaldo(1L, BigDecimal.valueOf(200), null)).thenReturn(BigDecimal.valueOf(1200));
+        when(metaRepository.resgatarSaldo(1L, BigDecimal.valueOf(200))).thenReturn(1);
 
         service.retirarSaldo(1L, BigDecimal.valueOf(200));
 
-        assertEquals(BigDecimal.valueOf(300), meta.getValorAtual());
-        assertEquals(BigDecimal.valueOf(1200), financeiro.getSaldoAtual());
-
-        verify(transacaoService).salvar(any());
-        verify(financeiroService).atualizar(eq(1L), any());
-        verify(metaRepository).save(meta);
+        verify(transacaoService).registrarMovimentoDaMeta(1L, 1L, TipoTransacao.RESGATE, "Retirada da meta: Viagem",
+                BigDecimal.valueOf(200), BigDecimal.valueOf(1200));
+        verify(metaRepository, never()).save(any());
     }
 
     @Test
     void naoDeveRetirarSaldoMaiorQueMeta() {
-        when(metaRepository.findById(1L)).thenReturn(Optional.of(meta));
+        when(metaRepository.buscarReferencia(1L)).thenReturn(Optional.of(referencia()));
 
         assertThrows(BadRequestException.class,
                 () -> service.retirarSaldo(1L, BigDecimal.valueOf(1000)));
+        verifyNoInteractions(financeiroService, transacaoService);
     }
 
     @Test
-    void deveAtualizarMetaEAlterarDescricoesDasTransacoes() {
-        Transacao t1 = new Transacao();
-        t1.setDescricao("Aplicação na meta: Viagem");
+    void naoDeveRetirarSaldoQuandoOutraRetiradaEsvaziouAMeta() {
+        when(metaRepository.buscarReferencia(1L)).thenReturn(Optional.of(referencia()));
+        when(metaRepository.resgatarSaldo(1L, BigDecimal.valueOf(400))).thenReturn(0);
+
+        assertThrows(BadRequestException.class,
+                () -> service.retirarSaldo(1L, BigDecimal.valueOf(400)));
+        verifyNoInteractions(transacaoService);
+    }
 
-        Transacao t2 = new Transacao();
-        t2.setDescricao("Retirada da meta: Viagem");
+    @Test
+    void naoDeveMovimentarMetaComValorNaoPositivo() {
+        assertThrows(BadRequestException.class, () -> service.adicionarSaldo(1L, BigDecimal.ZERO));
+        assertThrows(BadRequestException.class, () -> service.retirarSaldo(1L, BigDecimal.valueOf(-1)));
+        verifyNoInteractions(metaRepository, financeiroService, transacaoService);
+    }
 
+    @Test
+    void deveAtualizarMetaSemAlterarTransacoes() {
         meta.setId(1L);
 
         when(metaRepository.findById(1L)).thenReturn(Optional.of(meta));
-
-        when(transacaoService.buscarTransacoesPorFinanceiro(financeiro))
-                .thenReturn(List.of(t1, t2));
-
         when(metaRepository.save(any())).thenReturn(meta);
 
         MetaFinanceiraUpdateRequestDTO dto = new MetaFinanceiraUpdateRequestDTO();
@@ -163,26 +188,19 @@ class MetaFinanceiraServiceTest {
         service.atualizar(1L, dto);
 
         assertEquals("Europa", meta.getNome());
-        assertEquals("Aplicação na meta: Europa", t1.getDescricao());
-        assertEquals("Retirada da meta: Europa", t2.getDescricao());
 
-        verify(transacaoService).atualizarVariasTransacoes(any());
         verify(metaRepository).save(meta);
+        verifyNoInteractions(transacaoService);
     }
 
     @Test
     void deveExcluirMetaDevolvendoSaldoEApagandoTransacoesRelacionadas() {
-        Transacao t1 = new Transacao();
-        t1.setDescricao("Aplicação na meta: Viagem");
-
         when(metaRepository.findById(1L)).thenReturn(Optional.of(meta));
-        when(transacaoService.buscarTransacoesPorFinanceiro(financeiro))
-                .thenReturn(List.of(t1));
 
         service.deletar(1L);
 
-        assertEquals(BigDecimal.valueOf(1500), financeiro.getSaldoAtual());
-        verify(transacaoService).deletarVariasTransacoes(any());
+        verify(financeiroService).movimentarSaldo(1L, BigDecimal.valueOf(500), null);
+        verify(transacaoService).deletarTransacoesDaMeta(1L, 1L);
         verify(metaRepository).deleteById(1L);
     }
 
@@ -205,4 +223,8 @@ class MetaFinanceiraServiceTest {
 
         assertEquals(StatusMeta.EM_ANDAMENTO, meta.getStatus());
     }
-}
\ No newline at end of file
+
+    private ReferenciaMeta referencia() {
+        return new ReferenciaMeta(1L, 1L, "Viagem", BigDecimal.valueOf(500));
+    }
+}
@@ -0,0 +1,119 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.meta.MetaFinanceiraSaveRequestDTO;
+import com.lifeboard.dto.resumo.ResumoMensalResponseDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ResumoMensalServiceTest {
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private MetaFinanceiraService metaFinanceiraService;
+
+    @Autowired
+    private ImportacaoTransacaoService importacaoTransacaoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long idFinanceiro;
+
+    @BeforeEach
+    void setup() {
+        var email = "resumo" + System.nanoTime() + "@test.com";
+        var usuario = usuarioService.salvar(new UsuarioRequestDTO("Resumo", email, "123456"));
+        idFinanceiro = usuarioService.buscarEntidadePorId(usuario.getId()).getFinanceiro().getId();
+    }
+
+    @Test
+    void deveManterResumoIgualAoRecalculoDoHistorico() throws Exception {
+        transacaoService.salvar(transacao("Salário", "5000", TipoTransacao.ENTRADA, CategoriaTransacao.SALARIO));
+        var mercado = transacaoService.salvar(transacao("Mercado", "400", TipoTransacao.SAIDA, CategoriaTransacao.ALIMENTACAO));
+        var cinema = transacaoService.salvar(transacao("Cinema", "80", TipoTransacao.SAIDA, CategoriaTransacao.LAZER));
+        transacaoService.salvar(transacao("Padaria", "30", TipoTransacao.SAIDA, CategoriaTransacao.ALIMENTACAO));
+
+        // muda o valor sem mudar a chave, depois move uma transação de categoria e apaga outra
+        transacaoService.atualizar(mercado.getId(), transacao("Mercado", "450", TipoTransacao.SAIDA, CategoriaTransacao.ALIMENTACAO));
+        transacaoService.atualizar(cinema.getId(), transacao("Cinema", "80", TipoTransacao.SAIDA, CategoriaTransacao.OUTROS));
+        transacaoService.deletar(mercado.getId());
+
+        var csv = """
+                descricao,valor,tipo,categoria,id_financeiro
+                Farmácia,120,SAIDA,SAUDE,%d
+                Feira,55,SAIDA,ALIMENTACAO,%d
+                """.formatted(idFinanceiro, idFinanceiro);
+        importacaoTransacaoService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                ImportacaoTransacaoService.TEXT_CSV);
+
+        var meta = metaFinanceiraService.salvar(new MetaFinanceiraSaveRequestDTO("Reserva", new BigDecimal("1000"),
+                BigDecimal.ZERO, LocalDate.now().plusYears(1), idFinanceiro));
+        metaFinanceiraService.adicionarSaldo(meta.getId(), new BigDecimal("300"));
+        metaFinanceiraService.deletar(meta.getId());
+
+        assertEquals(recalcularDoHistorico(), lerResumo());
+    }
+
+    @Test
+    void deveListarApenasOPeriodoPedido() {
+        transacaoService.salvar(transacao("Salário", "5000", TipoTransacao.ENTRADA, CategoriaTransacao.SALARIO));
+        var mesAtual = YearMonth.now();
+
+        assertEquals(1, resumoMensalService.listar(idFinanceiro, mesAtual, mesAtual).size());
+        assertTrue(resumoMensalService.listar(idFinanceiro, mesAtual.minusMonths(3), mesAtual.minusMonths(1)).isEmpty());
+        assertThrows(BadRequestException.class, () -> resumoMensalService.listar(idFinanceiro, mesAtual, mesAtual.minusMonths(1)));
+    }
+
+    private Map<String, String> lerResumo() {
+        return resumoMensalService.listar(idFinanceiro, null, null).stream()
+                .collect(Collectors.toMap(
+                        r -> r.getTipo() + "/" + r.getCategoria(),
+                        r -> r.getTotal().stripTrailingZeros().toPlainString() + "x" + r.getQuantidade()));
+    }
+
+    private Map<String, String> recalcularDoHistorico() {
+        List<Map<String, Object>> linhas = jdbcTemplate.queryForList("""
+                select tipo, categoria, sum(valor) as total, count(*) as quantidade
+                from lb_transacoes where id_financeiro = ?
+                group by tipo, categoria
+                """, idFinanceiro);
+        return linhas.stream().collect(Collectors.toMap(
+                l -> l.get("TIPO") + "/" + l.get("CATEGORIA"),
+                l -> new BigDecimal(l.get("TOTAL").toString()).stripTrailingZeros().toPlainString() + "x" + l.get("QUANTIDADE")));
+    }
+
+    private TransacaoRequestDTO transacao(String descricao, String valor, TipoTransacao tipo, CategoriaTransacao categoria) {
+        return new TransacaoRequestDTO(descricao, new BigDecimal(valor), tipo, categoria, idFinanceiro);
+    }
+}
@@ -0,0 +1,111 @@
+package com.lifeboard.service;
+
+import com.lifeboard.model.TokenRenovacao;
+import com.lifeboard.model.Usuario;
+import com.lifeboard.repository.TokenRenovacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRenovacaoServiceTest {
+
+    @Mock
+    TokenRenovacaoRepository repository;
+
+    @Mock
+    TokenService tokenService;
+
+    @InjectMocks
+    TokenRenovacaoService service;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(service, "expiracao", Duration.ofDays(30));
+
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail("felipe@test.com");
+    }
+
+    @Test
+    void deveEmitirTokenGravandoApenasOHash() {
+        var token = service.emitir(usuario);
+
+        var captor = ArgumentCaptor.forClass(TokenRenovacao.class);
+        verify(repository).save(captor.capture());
+        var gravado = captor.getValue();
+
+        assertNotEquals(token, gravado.getHash());
+        assertEquals(TokenService.calcularDigest(token), gravado.getHash());
+        assertSame(usuario, gravado.getUsuario());
+        assertFalse(gravado.isRevogado());
+        verify(repository).deletarExpiradosDoUsuario(eq(1L), any());
+    }
+
+    @Test
+    void deveTrocarTokenValidoPorNovoPar() {
+        var renovacao = renovacao("token-antigo", LocalDateTime.now().plusDays(1));
+        when(repository.buscarPorHash(TokenService.calcularDigest("token-antigo"))).thenReturn(Optional.of(renovacao));
+        when(repository.revogarSeAtivo(10L)).thenReturn(1);
+        when(tokenService.gerarToken(usuario)).thenReturn("jwt");
+
+        var tokens = service.renovar("token-antigo");
+
+        assertEquals("jwt", tokens.token());
+        assertNotNull(tokens.tokenRenovacao());
+        assertNotEquals("token-antigo", tokens.tokenRenovacao());
+        verify(repository, never()).revogarTodosDoUsuario(anyLong());
+    }
+
+    @Test
+    void deveEncerrarTodasAsSessoesQuandoTokenForReutilizado() {
+        var renovacao = renovacao("token-usado", LocalDateTime.now().plusDays(1));
+        when(repository.buscarPorHash(TokenService.calcularDigest("token-usado"))).thenReturn(Optional.of(renovacao));
+        when(repository.revogarSeAtivo(10L)).thenReturn(0);
+
+        assertThrows(BadCredentialsException.class, () -> service.renovar("token-usado"));
+
+        verify(repository).revogarTodosDoUsuario(1L);
+        verify(tokenService, never()).gerarToken(any());
+    }
+
+    @Test
+    void deveRecusarTokenExpirado() {
+        var renovacao = renovacao("token-expirado", LocalDateTime.now().minusMinutes(1));
+        when(repository.buscarPorHash(TokenService.calcularDigest("token-expirado"))).thenReturn(Optional.of(renovacao));
+
+        assertThrows(BadCredentialsException.class, () -> service.renovar("token-expirado"));
+
+        verify(repository, never()).revogarSeAtivo(anyLong());
+    }
+
+    @Test
+    void deveRecusarTokenDesconhecido() {
+        when(repository.buscarPorHash(any())).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> service.renovar("qualquer"));
+    }
+
+    private TokenRenovacao renovacao(String token, LocalDateTime expiraEm) {
+        return new TokenRenovacao(10L, TokenService.calcularDigest(token), usuario, LocalDateTime.now().minusDays(1),
+                expiraEm, false);
+    }
+}
@@ -0,0 +1,117 @@
+package com.lifeboard.service;
+
+import com.lifeboard.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private TokenService service;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        service = new TokenService();
+        ReflectionTestUtils.setField(service, "secret", "segredo-teste");
+        ReflectionTestUtils.setField(service, "tamanhoMaximoCache", 100L);
+        ReflectionTestUtils.setField(service, "expiracao", Duration.ofDays(7));
+        ReflectionTestUtils.setField(service, "expiracaoPrincipalDoToken", Duration.ofMinutes(15));
+        service.inicializar();
+
+        usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setEmail("felipe@test.com");
+    }
+
+    @Test
+    void deveGerarEValidarToken() {
+        var token = service.gerarToken(usuario);
+
+        var verificado = service.validar(token);
+
+        assertEquals("felipe@test.com", verificado.subject());
+        assertEquals(7L, verificado.id());
+        assertEquals(List.of("ROLE_USER"), verificado.perfis());
+        assertNotNull(verificado.expiracao());
+    }
+
+    @Test
+    void deveExpirarConformeConfigurado() {
+        var token = service.gerarToken(usuario);
+
+        assertExpiraEm(Duration.ofDays(7), service.validar(token).expiracao());
+    }
+
+    @Test
+    void deveEncurtarOTokenQuandoOPrincipalVemDasClaims() {
+        ReflectionTestUtils.setField(service, "principalDoToken", true);
+
+        var token = service.gerarToken(usuario);
+
+        assertExpiraEm(Duration.ofMinutes(15), service.validar(token).expiracao());
+    }
+
+    @Test
+    void deveReaproveitarTokenJaVerificado() {
+        var token = service.gerarToken(usuario);
+
+        service.getSubject(token);
+        service.getSubject(token);
+
+        assertEquals(1, service.estatisticasCache().missCount());
+        assertEquals(1, service.estatisticasCache().hitCount());
+    }
+
+    @Test
+    void deveRejeitarTokenExpirado() {
+        ReflectionTestUtils.setField(service, "expiracao", Duration.ofMinutes(-1));
+        var token = service.gerarToken(usuario);
+
+        assertThrows(RuntimeException.class, () -> service.getSubject(token));
+    }
+
+    @Test
+    void deveRejeitarTokenJaVerificadoDepoisDaValidade() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "expiracao", Duration.ofSeconds(1));
+        var token = service.gerarToken(usuario);
+        service.getSubject(token);
+
+        // A claim exp tem precisão de segundos; o cache de tokens verificados não pode estender a validade
+        Thread.sleep(1_500);
+
+        assertThrows(RuntimeException.class, () -> service.getSubject(token));
+    }
+
+    @Test
+    void deveRejeitarTokenInvalido() {
+        var token = service.gerarToken(usuario);
+
+        assertThrows(RuntimeException.class, () -> service.getSubject(token + "x"));
+    }
+
+    @Test
+    void deveRejeitarTokenAssinadoComOutroSegredo() {
+        var outroService = new TokenService();
+        ReflectionTestUtils.setField(outroService, "secret", "outro-segredo");
+        ReflectionTestUtils.setField(outroService, "tamanhoMaximoCache", 100L);
+        ReflectionTestUtils.setField(outroService, "expiracao", Duration.ofMinutes(15));
+        outroService.inicializar();
+
+        var token = outroService.gerarToken(usuario);
+
+        assertThrows(RuntimeException.class, () -> service.getSubject(token));
+    }
+
+    private static void assertExpiraEm(Duration validade, Instant expiracao) {
+        var limite = Instant.now().plus(validade);
+        assertFalse(expiracao.isAfter(limite));
+        assertTrue(expiracao.isAfter(limite.minusSeconds(60)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.transacao.TransacaoResponseDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransacaoCursorTest {
+
+    private static final int QUANTIDADE = 23;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long idFinanceiro;
+
+    @BeforeEach
+    void setup() {
+        var email = "cursor" + System.nanoTime() + "@test.com";
+        var usuario = usuarioService.salvar(new UsuarioRequestDTO("Cursor", email, "123456"));
+        idFinanceiro = usuarioService.buscarEntidadePorId(usuario.getId()).getFinanceiro().getId();
+
+        for (int i = 0; i < QUANTIDADE; i++) {
+            transacaoService.salvar(new TransacaoRequestDTO("Entrada " + i, BigDecimal.TEN,
+                    TipoTransacao.ENTRADA, CategoriaTransacao.OUTROS, idFinanceiro));
+        }
+    }
+
+    @Test
+    void devePercorrerTodasAsPaginasSemRepetirNemPularTransacoesComDatasEmpatadas() {
+        // Metade das transações com a mesma data: o desempate pelo id precisa manter a ordem estável
+        var dataEmpatada = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 12, 0));
+        jdbcTemplate.update("update lb_transacoes set data = ? where id_financeiro = ? and mod(id_transacao, 2) = 0",
+                dataEmpatada, idFinanceiro);
+
+        var recebidas = new ArrayList<TransacaoResponseDTO>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            var pagina = transacaoService.listarPorFinanceiroComCursor(idFinanceiro, cursor, 5);
+            recebidas.addAll(pagina.conteudo());
+            cursor = pagina.proximoCursor();
+            paginas++;
+            assertEquals(cursor != null, pagina.temProxima());
+        } while (cursor != null);
+
+        assertEquals(5, paginas);
+        assertEquals(QUANTIDADE, recebidas.size());
+        assertEquals(QUANTIDADE, new HashSet<>(recebidas.stream().map(TransacaoResponseDTO::getId).toList()).size());
+
+        for (int i = 1; i < recebidas.size(); i++) {
+            var anterior = recebidas.get(i - 1);
+            var atual = recebidas.get(i);
+            boolean ordenado = anterior.getData().isAfter(atual.getData())
+                    || (anterior.getData().isEqual(atual.getData()) && anterior.getId() > atual.getId());
+            assertTrue(ordenado, "Transações fora da ordem (data desc, id desc) na posição " + i);
+        }
+    }
+
+    @Test
+    void deveListarTodasAsTransacoesPorCursorSemFiltrarPorFinanceiro() {
+        var primeira = transacaoService.listarPorCursor(null, 3);
+        var segunda = transacaoService.listarPorCursor(primeira.proximoCursor(), 3);
+
+        assertEquals(3, primeira.tamanho());
+        assertTrue(primeira.temProxima());
+        List<Long> idsPrimeira = primeira.conteudo().stream().map(TransacaoResponseDTO::getId).toList();
+        assertTrue(segunda.conteudo().stream().noneMatch(t -> idsPrimeira.contains(t.getId())));
+    }
+}
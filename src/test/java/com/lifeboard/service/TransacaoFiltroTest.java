@@ -0,0 +1,90 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.transacao.TransacaoResponseDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransacaoFiltroTest {
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long idFinanceiro;
+
+    @BeforeEach
+    void setup() {
+        var email = "filtro" + System.nanoTime() + "@test.com";
+        var usuario = usuarioService.salvar(new UsuarioRequestDTO("Filtro", email, "123456"));
+        idFinanceiro = usuarioService.buscarEntidadePorId(usuario.getId()).getFinanceiro().getId();
+
+        salvar("Salário", "5000", TipoTransacao.ENTRADA, CategoriaTransacao.SALARIO, LocalDateTime.of(2025, 1, 5, 9, 0));
+        salvar("Mercado janeiro", "300", TipoTransacao.SAIDA, CategoriaTransacao.ALIMENTACAO, LocalDateTime.of(2025, 1, 31, 23, 30));
+        salvar("Cinema", "60", TipoTransacao.SAIDA, CategoriaTransacao.LAZER, LocalDateTime.of(2025, 1, 20, 20, 0));
+        salvar("Mercado fevereiro", "280", TipoTransacao.SAIDA, CategoriaTransacao.ALIMENTACAO, LocalDateTime.of(2025, 2, 1, 0, 0));
+    }
+
+    @Test
+    void deveFiltrarPorPeriodoInclusivoTipoECategoria() {
+        var filtro = new FiltroTransacaoDTO(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31),
+                TipoTransacao.SAIDA, CategoriaTransacao.ALIMENTACAO);
+
+        var pagina = transacaoService.filtrarPorFinanceiro(idFinanceiro, filtro, PageRequest.of(0, 10));
+
+        assertEquals(1, pagina.getTotalElements());
+        assertEquals("Mercado janeiro", pagina.getContent().get(0).getDescricao());
+    }
+
+    @Test
+    void deveRetornarTodoOHistoricoPaginadoSemFiltros() {
+        var filtro = new FiltroTransacaoDTO(null, null, null, null);
+
+        var pagina = transacaoService.filtrarPorFinanceiro(idFinanceiro, filtro,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "data")));
+
+        assertEquals(4, pagina.getTotalElements());
+        assertEquals(2, pagina.getTotalPages());
+        assertEquals(3, pagina.getContent().size());
+        assertEquals("Mercado fevereiro", pagina.getContent().get(0).getDescricao());
+    }
+
+    @Test
+    void deveFiltrarApenasPorTipo() {
+        var filtro = new FiltroTransacaoDTO(null, null, TipoTransacao.ENTRADA, null);
+
+        var pagina = transacaoService.filtrarPorFinanceiro(idFinanceiro, filtro, PageRequest.of(0, 10));
+
+        assertEquals(1, pagina.getTotalElements());
+        assertTrue(pagina.getContent().stream().map(TransacaoResponseDTO::getTipo).allMatch(TipoTransacao.ENTRADA::equals));
+    }
+
+    private void salvar(String descricao, String valor, TipoTransacao tipo, CategoriaTransacao categoria, LocalDateTime data) {
+        var transacao = transacaoService.salvar(new TransacaoRequestDTO(descricao, new BigDecimal(valor), tipo, categoria, idFinanceiro));
+        jdbcTemplate.update("update lb_transacoes set data = ? where id_transacao = ?", Timestamp.valueOf(data), transacao.getId());
+    }
+}
@@ -0,0 +1,177 @@
+package com.lifeboard.service;
+
+import com.lifeboard.dto.transacao.TransacaoRequestDTO;
+import com.lifeboard.dto.usuario.UsuarioRequestDTO;
+import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.model.Transacao;
+import com.lifeboard.model.enums.CategoriaTransacao;
+import com.lifeboard.model.enums.TipoTransacao;
+import com.lifeboard.repository.FinanceiroRepository;
+import com.lifeboard.repository.TransacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransacaoServiceConcorrenciaTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSACOES_POR_THREAD = 25;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private FinanceiroRepository financeiroRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    private Long idFinanceiro;
+
+    @BeforeEach
+    void setup() {
+        var email = "concorrencia" + System.nanoTime() + "@test.com";
+        var usuario = usuarioService.salvar(new UsuarioRequestDTO("Concorrência", email, "123456"));
+        idFinanceiro = usuarioService.buscarEntidadePorId(usuario.getId()).getFinanceiro().getId();
+    }
+
+    @Test
+    void naoDevePerderAtualizacoesComLancamentosConcorrentesNaMesmaConta() throws Exception {
+        var tarefas = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < THREADS; i++) {
+            tarefas.add(() -> {
+                for (int j = 0; j < TRANSACOES_POR_THREAD; j++) {
+                    transacaoService.salvar(transacao(TipoTransacao.ENTRADA, "10.00"));
+                }
+                return null;
+            });
+        }
+
+        executar(tarefas);
+
+        var saldoEsperado = new BigDecimal("10.00").multiply(BigDecimal.valueOf(THREADS * TRANSACOES_POR_THREAD));
+        var saldoFinal = financeiroRepository.buscarSaldoAtual(idFinanceiro).orElseThrow();
+        assertEquals(0, saldoEsperado.compareTo(saldoFinal));
+
+        var saldosApos = transacaoRepository.findAll().stream()
+                .filter(t -> t.getFinanceiro().getId().equals(idFinanceiro))
+                .map(t -> t.getSaldoApos().stripTrailingZeros())
+                .distinct()
+                .count();
+        assertEquals(THREADS * TRANSACOES_POR_THREAD, saldosApos);
+    }
+
+    @Test
+    void naoDeveDeixarSaldoNegativoComSaidasConcorrentes() throws Exception {
+        transacaoService.salvar(transacao(TipoTransacao.ENTRADA, "100.00"));
+
+        var recusadas = new AtomicInteger();
+        var tarefas = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < THREADS; i++) {
+            tarefas.add(() -> {
+                for (int j = 0; j < 5; j++) {
+                    try {
+                        transacaoService.salvar(transacao(TipoTransacao.SAIDA, "10.00"));
+                    } catch (BadRequestException e) {
+                        recusadas.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        executar(tarefas);
+
+        var saldoFinal = financeiroRepository.buscarSaldoAtual(idFinanceiro).orElseThrow();
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldoFinal));
+        assertEquals(THREADS * 5 - 10, recusadas.get());
+    }
+
+    @Test
+    void deveManterOSaldoCorridoAoEditarERemoverLancamentosAntigos() {
+        var salario = transacaoService.salvar(transacao(TipoTransacao.ENTRADA, "1000.00"));
+        var mercado = transacaoService.salvar(transacao(TipoTransacao.SAIDA, "200.00"));
+        transacaoService.salvar(transacao(TipoTransacao.SAIDA, "50.00"));
+
+        transacaoService.atualizar(salario.getId(), transacao(TipoTransacao.ENTRADA, "1200.00"));
+        transacaoService.deletar(mercado.getId());
+
+        // Cada saldo após é o anterior mais o próprio lançamento, e o último bate com o saldo da conta
+        var saldo = BigDecimal.ZERO;
+        for (var lancamento : transacoesDoFinanceiro()) {
+            saldo = saldo.add(lancamento.getValorSinalizado());
+            assertEquals(0, saldo.compareTo(lancamento.getSaldoApos()), lancamento.getDescricao());
+        }
+        assertEquals(0, new BigDecimal("1150.00").compareTo(saldo));
+        assertEquals(0, saldo.compareTo(financeiroRepository.buscarSaldoAtual(idFinanceiro).orElseThrow()));
+    }
+
+    @Test
+    void naoDeveDuplicarResumoAoRecategorizarConcorrentemente() throws Exception {
+        // Uma categoria de origem por transação, para que o desconto no resumo antigo não as serialize
+        var ids = new ArrayList<Long>();
+        for (var categoria : CategoriaTransacao.values()) {
+            if (categoria != CategoriaTransacao.SALARIO) {
+                ids.add(transacaoService.salvar(new TransacaoRequestDTO("Original", new BigDecimal("10.00"),
+                        TipoTransacao.ENTRADA, categoria, idFinanceiro)).getId());
+            }
+        }
+
+        // Só a categoria muda: o saldo fica igual, e todos disputam a criação da mesma linha de resumo
+        var tarefas = new ArrayList<Callable<Void>>();
+        for (var id : ids) {
+            tarefas.add(() -> {
+                transacaoService.atualizar(id, new TransacaoRequestDTO("Recategorizada", new BigDecimal("10.00"),
+                        TipoTransacao.ENTRADA, CategoriaTransacao.SALARIO, idFinanceiro));
+                return null;
+            });
+        }
+
+        executar(tarefas);
+
+        var resumos = resumoMensalService.listar(idFinanceiro, null, null);
+        assertEquals(1, resumos.size());
+        assertEquals(CategoriaTransacao.SALARIO, resumos.get(0).getCategoria());
+        assertEquals(ids.size(), resumos.get(0).getQuantidade());
+    }
+
+    private List<Transacao> transacoesDoFinanceiro() {
+        return transacaoRepository.findAll().stream()
+                .filter(t -> t.getFinanceiro().getId().equals(idFinanceiro))
+                .sorted(Comparator.comparing(Transacao::getData).thenComparing(Transacao::getId))
+                .toList();
+    }
+
+    private TransacaoRequestDTO transacao(TipoTransacao tipo, String valor) {
+        return new TransacaoRequestDTO("Lançamento concorrente", new BigDecimal(valor), tipo, CategoriaTransacao.OUTROS, idFinanceiro);
+    }
+
+    private void executar(List<Callable<Void>> tarefas) throws Exception {
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<Void> resultado : executor.invokeAll(tarefas)) {
+                resultado.get();
+            }
+        }
+    }
+}
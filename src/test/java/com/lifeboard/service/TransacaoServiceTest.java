@@ -1,10 +1,15 @@
 package com.lifeboard.service;
 
+import com.lifeboard.dto.transacao.CursorTransacao;
+import com.lifeboard.dto.transacao.FiltroTransacaoDTO;
 import com.lifeboard.dto.transacao.TransacaoRequestDTO;
 import com.lifeboard.exception.BadRequestException;
+import com.lifeboard.dto.resumo.TotalMensalTransacao;
 import com.lifeboard.model.Financeiro;
+import com.lifeboard.model.MetaFinanceira;
 import com.lifeboard.model.Transacao;
 import com.lifeboard.model.Usuario;
+import com.lifeboard.model.enums.CategoriaTransacao;
 import com.lifeboard.model.enums.TipoTransacao;
 import com.lifeboard.repository.MetaFinanceiraRepository;
 import com.lifeboard.repository.TransacaoRepository;
@@ -12,16 +17,22 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -44,6 +55,9 @@ class TransacaoServiceTest {
     @Mock
     private MetaFinanceiraRepository metaFinanceiraRepository;
 
+    @Mock
+    private ResumoMensalService resumoMensalService;
+
     private Financeiro financeiro;
     private Usuario usuario;
     private Transacao transacao;
@@ -68,6 +82,8 @@ class TransacaoServiceTest {
         transacao.setValor(BigDecimal.valueOf(200));
         transacao.setTipo(TipoTransacao.SAIDA);
         transacao.setDescricao("Teste");
+        transacao.setCategoria(CategoriaTransacao.ALIMENTACAO);
+        transacao.setData(LocalDateTime.of(2025, 3, 10, 12, 0));
     }
 
     @Test
@@ -83,6 +99,94 @@ class TransacaoServiceTest {
         verify(transacaoRepository).findAllByOrderByIdAsc(pageable);
     }
 
+    @Test
+    void deveLancarErroAoListarTransacoesDeFinanceiroInexistente() {
+        doThrow(new EntityNotFoundException("Financeiro com id: 99 não encontrado"))
+                .when(financeiroService).validarExistencia(99L);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> service.filtrarPorFinanceiro(99L, FiltroTransacaoDTO.SEM_FILTROS, PageRequest.of(0, 10)));
+        verify(transacaoRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void deveListarPrimeiraPaginaPorCursorIndicandoProximaPagina() {
+        var maisAntiga = new Transacao();
+        maisAntiga.setId(2L);
+        maisAntiga.setFinanceiro(financeiro);
+        maisAntiga.setData(LocalDateTime.of(2025, 1, 1, 10, 0));
+        transacao.setData(LocalDateTime.of(2025, 1, 2, 10, 0));
+
+        when(transacaoRepository.buscarPrimeiraPagina(Limit.of(2))).thenReturn(List.of(transacao, maisAntiga));
+
+        var pagina = service.listarPorCursor(null, 1);
+
+        assertEquals(1, pagina.conteudo().size());
+        assertTrue(pagina.temProxima());
+        assertEquals(CursorTransacao.de(transacao), CursorTransacao.decodificar(pagina.proximoCursor()));
+    }
+
+    @Test
+    void deveContinuarListagemAPartirDoCursor() {
+        var data = LocalDateTime.of(2025, 1, 2, 10, 0);
+        var cursor = new CursorTransacao(data, 10L).codificar();
+        transacao.setData(data);
+
+        when(transacaoRepository.buscarPaginaDoFinanceiroAposCursor(1L, data, 10L, Limit.of(11)))
+                .thenReturn(List.of(transacao));
+
+        var pagina = service.listarPorFinanceiroComCursor(1L, cursor, 10);
+
+        assertEquals(1, pagina.conteudo().size());
+        assertFalse(pagina.temProxima());
+        assertNull(pagina.proximoCursor());
+        verify(financeiroService).validarExistencia(1L);
+    }
+
+    @Test
+    void deveRecusarCursorInvalidoOuTamanhoForaDoLimite() {
+        assertThrows(BadRequestException.class, () -> service.listarPorCursor("nao-e-um-cursor", 10));
+        assertThrows(BadRequestException.class, () -> service.listarPorCursor(null, 0));
+        assertThrows(BadRequestException.class, () -> service.listarPorCursor(null, 101));
+        verifyNoInteractions(transacaoRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveFiltrarTransacoesDoFinanceiroNoBanco() {
+        Pageable pageable = PageRequest.of(0, 10);
+        var filtro = new FiltroTransacaoDTO(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), TipoTransacao.SAIDA, null);
+
+        when(transacaoRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(transacao)));
+
+        var result = service.filtrarPorFinanceiro(1L, filtro, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(financeiroService).validarExistencia(1L);
+        verify(transacaoRepository, never()).findAll();
+    }
+
+    @Test
+    void deveRecusarFiltroComPeriodoInvertido() {
+        var filtro = new FiltroTransacaoDTO(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, null);
+
+        assertThrows(BadRequestException.class,
+                () -> service.filtrarPorFinanceiro(1L, filtro, PageRequest.of(0, 10)));
+        verifyNoInteractions(transacaoRepository);
+    }
+
+    @Test
+    void deveDeletarTransacoesDaMetaPeloIdDescontandoResumoMensal() {
+        when(transacaoRepository.totalizarPorMeta(7L)).thenReturn(List.of(
+                new TotalMensalTransacao(2025, 3, TipoTransacao.APLICACAO, CategoriaTransacao.INVESTIMENTO, BigDecimal.valueOf(300), 2L)));
+        when(transacaoRepository.deletarDaMeta(7L)).thenReturn(2);
+
+        assertEquals(2, service.deletarTransacoesDaMeta(1L, 7L));
+
+        verify(resumoMensalService).registrar(1L, YearMonth.of(2025, 3), TipoTransacao.APLICACAO,
+                CategoriaTransacao.INVESTIMENTO, BigDecimal.valueOf(-300), -2);
+    }
+
     @Test
     void deveBuscarPorId() {
         when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
@@ -107,16 +211,21 @@ class TransacaoServiceTest {
         dto.setTipo(TipoTransacao.ENTRADA);
         dto.setValor(BigDecimal.valueOf(300));
 
-        when(financeiroService.buscarEntidadePorId(1L)).thenReturn(financeiro);
-        when(transacaoRepository.save(any(Transacao.class))).thenReturn(transacao);
+        when(financeiroService.movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(300)), anyString())).thenReturn(BigDecimal.valueOf(1300));
+        when(financeiroService.buscarReferenciaPorId(1L)).thenReturn(financeiro);
+        when(transacaoRepository.save(any(Transacao.class))).thenAnswer(inv -> inv.getArgument(0));
 
         var result = service.salvar(dto);
 
         assertNotNull(result);
-        assertEquals(BigDecimal.valueOf(1300), financeiro.getSaldoAtual());
 
-        verify(financeiroService).atualizar(eq(1L), any());
-        verify(transacaoRepository).save(any(Transacao.class));
+        ArgumentCaptor<Transacao> captor = ArgumentCaptor.forClass(Transacao.class);
+        verify(transacaoRepository).save(captor.capture());
+        assertEquals(BigDecimal.valueOf(300), captor.getValue().getValorSinalizado());
+        assertEquals(BigDecimal.valueOf(1300), captor.getValue().getSaldoApos());
+        verify(financeiroService, never()).atualizar(any(), any());
+        verify(resumoMensalService).registrar(1L, YearMonth.from(captor.getValue().getData()), TipoTransacao.ENTRADA,
+                null, BigDecimal.valueOf(300), 1);
     }
 
     @Test
@@ -126,12 +235,16 @@ class TransacaoServiceTest {
         dto.setTipo(TipoTransacao.SAIDA);
         dto.setValor(BigDecimal.valueOf(200));
 
-        when(financeiroService.buscarEntidadePorId(1L)).thenReturn(financeiro);
-        when(transacaoRepository.save(any(Transacao.class))).thenReturn(transacao);
+        when(financeiroService.movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(-200)), anyString())).thenReturn(BigDecimal.valueOf(800));
+        when(financeiroService.buscarReferenciaPorId(1L)).thenReturn(financeiro);
+        when(transacaoRepository.save(any(Transacao.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        var result = service.salvar(dto);
+        service.salvar(dto);
 
-        assertEquals(BigDecimal.valueOf(800), financeiro.getSaldoAtual());
+        ArgumentCaptor<Transacao> captor = ArgumentCaptor.forClass(Transacao.class);
+        verify(transacaoRepository).save(captor.capture());
+        assertEquals(BigDecimal.valueOf(-200), captor.getValue().getValorSinalizado());
+        assertEquals(BigDecimal.valueOf(800), captor.getValue().getSaldoApos());
     }
 
     @Test
@@ -141,26 +254,102 @@ class TransacaoServiceTest {
         dto.setTipo(TipoTransacao.SAIDA);
         dto.setValor(BigDecimal.valueOf(5000));
 
-        when(financeiroService.buscarEntidadePorId(1L)).thenReturn(financeiro);
+        when(financeiroService.movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(-5000)), anyString()))
+                .thenThrow(new BadRequestException("Saldo insuficiente para realizar a transação de SAIDA!"));
 
         assertThrows(BadRequestException.class,
                 () -> service.salvar(dto));
+        verify(transacaoRepository, never()).save(any());
+        verifyNoInteractions(resumoMensalService);
     }
+
+    @Test
+    void deveRejeitarAplicacaoLancadaSemMeta() {
+        TransacaoRequestDTO dto = new TransacaoRequestDTO();
+        dto.setIdFinanceiro(1L);
+        dto.setTipo(TipoTransacao.APLICACAO);
+        dto.setValor(BigDecimal.valueOf(100));
+
+        assertThrows(BadRequestException.class, () -> service.salvar(dto));
+        verifyNoInteractions(financeiroService, transacaoRepository, resumoMensalService);
+    }
+
+    @Test
+    void deveRejeitarEdicaoDeAplicacaoSemMoverSaldo() {
+        transacao.setTipo(TipoTransacao.APLICACAO);
+        transacao.setValor(BigDecimal.valueOf(100));
+        transacao.setMeta(metaComId(7L));
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
+
+        TransacaoRequestDTO dto = new TransacaoRequestDTO();
+        dto.setValor(BigDecimal.valueOf(50));
+        dto.setTipo(TipoTransacao.APLICACAO);
+        dto.setCategoria(CategoriaTransacao.INVESTIMENTO);
+
+        assertThrows(BadRequestException.class, () -> service.atualizar(1L, dto));
+        verifyNoInteractions(financeiroService, metaFinanceiraRepository, resumoMensalService);
+        verify(transacaoRepository, never()).save(any());
+        assertEquals(BigDecimal.valueOf(100), transacao.getValor());
+    }
+
+    @Test
+    void deveRejeitarTransformarSaidaEmResgate() {
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
+
+        TransacaoRequestDTO dto = new TransacaoRequestDTO();
+        dto.setValor(BigDecimal.valueOf(200));
+        dto.setTipo(TipoTransacao.RESGATE);
+        dto.setCategoria(CategoriaTransacao.INVESTIMENTO);
+
+        assertThrows(BadRequestException.class, () -> service.atualizar(1L, dto));
+        verifyNoInteractions(financeiroService, resumoMensalService);
+    }
+
     @Test
     void deveAtualizarTransacaoRecalculandoSaldo() {
+        transacao.setSaldoApos(BigDecimal.valueOf(800));
         when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
         when(transacaoRepository.save(any())).thenReturn(transacao);
+        when(financeiroService.movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(100)), anyString())).thenReturn(BigDecimal.valueOf(1100));
 
         TransacaoRequestDTO dto = new TransacaoRequestDTO();
         dto.setValor(BigDecimal.valueOf(100));
         dto.setTipo(TipoTransacao.SAIDA);
         dto.setDescricao("nova");
+        dto.setCategoria(CategoriaTransacao.ALIMENTACAO);
 
         var result = service.atualizar(1L, dto);
 
         assertNotNull(result);
+        assertEquals(BigDecimal.valueOf(-100), transacao.getValorSinalizado());
+        // O saldo após desta transação e das posteriores desloca pela diferença, sem virar o saldo atual da conta
+        assertEquals(BigDecimal.valueOf(900), transacao.getSaldoApos());
+        verify(transacaoRepository).deslocarSaldoApos(1L, transacao.getData(), 1L, BigDecimal.valueOf(100));
         verify(transacaoRepository).save(any());
-        verify(financeiroService).atualizar(eq(1L), any());
+        verify(resumoMensalService).registrar(1L, YearMonth.of(2025, 3), TipoTransacao.SAIDA,
+                CategoriaTransacao.ALIMENTACAO, BigDecimal.valueOf(-100), 0);
+    }
+
+    @Test
+    void deveMoverTransacaoDeCategoriaNoResumoMensal() {
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
+        when(transacaoRepository.save(any())).thenReturn(transacao);
+
+        TransacaoRequestDTO dto = new TransacaoRequestDTO();
+        dto.setValor(BigDecimal.valueOf(200));
+        dto.setTipo(TipoTransacao.SAIDA);
+        dto.setDescricao("Teste");
+        dto.setCategoria(CategoriaTransacao.LAZER);
+
+        service.atualizar(1L, dto);
+
+        verify(resumoMensalService).registrar(1L, YearMonth.of(2025, 3), TipoTransacao.SAIDA,
+                CategoriaTransacao.ALIMENTACAO, BigDecimal.valueOf(-200), -1);
+        verify(resumoMensalService).registrar(1L, YearMonth.of(2025, 3), TipoTransacao.SAIDA,
+                CategoriaTransacao.LAZER, BigDecimal.valueOf(200), 1);
+        verify(financeiroService, never()).movimentarSaldo(any(), any(), any());
+        verify(financeiroService).bloquear(1L);
+        verify(transacaoRepository, never()).deslocarSaldoApos(any(), any(), any(), any());
     }
 
     @Test
@@ -169,7 +358,79 @@ class TransacaoServiceTest {
 
         service.deletar(1L);
 
-        assertEquals(BigDecimal.valueOf(1200), financeiro.getSaldoAtual());
+        verify(financeiroService).movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(200)), anyString());
         verify(transacaoRepository).delete(transacao);
+        verify(resumoMensalService).registrar(1L, YearMonth.of(2025, 3), TipoTransacao.SAIDA,
+                CategoriaTransacao.ALIMENTACAO, BigDecimal.valueOf(-200), -1);
+    }
+
+    @Test
+    void deveDeletarAplicacaoRetirandoValorDaMetaVinculada() {
+        transacao.setTipo(TipoTransacao.APLICACAO);
+        transacao.setMeta(metaComId(7L));
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
+        when(metaFinanceiraRepository.resgatarSaldo(7L, BigDecimal.valueOf(200))).thenReturn(1);
+
+        service.deletar(1L);
+
+        verify(financeiroService).movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(200)), anyString());
+        verify(metaFinanceiraRepository, never()).save(any());
+        verify(transacaoRepository).delete(transacao);
+    }
+
+    @Test
+    void naoDeveDeletarAplicacaoQuandoAMetaNaoTemSaldo() {
+        transacao.setTipo(TipoTransacao.APLICACAO);
+        transacao.setMeta(metaComId(7L));
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
+        when(metaFinanceiraRepository.resgatarSaldo(7L, BigDecimal.valueOf(200))).thenReturn(0);
+
+        assertThrows(BadRequestException.class, () -> service.deletar(1L));
+        verify(transacaoRepository, never()).delete(any(Transacao.class));
+    }
+
+    @Test
+    void deveDeletarResgateDevolvendoValorAMetaVinculada() {
+        transacao.setTipo(TipoTransacao.RESGATE);
+        transacao.setMeta(metaComId(7L));
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
+
+        service.deletar(1L);
+
+        verify(financeiroService).movimentarSaldo(eq(1L), eq(BigDecimal.valueOf(-200)), anyString());
+        verify(metaFinanceiraRepository).aplicarSaldo(7L, BigDecimal.valueOf(200));
+        verify(transacaoRepository).delete(transacao);
+    }
+
+    @Test
+    void naoDeveDeletarResgateSemMetaVinculada() {
+        transacao.setTipo(TipoTransacao.RESGATE);
+        transacao.setDescricao("Retirada da meta: Viagem");
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
+
+        assertThrows(EntityNotFoundException.class, () -> service.deletar(1L));
+        verifyNoInteractions(metaFinanceiraRepository);
+        verify(transacaoRepository, never()).delete(any(Transacao.class));
+    }
+
+    @Test
+    void deveRegistrarMovimentoDaMetaVinculandoAMeta() {
+        var meta = metaComId(7L);
+        when(financeiroService.buscarReferenciaPorId(1L)).thenReturn(financeiro);
+        when(metaFinanceiraRepository.getReferenceById(7L)).thenReturn(meta);
+
+        service.registrarMovimentoDaMeta(1L, 7L, TipoTransacao.APLICACAO, "Aplicação na meta: Viagem",
+                BigDecimal.valueOf(100), BigDecimal.valueOf(900));
+
+        ArgumentCaptor<Transacao> captor = ArgumentCaptor.forClass(Transacao.class);
+        verify(transacaoRepository).save(captor.capture());
+        assertSame(meta, captor.getValue().getMeta());
+        assertEquals(BigDecimal.valueOf(-100), captor.getValue().getValorSinalizado());
+    }
+
+    private static MetaFinanceira metaComId(Long id) {
+        var meta = new MetaFinanceira();
+        meta.setId(id);
+        return meta;
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,13 @@
 package com.lifeboard.service;
 
+import com.lifeboard.dto.usuario.ExpansaoUsuario;
 import com.lifeboard.dto.usuario.UsuarioRequestDTO;
 import com.lifeboard.dto.usuario.UsuarioResponseDTO;
 import com.lifeboard.model.Financeiro;
 import com.lifeboard.model.Usuario;
 import com.lifeboard.repository.FinanceiroRepository;
 import com.lifeboard.repository.UsuarioRepository;
+import com.lifeboard.security.UsuarioAutenticadoCache;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +20,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +42,15 @@ class UsuarioServiceTest {
     @Mock
     PasswordEncoder passwordEncoder;
 
+    @Mock
+    UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    @Mock
+    FotoPerfilService fotoPerfilService;
+
+    @Mock
+    TokenRenovacaoService tokenRenovacaoService;
+
     @InjectMocks
     UsuarioService usuarioService;
 
@@ -53,10 +67,11 @@ class UsuarioServiceTest {
         //ACT
         when(usuarioRepository.findAllByOrderByIdAsc(pageable)).thenReturn(page);
 
-        var result = usuarioService.listarTodos(pageable);
+        var result = usuarioService.listarTodos(pageable, Set.of());
 
         //ASSERT
         assertEquals(1, result.getTotalElements());
+        assertNull(result.getContent().get(0).getTarefas());
         verify(usuarioRepository).findAllByOrderByIdAsc(pageable);
     }
 
@@ -67,13 +82,37 @@ class UsuarioServiceTest {
         usuario.setId(1L);
         usuario.setNome("Felipe");
 
+        Financeiro financeiro = new Financeiro();
+        financeiro.setId(10L);
+        financeiro.setUsuario(usuario);
+        usuario.setFinanceiro(financeiro);
+
         //ACT
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
 
-        var result = usuarioService.buscarUsuarioDtoPorId(1L);
+        var result = usuarioService.buscarUsuarioDtoPorId(1L, Set.of());
 
         //ASSERT
         assertEquals("Felipe", result.getNome());
+        assertEquals(10L, result.getFinanceiroId());
+        assertNull(result.getFinanceiro());
+        assertNull(result.getTarefas());
+        verify(usuarioRepository, never()).buscarComFinanceiroETarefas(any());
+    }
+
+    @Test
+    void deveBuscarTarefasApenasQuandoExpandidas() {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setTarefas(new ArrayList<>());
+
+        when(usuarioRepository.buscarComFinanceiroETarefas(1L)).thenReturn(Optional.of(usuario));
+
+        var result = usuarioService.buscarUsuarioDtoPorId(1L, EnumSet.of(ExpansaoUsuario.TAREFAS));
+
+        assertNotNull(result.getTarefas());
+        assertNull(result.getFinanceiro());
+        verify(usuarioRepository, never()).findById(any());
     }
 
     @Test
@@ -81,7 +120,7 @@ class UsuarioServiceTest {
         when(usuarioRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () ->
-                usuarioService.buscarUsuarioDtoPorId(1L)
+                usuarioService.buscarUsuarioDtoPorId(1L, Set.of())
         );
     }
 
@@ -99,10 +138,16 @@ class UsuarioServiceTest {
 
         when(passwordEncoder.encode("123456")).thenReturn("senha-criptografada");
         when(usuarioRepository.save(any())).thenReturn(usuario);
+        when(financeiroRepository.save(any(Financeiro.class))).thenAnswer(inv -> {
+            Financeiro financeiro = inv.getArgument(0);
+            financeiro.setId(10L);
+            return financeiro;
+        });
 
         var result = usuarioService.salvar(dto);
 
         assertEquals("Felipe", result.getNome());
+        assertEquals(10L, result.getFinanceiroId());
         verify(financeiroRepository).save(any(Financeiro.class));
     }
 
@@ -117,6 +162,7 @@ class UsuarioServiceTest {
         Usuario existente = new Usuario();
         existente.setId(1L);
         existente.setNome("Antigo");
+        existente.setEmail("antigo@email.com");
 
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(existente));
         when(usuarioRepository.save(any())).thenReturn(existente);
@@ -125,30 +171,41 @@ class UsuarioServiceTest {
 
         assertEquals("Novo Nome", result.getNome());
         verify(usuarioRepository).save(any(Usuario.class));
+        verify(usuarioAutenticadoCache).invalidar("antigo@email.com");
+        verify(tokenRenovacaoService, never()).revogarTodos(any());
     }
 
     @Test
-    void deveDeletarUsuario() {
-        Usuario usuario = new Usuario();
-        usuario.setId(1L);
+    void deveRevogarSessoesAoTrocarSenha() {
+        UsuarioRequestDTO dto = new UsuarioRequestDTO("Nome", "email@email.com", "nova-senha");
 
-        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        Usuario existente = new Usuario();
+        existente.setId(1L);
+        existente.setEmail("email@email.com");
 
-        usuarioService.deletar(1L);
+        when(passwordEncoder.encode("nova-senha")).thenReturn("hash");
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(existente));
+        when(usuarioRepository.save(any())).thenReturn(existente);
 
-        verify(usuarioRepository).delete(usuario);
+        usuarioService.atualizar(1L, dto);
+
+        assertEquals("hash", existente.getSenha());
+        verify(tokenRenovacaoService).revogarTodos(1L);
     }
 
     @Test
-    void deveRetornarFotoPerfil() {
+    void deveDeletarUsuario() throws Exception {
         Usuario usuario = new Usuario();
         usuario.setId(1L);
-        usuario.setFotoPerfil("abc".getBytes());
+        usuario.setEmail("email@email.com");
 
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
 
-        byte[] bytes = usuarioService.buscarFotoPerfil(1L);
+        usuarioService.deletar(1L);
 
-        assertNotNull(bytes);
+        verify(usuarioRepository).delete(usuario);
+        verify(usuarioAutenticadoCache).invalidar("email@email.com");
+        verify(fotoPerfilService).removerSeExistir(1L);
+        verify(tokenRenovacaoService).deletarDoUsuario(1L);
     }
 }
\ No newline at end of file